@@ -0,0 +1,84 @@
+package org.example.ktigerstudybe.mapper;
+
+import org.example.ktigerstudybe.dto.resp.DocumentListResponse;
+import org.example.ktigerstudybe.model.DocumentList;
+import org.example.ktigerstudybe.model.User;
+import org.example.ktigerstudybe.repository.projection.DocumentListSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí map một trang danh sách tài liệu (20 dòng) từ entity và từ projection sang DTO.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DocumentListMapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final DocumentListMapper mapper = new DocumentListMapper();
+    private List<DocumentList> entities;
+    private List<DocumentListSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        User author = new User();
+        author.setUserId(7L);
+        author.setFullName("Nguyễn Văn A");
+        author.setAvatarImage("https://example.com/avatar.png");
+        LocalDateTime now = LocalDateTime.now();
+
+        entities = new ArrayList<>(PAGE_SIZE);
+        summaries = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            long id = i;
+            entities.add(DocumentList.builder()
+                    .listId(id)
+                    .user(author)
+                    .title("TOPIK I - Bài " + i)
+                    .description("Từ vựng TOPIK I chủ đề " + i)
+                    .type("TOPIK")
+                    .createdAt(now)
+                    .isPublic(1)
+                    .build());
+            summaries.add(new Summary(id, author, "TOPIK I - Bài " + i, now));
+        }
+    }
+
+    @Benchmark
+    public List<DocumentListResponse> fromEntities() {
+        List<DocumentListResponse> out = new ArrayList<>(entities.size());
+        for (DocumentList e : entities) out.add(mapper.toResponse(e));
+        return out;
+    }
+
+    @Benchmark
+    public List<DocumentListResponse> fromProjections() {
+        List<DocumentListResponse> out = new ArrayList<>(summaries.size());
+        for (DocumentListSummary s : summaries) out.add(mapper.toResponse(s));
+        return out;
+    }
+
+    private record Summary(Long listId, User author, String title, LocalDateTime createdAt) implements DocumentListSummary {
+        public Long getListId() { return listId; }
+        public Long getUserId() { return author.getUserId(); }
+        public String getFullName() { return author.getFullName(); }
+        public String getAvatarImage() { return author.getAvatarImage(); }
+        public String getTitle() { return title; }
+        public String getDescription() { return null; }
+        public String getType() { return "TOPIK"; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public Integer getIsPublic() { return 1; }
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.ktigerstudybe.service.ai;
+
+import org.example.ktigerstudybe.model.ChatMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phần CPU của một lượt chat AI ngoài lời gọi HTTP: dựng prompt (template + lịch sử trong ngân sách token),
+ * làm sạch câu trả lời và kiểm tra tiếng Hàn trước khi đưa bản dịch vào cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GeminiTextBenchmark {
+
+    private static final String USER_MESSAGE = "오늘 뭐가 제일 맛있어요? 추천해 주세요.";
+    private static final String RAW_RESPONSE =
+            "AI: 오늘은 김치찌개가 정말 맛있어요! (Hôm nay canh kimchi rất ngon) [gợi ý] 매운 거 좋아하세요? 🍲";
+    private static final String VIETNAMESE = "Hôm nay món canh kimchi rất ngon, bạn có thích ăn cay không?";
+
+    private KoreanPromptBuilder promptBuilder;
+    private List<ChatMessage> history;
+
+    @Setup
+    public void setUp() {
+        promptBuilder = new KoreanPromptBuilder(600);
+        // 12 tin gần nhất (gemini.prompt.history-window), mới nhất trước
+        history = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            boolean ai = i % 2 == 0;
+            history.add(new ChatMessage(null,
+                    ai ? "네, 김치찌개랑 제육볶음이 인기 많아요. 어떤 걸로 드릴까요?" : "메뉴 좀 보여 주세요.",
+                    ai ? "ai" : "user"));
+        }
+    }
+
+    @Benchmark
+    public String buildPromptWithHistory() {
+        return promptBuilder.build(USER_MESSAGE, "restaurant", "intermediate", history);
+    }
+
+    @Benchmark
+    public String buildPromptFirstTurn() {
+        return promptBuilder.build(USER_MESSAGE, "restaurant", "intermediate", List.of());
+    }
+
+    @Benchmark
+    public String cleanResponse() {
+        return GeminiAIService.cleanResponse(RAW_RESPONSE);
+    }
+
+    @Benchmark
+    public boolean containsKoreanMiss() {
+        // Trường hợp xấu nhất: bản dịch tiếng Việt, phải duyệt hết chuỗi
+        return GeminiAIService.containsKorean(VIETNAMESE);
+    }
+}
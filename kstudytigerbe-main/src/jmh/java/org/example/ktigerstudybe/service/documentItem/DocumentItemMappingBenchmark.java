@@ -0,0 +1,54 @@
+package org.example.ktigerstudybe.service.documentItem;
+
+import org.example.ktigerstudybe.dto.resp.DocumentItemResponse;
+import org.example.ktigerstudybe.model.DocumentItem;
+import org.example.ktigerstudybe.model.DocumentList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí map các từ của một bộ từ vựng sang DTO (đường đọc bộ từ / màn học flashcard).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DocumentItemMappingBenchmark {
+
+    @Param({"50", "500"})
+    public int deckSize;
+
+    private final DocumentItemServiceImpl service = new DocumentItemServiceImpl();
+    private List<DocumentItem> items;
+
+    @Setup
+    public void setUp() {
+        DocumentList list = DocumentList.builder().listId(1L).title("TOPIK I").build();
+        items = new ArrayList<>(deckSize);
+        for (int i = 0; i < deckSize; i++) {
+            items.add(DocumentItem.builder()
+                    .wordId((long) i)
+                    .documentList(list)
+                    .word("단어" + i)
+                    .meaning("từ " + i)
+                    .example("이것은 단어" + i + "입니다.")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<DocumentItemResponse> toResponses() {
+        List<DocumentItemResponse> out = new ArrayList<>(items.size());
+        for (DocumentItem item : items) out.add(service.toResponse(item));
+        return out;
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.ktigerstudybe.service.exercise;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí chấm một câu viết lại: câu thường (~20 âm tiết) và trường hợp xấu nhất
+ * (câu dài, sai vài jamo nên phải tính hết bảng Levenshtein trong dải cho phép).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SentenceAnswerMatcherBenchmark {
+
+    private static final String TYPICAL = "저는 어제 친구와 함께 도서관에서 한국어를 공부했어요.";
+    private static final String TYPICAL_SPACING = "저는 어제 친구와함께 도서관에서  한국어를 공부했어요";
+    private static final String TYPICAL_TYPO = "저는 어제 친구와 함께 도서관에서 한국어를 공부했어요?!".replace("공부", "곰부");
+    private static final String TYPICAL_WRONG = "내일 아침에 학교에 가서 선생님을 만날 거예요.";
+
+    private SentenceAnswerMatcher matcher;
+    private SentenceAnswerMatcher.Reference typical;
+    private SentenceAnswerMatcher.Reference longest;
+    private String longestTypo;
+
+    @Setup
+    public void setUp() {
+        matcher = new SentenceAnswerMatcher(0.1);
+        typical = matcher.prepare(TYPICAL);
+
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 200) {
+            text.append(TYPICAL).append(' ');
+        }
+        String longText = text.toString();
+        longest = matcher.prepare(longText);
+        // Sai rải rác ở đầu, giữa và cuối câu, vẫn trong ngưỡng cho phép
+        StringBuilder typo = new StringBuilder(longText);
+        typo.setCharAt(0, '자');
+        typo.setCharAt(longText.length() / 2, '곰');
+        typo.setCharAt(longText.length() - 3, '요');
+        longestTypo = typo.toString();
+    }
+
+    @Benchmark
+    public boolean typicalExact() {
+        return matcher.matches(typical, TYPICAL);
+    }
+
+    @Benchmark
+    public boolean typicalSpacingVariant() {
+        return matcher.matches(typical, TYPICAL_SPACING);
+    }
+
+    @Benchmark
+    public boolean typicalTypo() {
+        return matcher.matches(typical, TYPICAL_TYPO);
+    }
+
+    @Benchmark
+    public boolean typicalWrong() {
+        return matcher.matches(typical, TYPICAL_WRONG);
+    }
+
+    @Benchmark
+    public boolean worstCaseLongTypo() {
+        return matcher.matches(longest, longestTypo);
+    }
+
+    @Benchmark
+    public SentenceAnswerMatcher.Reference prepareReference() {
+        return matcher.prepare(TYPICAL);
+    }
+}
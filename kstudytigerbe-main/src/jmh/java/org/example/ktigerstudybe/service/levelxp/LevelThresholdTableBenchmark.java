@@ -0,0 +1,70 @@
+package org.example.ktigerstudybe.service.levelxp;
+
+import org.example.ktigerstudybe.model.LevelXP;
+import org.example.ktigerstudybe.repository.LevelXPRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tính level theo tổng XP (chạy sau mỗi lần cộng XP) trên bảng ngưỡng đã nạp sẵn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LevelThresholdTableBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"20", "200"})
+    public int levelCount;
+
+    private LevelThresholdTable table;
+    private int[] totals;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<LevelXP> rows = new ArrayList<>(levelCount);
+        for (int i = 1; i <= levelCount; i++) {
+            LevelXP level = new LevelXP();
+            level.setLevelNumber(i);
+            level.setRequiredXP(50 * i * i);
+            level.setTitle("Level " + i);
+            rows.add(level);
+        }
+        // Chỉ cần findAll() để nạp bảng ngưỡng, không dựng Spring context
+        LevelXPRepository repository = (LevelXPRepository) Proxy.newProxyInstance(
+                LevelXPRepository.class.getClassLoader(), new Class<?>[]{LevelXPRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) return rows;
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        table = new LevelThresholdTable(repository);
+        table.refresh();
+
+        int maxXP = 50 * levelCount * levelCount + 1000;
+        totals = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            totals[i] = ThreadLocalRandom.current().nextInt(maxXP);
+        }
+    }
+
+    @Benchmark
+    public LevelThresholdTable.Level resolve() {
+        int xp = totals[next];
+        next = (next + 1) & (SAMPLES - 1);
+        return table.resolve(xp);
+    }
+}
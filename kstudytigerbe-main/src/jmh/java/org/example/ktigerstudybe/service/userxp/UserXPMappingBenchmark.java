@@ -0,0 +1,44 @@
+package org.example.ktigerstudybe.service.userxp;
+
+import org.example.ktigerstudybe.dto.resp.UserXPResponse;
+import org.example.ktigerstudybe.model.User;
+import org.example.ktigerstudybe.model.UserXP;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí map UserXP sang DTO, chạy sau mỗi lần cộng XP.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserXPMappingBenchmark {
+
+    private final UserXPServiceImpl service = new UserXPServiceImpl();
+    private UserXP userXP;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setUserId(42L);
+        userXP = new UserXP();
+        userXP.setUserXPId(42L);
+        userXP.setUser(user);
+        userXP.setTotalXP(12_345);
+        userXP.setLevelNumber(12);
+        userXP.setCurrentTitle("Cao thủ");
+        userXP.setCurrentBadge("badge-12.png");
+    }
+
+    @Benchmark
+    public UserXPResponse toResponse() {
+        return service.toResponse(userXP);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.ktigerstudybe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Thread pool cho các lời gọi AI của chat, để request thread của Tomcat
+     * không bị giữ trong lúc chờ Gemini trả lời.
+     * Khi bật {@code spring.threads.virtual.enabled}, mỗi lời gọi chạy trên một virtual thread
+     * (không giới hạn pool; số lời gọi Gemini đồng thời do {@code gemini.http.max-concurrent-calls} quyết định).
+     */
+    @Bean(name = "chatExecutor")
+    public Executor chatExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${chat.executor.core-size:16}") int coreSize,
+            @Value("${chat.executor.max-size:64}") int maxSize,
+            @Value("${chat.executor.queue-capacity:200}") int queueCapacity) {
+        if (virtualThreads) {
+            return new TaskExecutorAdapter(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("chat-ai-", 0).factory()));
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("chat-ai-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
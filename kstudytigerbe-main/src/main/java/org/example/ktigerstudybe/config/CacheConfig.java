@@ -0,0 +1,15 @@
+package org.example.ktigerstudybe.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bật Spring Cache (mặc định ConcurrentMapCacheManager trong bộ nhớ).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Trang chủ: các bộ flashcard public nhóm theo type
+    public static final String DOCUMENT_LIST_GROUPS = "documentListGroups";
+}
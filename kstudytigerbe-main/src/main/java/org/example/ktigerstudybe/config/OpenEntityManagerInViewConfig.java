@@ -0,0 +1,30 @@
+package org.example.ktigerstudybe.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-EntityManager-in-view cho mọi request trừ chat AI (thay cho spring.jpa.open-in-view mặc định).
+ * Với request async, interceptor giữ EntityManager, và cả connection JDBC đã lấy, tới khi có kết quả;
+ * một tin nhắn chat chờ Gemini vài giây nên chỉ cần số chat đồng thời bằng kích thước pool Hikari
+ * là các thread chat-ai không còn connection để lưu câu trả lời. ChatServiceImpl tự mở transaction ngắn.
+ */
+@Configuration
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public OpenEntityManagerInViewConfig(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns("/api/chat/**");
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.ktigerstudybe.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tối ưu thời gian khởi động (profile {@code prod}):
+ * <ul>
+ *   <li>{@code startup.lazy-beans}: các bean không cần cho request đầu tiên (Gemini, mail) chỉ được tạo
+ *   khi dùng lần đầu; chỗ inject các bean này có {@code @Lazy} để không kéo chúng lên lúc khởi động.</li>
+ *   <li>{@code startup.exit-after-start}: ghi thời gian khởi động rồi thoát ngay sau khi context sẵn sàng,
+ *   trước {@code ApplicationReadyEvent} (không nạp index từ DB). Dùng cho lượt chạy huấn luyện AppCDS
+ *   và benchmark khởi động trong profile Maven {@code prod}.</li>
+ * </ul>
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyBeansPostProcessor(Environment environment) {
+        String[] names = environment.getProperty("startup.lazy-beans", String[].class, new String[0]);
+        return beanFactory -> {
+            for (String name : names) {
+                String beanName = name.trim();
+                if (beanName.isEmpty()) continue;
+                if (beanFactory.containsBeanDefinition(beanName)) {
+                    beanFactory.getBeanDefinition(beanName).setLazyInit(true);
+                } else {
+                    logger.warn("startup.lazy-beans: no bean named '{}'", beanName);
+                }
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "startup.exit-after-start", havingValue = "true")
+    public ApplicationListener<ApplicationStartedEvent> exitAfterStart(Environment environment) {
+        return event -> {
+            long startedMs = event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis();
+            long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+            String label = environment.getProperty("startup.report-label", "run");
+            logger.info("Startup [{}]: context started in {} ms, JVM uptime {} ms", label, startedMs, uptimeMs);
+
+            String reportFile = environment.getProperty("startup.report-file");
+            if (reportFile != null && !reportFile.isBlank()) {
+                String line = String.format("{\"label\":\"%s\",\"startedMs\":%d,\"jvmUptimeMs\":%d}%n",
+                        label, startedMs, uptimeMs);
+                try {
+                    Path path = Path.of(reportFile);
+                    if (path.getParent() != null) Files.createDirectories(path.getParent());
+                    Files.writeString(path, line, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                } catch (IOException e) {
+                    logger.warn("Could not write startup report to {}", reportFile, e);
+                }
+            }
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        };
+    }
+}
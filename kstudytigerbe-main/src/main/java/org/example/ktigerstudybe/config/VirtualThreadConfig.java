@@ -0,0 +1,68 @@
+package org.example.ktigerstudybe.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Chế độ virtual thread (tuỳ chọn, {@code spring.threads.virtual.enabled=true}; Spring Boot 3.0 chưa tự hỗ trợ).
+ * Tomcat xử lý mỗi request trên một virtual thread nên số request đồng thời (kể cả chat chờ Gemini)
+ * không còn bị giới hạn bởi {@code server.tomcat.threads.max}; executor của chat cũng chuyển sang
+ * virtual thread (xem {@link AsyncConfig}). Giới hạn đặt ở tài nguyên thật:
+ * số lời gọi Gemini đồng thời ({@code gemini.http.max-concurrent-calls}),
+ * số connection JDBC ({@link ConnectionLimitingDataSource}), và theo dõi pinning qua JFR.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+
+    /**
+     * Đặt {@link ConnectionLimitingDataSource} trước Hikari, số permit bằng maximumPoolSize
+     * (Hikari chỉ điền giá trị mặc định khi khởi tạo pool nên lúc này có thể vẫn là -1).
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${jdbc.limiter.max-waiting:2000}") int maxWaiting,
+            @Value("${jdbc.limiter.acquire-timeout-ms:10000}") long acquireTimeoutMs,
+            ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) return bean;
+                int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+                ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(
+                        hikari, poolSize, maxWaiting, acquireTimeoutMs);
+                registry.ifAvailable(r -> {
+                    Gauge.builder("jdbc.limiter.in_use", limited, ConnectionLimitingDataSource::getInUse).register(r);
+                    Gauge.builder("jdbc.limiter.waiting", limited, ConnectionLimitingDataSource::getWaiting).register(r);
+                });
+                return limited;
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry registry,
+            @Value("${jfr.pinned-threshold-ms:20}") long thresholdMs) {
+        return new VirtualThreadPinningMonitor(registry, Duration.ofMillis(thresholdMs));
+    }
+}
@@ -9,6 +9,8 @@ import org.example.ktigerstudybe.dto.req.SignUpRequest;
 import org.example.ktigerstudybe.dto.resp.AuthResponse;
 import org.example.ktigerstudybe.dto.resp.GoogleSignInResponse;
 import org.example.ktigerstudybe.service.auth.AuthService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +23,8 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuthController {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
     private final AuthService authService;
 
     @PostMapping("/signup")
@@ -37,14 +41,11 @@ public class AuthController {
     @PostMapping("/google-signin")
     public ResponseEntity<GoogleSignInResponse> googleSignIn(@RequestBody GoogleSignInRequest request) {
         try {
-            System.out.println("=== GOOGLE SIGN IN START ===");
             GoogleSignInResponse response = authService.googleSignIn(request);
-            System.out.println("Google signin successful: " + response);
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
-            System.err.println("Google signin error: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Google sign in rejected: {}", e.getMessage());
 
             GoogleSignInResponse errorResponse = new GoogleSignInResponse(
                     null, null, null, null, false,
@@ -5,14 +5,23 @@ import org.example.ktigerstudybe.dto.req.SendChatMessageRequest;
 import org.example.ktigerstudybe.dto.resp.ChatConversationResponse;
 import org.example.ktigerstudybe.dto.resp.ChatMessageResponse;
 import org.example.ktigerstudybe.dto.resp.ChatResponsePair;
+import org.example.ktigerstudybe.service.ai.GeminiAIService;
 import org.example.ktigerstudybe.service.chat.ChatService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/chat")
@@ -23,6 +32,10 @@ public class ChatController {
     @Autowired
     private ChatService chatService;
 
+    @Autowired
+    @Lazy
+    private GeminiAIService geminiAIService;
+
     /**
      * 새로운 대화 생성
      */
@@ -41,15 +54,45 @@ public class ChatController {
      * 메시지 전송 및 AI 응답 받기
      */
     @PostMapping("/conversations/{conversationId}/messages")
-    public ResponseEntity<ChatResponsePair> sendMessage(
+    public CompletableFuture<ResponseEntity<ChatResponsePair>> sendMessage(
             @PathVariable Long conversationId,
             @Valid @RequestBody SendChatMessageRequest request) {
         try {
-            ChatResponsePair response = chatService.sendMessage(conversationId, request);
-            return ResponseEntity.ok(response);
+            return chatService.sendMessage(conversationId, request)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(ChatController::busyOrRethrow);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        } catch (RejectedExecutionException e) {
+            // chatExecutor đầy hàng đợi: báo quá tải để client thử lại thay vì 500
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+    }
+
+    /**
+     * 메시지 전송 및 AI 응답 스트리밍 (Server-Sent Events)
+     */
+    @PostMapping(value = "/conversations/{conversationId}/messages/stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMessage(
+            @PathVariable Long conversationId,
+            @Valid @RequestBody SendChatMessageRequest request) {
+        try {
+            return ResponseEntity.ok(chatService.streamMessage(conversationId, request));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // Các bước sau của sendMessage cũng chạy trên chatExecutor và có thể bị từ chối giữa chừng
+    private static <T> ResponseEntity<T> busyOrRethrow(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
+        throw error instanceof CompletionException ce ? ce : new CompletionException(error);
     }
 
     /**
@@ -110,4 +153,12 @@ public class ChatController {
         List<String> difficulties = List.of("beginner", "intermediate", "advanced");
         return ResponseEntity.ok(difficulties);
     }
+
+    /**
+     * Thống kê HTTP client gọi Gemini (pool kết nối, request đang chạy)
+     */
+    @GetMapping("/ai/stats")
+    public ResponseEntity<Map<String, Object>> getAiClientStats() {
+        return ResponseEntity.ok(geminiAIService.getClientStats());
+    }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 // src/main/java/org/example/ktigerstudybe/controller/DocumentListController.java
 package org.example.ktigerstudybe.controller;
 
+import org.example.ktigerstudybe.dto.req.DocumentItemRequest;
 import org.example.ktigerstudybe.dto.req.DocumentListRequest;
 import org.example.ktigerstudybe.dto.resp.DocumentListResponse;
+import org.example.ktigerstudybe.service.documentList.DeckTransferService;
 import org.example.ktigerstudybe.service.documentList.DocumentListService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -10,22 +12,32 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/document-lists")
 public class DocumentListController {
 
     private final DocumentListService service;
+    private final DeckTransferService deckTransferService;
 
     @Autowired
-    public DocumentListController(DocumentListService service) {
+    public DocumentListController(DocumentListService service, DeckTransferService deckTransferService) {
         this.service = service;
+        this.deckTransferService = deckTransferService;
     }
 
     /**
@@ -93,6 +105,67 @@ public class DocumentListController {
         return service.createDocumentList(request);
     }
 
+    /**
+     * 7b) Thêm hàng loạt mục từ vựng vào một bộ (import deck)
+     *     Ví dụ: POST /api/document-lists/12/items/bulk  body: [{word, meaning, example, vocabImage}, ...]
+     */
+    @PostMapping("/{id:\\d+}/items/bulk")
+    public ResponseEntity<Map<String, Object>> addItemsBulk(
+            @PathVariable Long id,
+            @RequestBody List<DocumentItemRequest> items
+    ) {
+        try {
+            int inserted = service.addItemsBulk(id, items);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(Map.of("listId", id, "inserted", inserted));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 7c) Nhập bộ từ vựng từ file CSV/TSV (cột: word, meaning, example, vocabImage)
+     *     Dòng lỗi bị bỏ qua và được trả về kèm số dòng.
+     */
+    @PostMapping(value = "/{id:\\d+}/items/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importItems(
+            @PathVariable Long id,
+            @RequestParam("file") MultipartFile file
+    ) {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(deckTransferService.importItems(id, in));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Cannot read file: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 7d) Xuất bộ từ vựng ra CSV (mặc định) hoặc TSV, ghi thẳng ra response
+     *     Ví dụ: GET /api/document-lists/12/items/export?format=tsv
+     */
+    @GetMapping("/{id:\\d+}/items/export")
+    public ResponseEntity<StreamingResponseBody> exportItems(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        try {
+            service.getDocumentListById(id);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean tsv = "tsv".equalsIgnoreCase(format);
+        StreamingResponseBody body = out -> deckTransferService.exportItems(id, tsv ? '\t' : ',', out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"deck-" + id + (tsv ? ".tsv" : ".csv") + "\"")
+                .contentType(new MediaType("text", tsv ? "tab-separated-values" : "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
     /**
      * 8) Cập nhật theo id (chỉ khớp số)
      */
@@ -132,18 +205,19 @@ public class DocumentListController {
     }
 
     /**
-     * 10) Tìm kiếm theo title hoặc type, chỉ cần 1 ô input
+     * 10) Tìm kiếm bộ public theo title, type, mô tả, tác giả hoặc từ vựng bên trong, chỉ cần 1 ô input.
+     *    Hỗ trợ gõ không dấu và gõ phụ âm đầu tiếng Hàn (ㅅㄱ → 사과); kết quả xếp theo độ liên quan.
      *    Ví dụ: GET /api/document-lists/search?keyword=java&page=0&size=10
      */
-//    @GetMapping("/search")
-//    public ResponseEntity<Page<DocumentListResponse>> searchPublicByTitleOrType(
-//            @RequestParam("keyword") String keyword,
-//            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
-//            Pageable pageable
-//    ) {
-//        Page<DocumentListResponse> result = service.searchPublicByTitleOrType(keyword, pageable);
-//        return ResponseEntity.ok(result);
-//    }
+    @GetMapping("/search")
+    public ResponseEntity<Page<DocumentListResponse>> searchPublicByTitleOrType(
+            @RequestParam("keyword") String keyword,
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
+            Pageable pageable
+    ) {
+        Page<DocumentListResponse> result = service.searchPublicByTitleOrType(keyword, pageable);
+        return ResponseEntity.ok(result);
+    }
 
     /**
      * 11) Đảo ngược trạng thái công khai của DocumentList:
@@ -0,0 +1,59 @@
+package org.example.ktigerstudybe.controller;
+
+import org.example.ktigerstudybe.dto.req.ExerciseAttemptRequest;
+import org.example.ktigerstudybe.dto.req.ExerciseCheckRequest;
+import org.example.ktigerstudybe.dto.resp.ExerciseGradeResponse;
+import org.example.ktigerstudybe.dto.resp.ExerciseQuizResponse;
+import org.example.ktigerstudybe.service.exercise.ExerciseGradingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/api/exercises")
+public class ExerciseGradingController {
+
+    private final ExerciseGradingService gradingService;
+
+    public ExerciseGradingController(ExerciseGradingService gradingService) {
+        this.gradingService = gradingService;
+    }
+
+    // Đề bài tập không kèm đáp án
+    @GetMapping("/{exerciseId}/quiz")
+    public ResponseEntity<ExerciseQuizResponse> getQuiz(@PathVariable Long exerciseId) {
+        try {
+            return ResponseEntity.ok(gradingService.getQuiz(exerciseId));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Chấm một câu để hiện đúng/sai ngay trên màn hình học; câu trả lời đầu tiên được ghi lại để chấm lượt
+    @PostMapping("/{exerciseId}/check")
+    public ResponseEntity<?> checkAnswer(@PathVariable Long exerciseId,
+                                         @RequestBody ExerciseCheckRequest request) {
+        try {
+            return ResponseEntity.ok(gradingService.check(exerciseId, request));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Nộp cả lượt làm bài, server chấm điểm, lưu kết quả và cộng XP
+    @PostMapping("/{exerciseId}/attempts")
+    public ResponseEntity<?> submitAttempt(@PathVariable Long exerciseId,
+                                           @RequestBody ExerciseAttemptRequest request) {
+        try {
+            return ResponseEntity.ok(gradingService.grade(exerciseId, request));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
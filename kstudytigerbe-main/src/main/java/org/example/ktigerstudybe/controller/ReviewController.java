@@ -0,0 +1,54 @@
+package org.example.ktigerstudybe.controller;
+
+import org.example.ktigerstudybe.dto.req.ReviewEnrollRequest;
+import org.example.ktigerstudybe.dto.req.ReviewSubmitRequest;
+import org.example.ktigerstudybe.dto.resp.ReviewCardResponse;
+import org.example.ktigerstudybe.service.review.ReviewService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reviews")
+public class ReviewController {
+
+    private final ReviewService reviewService;
+
+    public ReviewController(ReviewService reviewService) {
+        this.reviewService = reviewService;
+    }
+
+    // Thêm deck / từ vựng bài học vào lịch ôn tập
+    @PostMapping("/enroll")
+    public ResponseEntity<?> enroll(@RequestBody ReviewEnrollRequest request) {
+        try {
+            return ResponseEntity.ok(Map.of("added", reviewService.enroll(request)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Thẻ đến hạn, sớm nhất trước
+    @GetMapping("/due")
+    public List<ReviewCardResponse> getDue(@RequestParam Long userId,
+                                           @RequestParam(defaultValue = "50") int limit) {
+        return reviewService.getDueCards(userId, limit);
+    }
+
+    @GetMapping("/due/count")
+    public Map<String, Long> countDue(@RequestParam Long userId) {
+        return Map.of("due", reviewService.countDue(userId));
+    }
+
+    // Nộp kết quả ôn của nhiều thẻ trong một request
+    @PostMapping("/submit")
+    public ResponseEntity<?> submit(@RequestBody ReviewSubmitRequest request) {
+        try {
+            return ResponseEntity.ok(reviewService.submit(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -6,6 +6,8 @@ import org.example.ktigerstudybe.dto.req.UserRequest;
 import org.example.ktigerstudybe.dto.resp.UserResponse;
 import org.example.ktigerstudybe.model.User;
 import org.example.ktigerstudybe.service.user.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -21,6 +23,8 @@ import java.util.NoSuchElementException;
 @CrossOrigin(origins = "*") // ✅ Enable CORS for testing
 public class UserController {
 
+  private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
   @Autowired
   private UserService userService;
 
@@ -89,8 +93,6 @@ public class UserController {
       response.put("userStatus", 0);
       response.put("userData", resp);
 
-      System.out.println("User " + id + " has been frozen successfully");
-
       return ResponseEntity.ok(response);
     } catch (Exception e) {
       Map<String, Object> error = new HashMap<>();
@@ -98,7 +100,7 @@ public class UserController {
       error.put("message", "Không thể đóng băng tài khoản: " + e.getMessage());
       error.put("userId", id);
 
-      System.err.println("Failed to freeze user " + id + ": " + e.getMessage());
+      logger.warn("Failed to freeze user {}: {}", id, e.getMessage());
 
       return ResponseEntity.badRequest().body(error);
     }
@@ -117,8 +119,6 @@ public class UserController {
       response.put("userStatus", 1);
       response.put("userData", resp);
 
-      System.out.println("User " + id + " has been unfrozen successfully");
-
       return ResponseEntity.ok(response);
     } catch (Exception e) {
       Map<String, Object> error = new HashMap<>();
@@ -126,7 +126,7 @@ public class UserController {
       error.put("message", "Không thể kích hoạt tài khoản: " + e.getMessage());
       error.put("userId", id);
 
-      System.err.println("Failed to unfreeze user " + id + ": " + e.getMessage());
+      logger.warn("Failed to unfreeze user {}: {}", id, e.getMessage());
 
       return ResponseEntity.badRequest().body(error);
     }
@@ -169,7 +169,7 @@ public class UserController {
           successCount++;
         } catch (Exception e) {
           failCount++;
-          System.err.println("Failed to freeze user " + userId + ": " + e.getMessage());
+          logger.warn("Failed to freeze user {}: {}", userId, e.getMessage());
         }
       }
 
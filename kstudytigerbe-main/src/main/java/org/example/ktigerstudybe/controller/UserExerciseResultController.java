@@ -1,23 +1,40 @@
 package org.example.ktigerstudybe.controller;
 
 import org.example.ktigerstudybe.dto.req.UserExerciseResultRequest;
+import org.example.ktigerstudybe.dto.resp.ExerciseScoreStatsResponse;
 import org.example.ktigerstudybe.dto.resp.UserExerciseResultResponse;
+import org.example.ktigerstudybe.dto.resp.UserExerciseSummaryResponse;
 import org.example.ktigerstudybe.service.userexerciseresult.UserExerciseResultService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/user-exercise-results")
 public class UserExerciseResultController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private UserExerciseResultService service;
 
+    /**
+     * Lưu điểm do client tự chấm. Màn hình học đã chuyển sang POST /api/exercises/{id}/attempts
+     * (server chấm và cộng XP); giữ lại cho client cũ, không cộng XP.
+     */
+    @Deprecated
     @PostMapping
-    public UserExerciseResultResponse saveResult(@RequestBody UserExerciseResultRequest req) {
-        return service.saveResult(req);
+    public ResponseEntity<?> saveResult(@RequestBody UserExerciseResultRequest req) {
+        try {
+            return ResponseEntity.ok(service.saveResult(req));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/user/{userId}")
@@ -32,5 +49,43 @@ public class UserExerciseResultController {
     ) {
         return service.getResultByUserIdAndExerciseId(userId, exerciseId);
     }
+
+    @GetMapping("/user/{userId}/history")
+    public Page<UserExerciseResultResponse> getHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long exerciseId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return service.getHistory(userId, exerciseId, pageRequest(page, size));
+    }
+
+    @GetMapping("/user/{userId}/summary")
+    public Page<UserExerciseSummaryResponse> getSummaries(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return service.getSummaries(userId, pageRequest(page, size));
+    }
+
+    @GetMapping("/user/{userId}/exercise/{exerciseId}/summary")
+    public ResponseEntity<UserExerciseSummaryResponse> getSummary(
+            @PathVariable Long userId,
+            @PathVariable Long exerciseId
+    ) {
+        UserExerciseSummaryResponse summary = service.getSummary(userId, exerciseId);
+        return summary != null ? ResponseEntity.ok(summary) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/exercise/{exerciseId}/stats")
+    public ExerciseScoreStatsResponse getExerciseStats(@PathVariable Long exerciseId) {
+        return service.getExerciseStats(exerciseId);
+    }
+
+    // page âm / size <= 0 làm PageRequest.of ném IllegalArgumentException (500), nên kẹp lại
+    private static PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
 }
 
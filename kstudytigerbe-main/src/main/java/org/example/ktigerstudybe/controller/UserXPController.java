@@ -5,6 +5,9 @@ import org.example.ktigerstudybe.dto.resp.LeaderboardResponse;
 import org.example.ktigerstudybe.dto.resp.UserXPResponse;
 import org.example.ktigerstudybe.service.userxp.UserXPService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,6 +16,8 @@ import java.util.List;
 @RequestMapping("/api/user-xp")
 public class UserXPController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private UserXPService userXPService;
 
@@ -25,8 +30,32 @@ public class UserXPController {
     public UserXPResponse addXP(@RequestBody UserXPUpdateRequest req) {
         return userXPService.addXP(req);
     }
+    // Top người học theo XP (mặc định 100 người)
     @GetMapping("/leaderboard")
-    public List<LeaderboardResponse> getLeaderboard() {
-        return userXPService.getLeaderboard();
+    public List<LeaderboardResponse> getLeaderboard(
+            @RequestParam(defaultValue = "100") int limit) {
+        return userXPService.getLeaderboard(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+    }
+
+    // Bảng xếp hạng phân trang: GET /api/user-xp/leaderboard/paged?page=0&size=20
+    @GetMapping("/leaderboard/paged")
+    public Page<LeaderboardResponse> getLeaderboardPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return userXPService.getLeaderboardPage(PageRequest.of(Math.max(page, 0), pageSize));
+    }
+
+    // Hạng của tôi và radius người đứng trên/dưới: GET /api/user-xp/leaderboard/around/12?radius=5
+    @GetMapping("/leaderboard/around/{userId}")
+    public ResponseEntity<List<LeaderboardResponse>> getLeaderboardAround(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "5") int radius) {
+        List<LeaderboardResponse> result =
+                userXPService.getLeaderboardAround(userId, Math.min(Math.max(radius, 0), MAX_PAGE_SIZE / 2));
+        if (result.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(result);
     }
 }
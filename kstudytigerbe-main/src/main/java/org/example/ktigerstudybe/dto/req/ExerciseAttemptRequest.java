@@ -0,0 +1,18 @@
+package org.example.ktigerstudybe.dto.req;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ExerciseAttemptRequest {
+    private Long userId;
+    private List<Answer> answers;
+
+    @Data
+    public static class Answer {
+        private Long questionId;
+        private String type;   // MULTIPLE_CHOICE hoặc REWRITING
+        private String answer; // Chữ cái đáp án (A-D) hoặc câu viết lại
+    }
+}
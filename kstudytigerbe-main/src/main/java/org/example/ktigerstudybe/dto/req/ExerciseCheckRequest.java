@@ -0,0 +1,11 @@
+package org.example.ktigerstudybe.dto.req;
+
+import lombok.Data;
+
+@Data
+public class ExerciseCheckRequest {
+    private Long userId;
+    private Long questionId;
+    private String type;   // MULTIPLE_CHOICE hoặc REWRITING
+    private String answer; // Chữ cái đáp án (A-D) hoặc câu viết lại
+}
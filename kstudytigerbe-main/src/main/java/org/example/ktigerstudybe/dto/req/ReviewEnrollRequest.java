@@ -0,0 +1,10 @@
+package org.example.ktigerstudybe.dto.req;
+
+import lombok.Data;
+
+@Data
+public class ReviewEnrollRequest {
+    private Long userId;
+    private Long listId;   // Thêm mọi từ của deck (DocumentList)
+    private Long lessonId; // Thêm từ vựng của bài học (VocabularyTheory)
+}
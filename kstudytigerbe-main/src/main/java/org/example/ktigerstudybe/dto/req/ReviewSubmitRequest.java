@@ -0,0 +1,18 @@
+package org.example.ktigerstudybe.dto.req;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ReviewSubmitRequest {
+    private Long userId;
+    private List<Review> reviews;
+
+    @Data
+    public static class Review {
+        private Long cardId;
+        private Integer grade;       // 0-5 theo SM-2
+        private String reviewedAt;   // ISO-8601, mặc định là thời điểm nhận request
+    }
+}
@@ -6,4 +6,6 @@ import lombok.Data;
 public class UserXPUpdateRequest {
     private Long userId;
     private Integer xpToAdd; // Số XP muốn cộng thêm
+    private String source;   // Nguồn XP (LESSON, EXERCISE, ...); mặc định MANUAL
+    private String sourceId; // ID của nguồn; cùng (userId, source, sourceId) chỉ được cộng một lần
 }
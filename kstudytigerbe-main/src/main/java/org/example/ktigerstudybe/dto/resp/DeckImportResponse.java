@@ -0,0 +1,32 @@
+package org.example.ktigerstudybe.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class DeckImportResponse {
+
+    private Long listId;
+
+    private int totalRows;          // Số dòng dữ liệu đã đọc (không tính header)
+
+    private int inserted;           // Số mục đã thêm
+
+    private int skipped;            // Số dòng lỗi bị bỏ qua
+
+    private boolean errorsTruncated; // true nếu có nhiều lỗi hơn số lỗi trả về
+
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
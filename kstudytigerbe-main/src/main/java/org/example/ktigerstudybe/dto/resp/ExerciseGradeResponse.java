@@ -0,0 +1,29 @@
+package org.example.ktigerstudybe.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+public class ExerciseGradeResponse {
+    private Long resultId;
+    private Long exerciseId;
+    private int totalQuestions;
+    private int correctCount;
+    private int score;          // 0-100
+    private int xpAwarded;      // 0 nếu bài tập đã được cộng XP trước đó
+    private UserXPResponse xpData;
+    private List<QuestionGrade> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuestionGrade {
+        private Long questionId;
+        private String type;
+        private boolean correct;
+        private String correctAnswer; // Chỉ trả sau khi đã nộp bài
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.ktigerstudybe.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Đề bài tập gửi cho người học: không kèm đáp án.
+ */
+@Data
+public class ExerciseQuizResponse {
+    private Long exerciseId;
+    private List<MultipleChoiceItem> multipleChoice;
+    private List<RewritingItem> rewriting;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MultipleChoiceItem {
+        private Long questionId;
+        private String questionText;
+        private String optionA;
+        private String optionB;
+        private String optionC;
+        private String optionD;
+        private String linkMedia;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RewritingItem {
+        private Long questionId;
+        private String originalSentence;
+        private String linkMedia;
+    }
+}
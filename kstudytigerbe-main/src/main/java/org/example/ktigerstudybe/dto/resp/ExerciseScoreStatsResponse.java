@@ -0,0 +1,14 @@
+package org.example.ktigerstudybe.dto.resp;
+
+import lombok.Data;
+
+@Data
+public class ExerciseScoreStatsResponse {
+    private Long exerciseId;
+    private long attempts;
+    private double meanScore;
+    private Integer p50Score;   // null nếu chưa có lượt làm nào
+    private Integer p90Score;
+    private double passRate;    // 0..1, tỉ lệ lượt làm đạt >= passScore
+    private int passScore;
+}
@@ -6,6 +6,8 @@ import lombok.Data;
 @Data
 @AllArgsConstructor
 public class LeaderboardResponse {
+    private int rank;           // Hạng, bắt đầu từ 1
+    private Long userId;
     private String fullName;
     private String currentTitle;
     private String currentBadge;
@@ -1,5 +1,6 @@
 package org.example.ktigerstudybe.dto.resp;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 @Data
@@ -11,6 +12,7 @@ public class MultipleChoiceQuestionResponse {
     private String optionB;
     private String optionC;
     private String optionD;
+    @JsonInclude(JsonInclude.Include.NON_NULL) // Không trả cho màn hình học (GET /api/mcq/exercise/{id})
     private String correctAnswer;
     private String linkMedia;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package org.example.ktigerstudybe.dto.resp;
+
+import lombok.Data;
+
+@Data
+public class ReviewCardResponse {
+    private Long cardId;
+    private String cardType;
+    private Long itemId;
+    private String word;
+    private String meaning;
+    private String example;
+    private String image;
+    private String dueAt;
+    private Integer intervalDays;
+    private Integer repetitions;
+    private Double easeFactor;
+}
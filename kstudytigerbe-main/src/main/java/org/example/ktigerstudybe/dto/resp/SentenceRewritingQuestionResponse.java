@@ -1,5 +1,6 @@
 package org.example.ktigerstudybe.dto.resp;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 @Data
@@ -7,6 +8,7 @@ public class SentenceRewritingQuestionResponse {
     private Long questionId;
     private Long exerciseId;
     private String originalSentence;
+    @JsonInclude(JsonInclude.Include.NON_NULL) // Không trả cho màn hình học (GET /api/sentence-rewriting/exercise/{id})
     private String rewrittenSentence;
     private String linkMedia;
 }
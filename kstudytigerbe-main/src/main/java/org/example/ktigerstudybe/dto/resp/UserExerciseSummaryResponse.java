@@ -0,0 +1,13 @@
+package org.example.ktigerstudybe.dto.resp;
+
+import lombok.Data;
+
+@Data
+public class UserExerciseSummaryResponse {
+    private Long userId;
+    private Long exerciseId;
+    private Integer bestScore;
+    private Integer lastScore;
+    private Integer attemptCount;
+    private String lastAttemptAt;
+}
@@ -10,4 +10,5 @@ public class UserXPResponse {
     private Integer levelNumber;
     private String currentTitle;
     private String currentBadge;
+    private Integer xpAwarded; // Chỉ có khi cộng XP: số XP thực sự được cộng (0 nếu phần thưởng đã nhận trước đó)
 }
\ No newline at end of file
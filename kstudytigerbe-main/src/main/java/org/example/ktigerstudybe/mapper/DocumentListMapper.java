@@ -3,6 +3,7 @@ package org.example.ktigerstudybe.mapper;
 
 import org.example.ktigerstudybe.dto.resp.DocumentListResponse;
 import org.example.ktigerstudybe.model.DocumentList;
+import org.example.ktigerstudybe.repository.projection.DocumentListSummary;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -28,4 +29,25 @@ public class DocumentListMapper {
         dto.setIsPublic(entity.getIsPublic());
         return dto;
     }
+
+    /**
+     * Chuyển đổi từ projection (đã join sẵn tác giả) sang DocumentListResponse DTO.
+     */
+    public DocumentListResponse toResponse(DocumentListSummary row) {
+        if (row == null) {
+            return null;
+        }
+
+        DocumentListResponse dto = new DocumentListResponse();
+        dto.setListId(row.getListId());
+        dto.setUserId(row.getUserId());
+        dto.setFullName(row.getFullName());
+        dto.setAvatarImage(row.getAvatarImage());
+        dto.setTitle(row.getTitle());
+        dto.setDescription(row.getDescription());
+        dto.setType(row.getType());
+        dto.setCreatedAt(row.getCreatedAt());
+        dto.setIsPublic(row.getIsPublic() != null ? row.getIsPublic() : 0);
+        return dto;
+    }
 }
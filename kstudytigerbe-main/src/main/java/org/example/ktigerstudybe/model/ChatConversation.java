@@ -7,7 +7,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "chat_conversations")
+@Table(name = "chat_conversations",
+        indexes = {
+                @Index(name = "idx_chat_conversation_user_created", columnList = "user_id, createdAt"),
+                @Index(name = "idx_chat_conversation_user_scenario", columnList = "user_id, scenario, createdAt")
+        })
 public class ChatConversation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -5,7 +5,8 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages",
+        indexes = @Index(name = "idx_chat_message_conversation_time", columnList = "conversation_id, timestamp"))
 public class ChatMessage {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -17,7 +17,11 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
-@Table(name = "document_list")
+@Table(name = "document_list",
+        indexes = {
+                @Index(name = "idx_document_list_public_type_created", columnList = "IsPublic, Type, CreatedAt"),
+                @Index(name = "idx_document_list_user_created", columnList = "UserID, CreatedAt")
+        })
 public class DocumentList {
 
     @Id
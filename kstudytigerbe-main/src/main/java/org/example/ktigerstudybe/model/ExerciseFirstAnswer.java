@@ -0,0 +1,46 @@
+package org.example.ktigerstudybe.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Câu trả lời đầu tiên của người học cho một câu hỏi trong lượt làm bài đang mở.
+ * Ghi khi chấm từng câu (/check) và là căn cứ chấm điểm khi nộp lượt (/attempts),
+ * sau đó bị xoá để lượt sau bắt đầu lại.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "exercise_first_answer",
+        uniqueConstraints = @UniqueConstraint(name = "uk_exercise_first_answer",
+                columnNames = {"UserID", "ExerciseID", "QuestionType", "QuestionID"}))
+public class ExerciseFirstAnswer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "AnswerID")
+    private Long answerId;
+
+    @Column(name = "UserID", nullable = false)
+    private Long userId;
+
+    @Column(name = "ExerciseID", nullable = false)
+    private Long exerciseId;
+
+    @Column(name = "QuestionType", nullable = false, length = 16)
+    private String questionType;
+
+    @Column(name = "QuestionID", nullable = false)
+    private Long questionId;
+
+    @Column(name = "Answer", length = 1000)
+    private String answer;
+
+    @Column(name = "CreatedAt", nullable = false)
+    private LocalDateTime createdAt;
+}
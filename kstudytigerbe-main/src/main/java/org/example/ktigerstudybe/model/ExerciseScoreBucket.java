@@ -0,0 +1,35 @@
+package org.example.ktigerstudybe.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Histogram điểm của một bài tập: số lần làm đạt đúng điểm {@code score}.
+ * Điểm là số nguyên 0-100 nên mỗi bài tập có tối đa ~101 dòng; trung bình, p50/p90
+ * và tỉ lệ đạt được tính từ các dòng này.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "exercise_score_histogram",
+        uniqueConstraints = @UniqueConstraint(name = "uk_exercise_score_bucket",
+                columnNames = {"ExerciseID", "Score"}))
+public class ExerciseScoreBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "BucketID")
+    private Long bucketId;
+
+    @Column(name = "ExerciseID", nullable = false)
+    private Long exerciseId;
+
+    @Column(name = "Score", nullable = false)
+    private Integer score;
+
+    @Column(name = "AttemptCount", nullable = false)
+    private Long attemptCount;
+}
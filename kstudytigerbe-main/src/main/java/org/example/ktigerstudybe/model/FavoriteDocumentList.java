@@ -6,7 +6,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "favorite_document_list")
+@Table(name = "favorite_document_list",
+        uniqueConstraints = @UniqueConstraint(name = "uk_favorite_document_list_user_list",
+                columnNames = {"UserID", "ListID"}))
 @Getter
 @Setter
 @NoArgsConstructor
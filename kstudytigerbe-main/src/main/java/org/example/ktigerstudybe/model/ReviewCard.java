@@ -0,0 +1,59 @@
+package org.example.ktigerstudybe.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trạng thái ôn tập (SM-2) của một thẻ với một người học.
+ * Thẻ trỏ tới một DocumentItem hoặc VocabularyTheory qua (CardType, ItemID);
+ * chỉ mục (UserID, DueAt) phục vụ truy vấn "thẻ đến hạn" theo khoảng.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "review_card",
+        uniqueConstraints = @UniqueConstraint(name = "uk_review_card_item",
+                columnNames = {"UserID", "CardType", "ItemID"}),
+        indexes = @Index(name = "idx_review_card_due", columnList = "UserID, DueAt, CardID"))
+public class ReviewCard {
+
+    public static final String DOCUMENT_ITEM = "DOCUMENT_ITEM";
+    public static final String VOCABULARY = "VOCABULARY";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "CardID")
+    private Long cardId;
+
+    @Column(name = "UserID", nullable = false)
+    private Long userId;
+
+    @Column(name = "CardType", nullable = false, length = 16)
+    private String cardType;
+
+    @Column(name = "ItemID", nullable = false)
+    private Long itemId;
+
+    @Column(name = "EaseFactor", nullable = false)
+    private Double easeFactor;
+
+    @Column(name = "IntervalDays", nullable = false)
+    private Integer intervalDays;
+
+    @Column(name = "Repetitions", nullable = false)
+    private Integer repetitions;
+
+    @Column(name = "Lapses", nullable = false)
+    private Integer lapses;
+
+    @Column(name = "DueAt", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "LastReviewedAt")
+    private LocalDateTime lastReviewedAt;
+}
@@ -0,0 +1,42 @@
+package org.example.ktigerstudybe.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bản dịch Hàn → Việt đã có, lưu lại để không phải gọi Gemini lần nữa sau khi restart.
+ * SourceHash là SHA-256 của câu tiếng Hàn đã chuẩn hoá.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "translation_cache")
+public class TranslationCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "EntryID")
+    private Long entryId;
+
+    @Column(name = "SourceHash", nullable = false, unique = true, length = 64)
+    private String sourceHash;
+
+    @Column(name = "SourceText", columnDefinition = "TEXT", nullable = false)
+    private String sourceText;
+
+    @Column(name = "Translation", columnDefinition = "TEXT", nullable = false)
+    private String translation;
+
+    @Column(name = "CreatedAt", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
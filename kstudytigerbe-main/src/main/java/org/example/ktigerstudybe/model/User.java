@@ -14,7 +14,11 @@ import lombok.Setter;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "user")
+@Table(name = "user",
+        indexes = {
+                @Index(name = "idx_user_email", columnList = "Email"),
+                @Index(name = "idx_user_join_date", columnList = "JoinDate")
+        })
 public class User {
 
     @Id
@@ -9,7 +9,11 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "userexerciseresult")
+@Table(name = "userexerciseresult",
+        indexes = {
+                @Index(name = "idx_user_exercise_result_user_date", columnList = "UserID, DateComplete"),
+                @Index(name = "idx_user_exercise_result_user_exercise", columnList = "UserID, ExerciseID, DateComplete")
+        })
 public class UserExerciseResult {
 
     @Id
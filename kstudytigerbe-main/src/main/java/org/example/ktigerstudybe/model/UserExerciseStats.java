@@ -0,0 +1,45 @@
+package org.example.ktigerstudybe.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tổng hợp các lần làm một bài tập của một người học (điểm cao nhất, điểm lần cuối, số lần làm),
+ * được cập nhật mỗi khi lưu kết quả mới để không phải quét bảng userexerciseresult.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "user_exercise_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_exercise_stats",
+                columnNames = {"UserID", "ExerciseID"}))
+public class UserExerciseStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "StatsID")
+    private Long statsId;
+
+    @Column(name = "UserID", nullable = false)
+    private Long userId;
+
+    @Column(name = "ExerciseID", nullable = false)
+    private Long exerciseId;
+
+    @Column(name = "BestScore", nullable = false)
+    private Integer bestScore;
+
+    @Column(name = "LastScore", nullable = false)
+    private Integer lastScore;
+
+    @Column(name = "AttemptCount", nullable = false)
+    private Integer attemptCount;
+
+    @Column(name = "LastAttemptAt")
+    private LocalDateTime lastAttemptAt;
+}
@@ -6,7 +6,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_progress")
+@Table(name = "user_progress",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_progress_user_lesson",
+                columnNames = {"UserID", "LessonID"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -7,7 +7,9 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "userxp")
+@Table(name = "userxp",
+        uniqueConstraints = @UniqueConstraint(name = "uk_userxp_user", columnNames = "UserID"),
+        indexes = @Index(name = "idx_userxp_total", columnList = "TotalXP"))
 public class UserXP {
 
     @Id
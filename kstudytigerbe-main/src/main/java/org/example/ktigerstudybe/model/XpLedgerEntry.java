@@ -0,0 +1,48 @@
+package org.example.ktigerstudybe.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sổ cái XP (chỉ ghi thêm): mỗi lần cộng XP là một dòng.
+ * Khoá (UserID, Source, SourceID) là duy nhất nên cùng một phần thưởng
+ * (ví dụ hoàn thành bài học X) không thể được cộng hai lần khi client gửi lại request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "xp_ledger",
+        uniqueConstraints = @UniqueConstraint(name = "uk_xp_ledger_award",
+                columnNames = {"UserID", "Source", "SourceID"}))
+public class XpLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "LedgerID")
+    private Long ledgerId;
+
+    @Column(name = "UserID", nullable = false)
+    private Long userId;
+
+    @Column(name = "Source", nullable = false, length = 32)
+    private String source;
+
+    @Column(name = "SourceID", nullable = false, length = 64)
+    private String sourceId;
+
+    @Column(name = "XP", nullable = false)
+    private Integer xp;
+
+    @Column(name = "CreatedAt", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.ktigerstudybe.repository;
 
 import org.example.ktigerstudybe.model.ChatMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +14,9 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
 
     List<ChatMessage> findByConversation_ConversationIdOrderByTimestamp(Long conversationId);
 
+    // N tin nhắn gần nhất của cuộc hội thoại, mới nhất trước (dùng làm lịch sử cho prompt)
+    List<ChatMessage> findByConversation_ConversationIdOrderByMessageIdDesc(Long conversationId, Pageable pageable);
+
     @Query("SELECT m FROM ChatMessage m WHERE m.conversation.conversationId = :conversationId ORDER BY m.timestamp ASC")
     List<ChatMessage> findMessagesInConversation(@Param("conversationId") Long conversationId);
 
@@ -1,13 +1,17 @@
 package org.example.ktigerstudybe.repository;
 
 import org.example.ktigerstudybe.model.DocumentItem;
+import org.example.ktigerstudybe.repository.projection.CardContentRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface DocumentItemRepository extends JpaRepository<DocumentItem, Long> {
+public interface DocumentItemRepository extends JpaRepository<DocumentItem, Long>, DocumentItemRepositoryCustom {
 
     // Lấy danh sách DocumentItem theo ListID
     List<DocumentItem> findByDocumentList_ListId(Long listId);
@@ -20,4 +24,13 @@ public interface DocumentItemRepository extends JpaRepository<DocumentItem, Long
     Page<DocumentItem> findByDocumentList_ListIdAndWordContainingIgnoreCase(
             Long listId, String word, Pageable pageable
     );
+
+    // Nội dung thẻ ôn tập theo danh sách WordID (không tải DocumentList)
+    @Query("""
+      SELECT i.wordId AS itemId, i.word AS word, i.meaning AS meaning,
+             i.example AS example, i.vocabImage AS image
+      FROM DocumentItem i
+      WHERE i.wordId IN :ids
+    """)
+    List<CardContentRow> findCardContent(@Param("ids") Collection<Long> ids);
 }
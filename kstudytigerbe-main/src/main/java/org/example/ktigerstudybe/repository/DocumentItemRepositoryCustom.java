@@ -0,0 +1,35 @@
+package org.example.ktigerstudybe.repository;
+
+import org.example.ktigerstudybe.model.DocumentItem;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+public interface DocumentItemRepositoryCustom {
+
+    /**
+     * Chèn nhiều DocumentItem vào cùng một ListID bằng JDBC batch.
+     * Không trả về WordID, các entity truyền vào không được gắn vào persistence context.
+     *
+     * @return số dòng đã chèn
+     */
+    int batchInsert(Long listId, List<DocumentItem> items);
+
+    /**
+     * Một trang mục của ListID theo thứ tự WordID, chỉ lấy các dòng có WordID > {@code afterWordId} (keyset).
+     * Mỗi lần gọi là một truy vấn ngắn, không giữ connection giữa các trang.
+     */
+    List<DocumentItem> findPageByListId(Long listId, long afterWordId, int limit);
+
+    /**
+     * Duyệt toàn bộ mục của một ListID theo thứ tự WordID, đọc kiểu streaming từ DB
+     * và gọi {@code consumer} cho từng dòng (không nạp cả danh sách vào bộ nhớ).
+     */
+    void streamByListId(Long listId, Consumer<DocumentItem> consumer);
+
+    /**
+     * Duyệt toàn bộ bảng document_item theo thứ tự ListID (streaming), {@code consumer} nhận (ListID, item).
+     */
+    void streamAllOrderByListId(BiConsumer<Long, DocumentItem> consumer);
+}
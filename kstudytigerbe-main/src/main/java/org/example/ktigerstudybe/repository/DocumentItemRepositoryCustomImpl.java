@@ -0,0 +1,122 @@
+package org.example.ktigerstudybe.repository;
+
+import org.example.ktigerstudybe.model.DocumentItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * DocumentItem dùng id IDENTITY nên Hibernate không gộp được INSERT;
+ * đường nhập số lượng lớn đi thẳng qua JdbcTemplate.batchUpdate
+ * (kết hợp rewriteBatchedStatements của MySQL driver để thành multi-row INSERT).
+ */
+public class DocumentItemRepositoryCustomImpl implements DocumentItemRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO document_item (listid, word, meaning, example, vocab_image) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String PAGE_SQL =
+            "SELECT wordid, word, meaning, example, vocab_image FROM document_item"
+                    + " WHERE listid = ? AND wordid > ? ORDER BY wordid LIMIT ?";
+
+    private static final String STREAM_SQL =
+            "SELECT wordid, word, meaning, example, vocab_image FROM document_item WHERE listid = ? ORDER BY wordid";
+
+    private static final String STREAM_ALL_SQL =
+            "SELECT listid, wordid, word, meaning, example, vocab_image FROM document_item ORDER BY listid, wordid";
+
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+    private final int batchSize;
+
+    public DocumentItemRepositoryCustomImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${document-items.bulk.batch-size:500}") int batchSize,
+            @Value("${document-items.streaming.fetch-size:0}") int streamingFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        // Chỉ các lần duyệt cả bảng của chỉ mục tìm kiếm dùng template này.
+        // 0 = tự chọn: MySQL Connector/J chỉ stream result set khi fetchSize = Integer.MIN_VALUE,
+        // các driver khác nhận giá trị dương bình thường
+        this.streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingTemplate.setFetchSize(streamingFetchSize != 0 ? streamingFetchSize
+                : isMySql(jdbcTemplate.getDataSource()) ? Integer.MIN_VALUE : DEFAULT_FETCH_SIZE);
+    }
+
+    private static boolean isMySql(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "MySQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public int batchInsert(Long listId, List<DocumentItem> items) {
+        if (items == null || items.isEmpty()) return 0;
+
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, items, batchSize, (ps, item) -> {
+            ps.setLong(1, listId);
+            ps.setString(2, item.getWord());
+            ps.setString(3, item.getMeaning());
+            ps.setString(4, item.getExample());
+            ps.setString(5, item.getVocabImage());
+        });
+
+        // Driver có thể trả SUCCESS_NO_INFO (-2) khi rewrite batch, khi đó tính theo số phần tử đã gửi
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int c : batch) {
+                inserted += c >= 0 ? c : 1;
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<DocumentItem> findPageByListId(Long listId, long afterWordId, int limit) {
+        return jdbcTemplate.query(PAGE_SQL, (rs, rowNum) -> DocumentItem.builder()
+                .wordId(rs.getLong(1))
+                .word(rs.getString(2))
+                .meaning(rs.getString(3))
+                .example(rs.getString(4))
+                .vocabImage(rs.getString(5))
+                .build(), listId, afterWordId, limit);
+    }
+
+    @Override
+    public void streamByListId(Long listId, Consumer<DocumentItem> consumer) {
+        streamingTemplate.query(STREAM_SQL, rs -> {
+            consumer.accept(DocumentItem.builder()
+                    .wordId(rs.getLong(1))
+                    .word(rs.getString(2))
+                    .meaning(rs.getString(3))
+                    .example(rs.getString(4))
+                    .vocabImage(rs.getString(5))
+                    .build());
+        }, listId);
+    }
+
+    @Override
+    public void streamAllOrderByListId(BiConsumer<Long, DocumentItem> consumer) {
+        streamingTemplate.query(STREAM_ALL_SQL, rs -> {
+            consumer.accept(rs.getLong(1), DocumentItem.builder()
+                    .wordId(rs.getLong(2))
+                    .word(rs.getString(3))
+                    .meaning(rs.getString(4))
+                    .example(rs.getString(5))
+                    .vocabImage(rs.getString(6))
+                    .build());
+        });
+    }
+}
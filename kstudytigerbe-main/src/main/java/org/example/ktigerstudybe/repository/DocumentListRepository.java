@@ -3,65 +3,110 @@ package org.example.ktigerstudybe.repository;
 
 import jakarta.transaction.Transactional;
 import org.example.ktigerstudybe.model.DocumentList;
+import org.example.ktigerstudybe.repository.projection.DocumentListSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Range;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface DocumentListRepository extends JpaRepository<DocumentList, Long> {
 
+    // Các truy vấn trả về DocumentList để map sang DocumentListResponse đều nạp kèm user
+    // (@EntityGraph / JOIN FETCH), tránh mỗi dòng thêm một SELECT user khi mapper đọc tác giả.
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Optional<DocumentList> findById(Long listId);
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<DocumentList> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<DocumentList> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    List<DocumentList> findByListIdIn(Collection<Long> listIds);
+
     // Lấy theo user
+    @EntityGraph(attributePaths = "user")
     List<DocumentList> findByUser_UserId(Long userId);
 
     // Phân trang các bản ghi public (isPublic = 0)
+    @EntityGraph(attributePaths = "user")
     Page<DocumentList> findByIsPublic(int isPublic, Pageable pageable);
 
     // Lấy theo type + public flag
+    @EntityGraph(attributePaths = "user")
     List<DocumentList> findByTypeAndIsPublic(String type, int isPublic);
 
     // Lấy danh sách các type duy nhất
     @Query("SELECT DISTINCT d.type FROM DocumentList d")
     List<String> findDistinctTypes();
 
+    /**
+     * Tối đa :limit bộ public mới nhất cho mỗi type, kèm tác giả, trong một câu truy vấn.
+     */
+    @Query(value = """
+      SELECT t.listid       AS listId,
+             t.userid       AS userId,
+             t.fullname     AS fullName,
+             t.avatar_image AS avatarImage,
+             t.title        AS title,
+             t.description  AS description,
+             t.type         AS type,
+             t.created_at   AS createdAt,
+             t.is_public    AS isPublic
+        FROM (
+          SELECT d.listid, d.userid, u.fullname, u.avatar_image,
+                 d.title, d.description, d.type, d.created_at, d.is_public,
+                 ROW_NUMBER() OVER (PARTITION BY d.type ORDER BY d.created_at DESC, d.listid DESC) AS rn
+            FROM document_list d
+            JOIN `user` u ON u.userid = d.userid
+           WHERE d.is_public = 0
+        ) t
+       WHERE t.rn <= :limit
+       ORDER BY t.type, t.rn
+    """, nativeQuery = true)
+    List<DocumentListSummary> findTopPublicPerType(@Param("limit") int limit);
+
     // Lấy toàn bộ public lists không phân trang
+    @EntityGraph(attributePaths = "user")
     List<DocumentList> findAllByIsPublic(int isPublic);
 
 
     //admin
     // Lấy tất cả tài liệu của user
+    @EntityGraph(attributePaths = "user")
     Page<DocumentList> findByUser_UserId(Long userId, Pageable pageable);
 
-    // Tìm kiếm theo title hoặc tên tác giả
-    Page<DocumentList> findByTitleContainingIgnoreCaseOrUser_FullNameContainingIgnoreCase(
-            String titleKeyword, String nameKeyword, Pageable pageable);
-
-
-
+    @EntityGraph(attributePaths = "user")
     List<DocumentList> findByUser_UserIdOrderByCreatedAtDesc(Long userId);
 
-    // Tìm theo title hoặc type (LIKE, ignore case), có phân trang
-    @Query("""
-    SELECT d
-      FROM DocumentList d
-     WHERE d.isPublic = 0
-       AND (
-         LOWER(d.title) LIKE LOWER(CONCAT('%', :kw, '%'))
-      OR LOWER(d.type ) LIKE LOWER(CONCAT('%', :kw, '%'))
-       )
-  """)
-    Page<DocumentList> searchPublicByTitleOrType(@Param("kw") String keyword, Pageable pageable);
+    // Dùng cho chỉ mục tìm kiếm: nạp kèm tác giả trong một câu truy vấn
+    @Query("SELECT d FROM DocumentList d JOIN FETCH d.user WHERE d.listId = :listId")
+    Optional<DocumentList> findWithUserById(@Param("listId") Long listId);
+
+    @Query("SELECT d FROM DocumentList d JOIN FETCH d.user")
+    List<DocumentList> findAllWithUser();
 
     /**
      * Trả về tất cả DocumentList mà user này đã đánh dấu favorite
      */
     @Query("""
-      SELECT f.documentList 
-        FROM FavoriteDocumentList f 
+      SELECT d
+        FROM FavoriteDocumentList f
+        JOIN f.documentList d
+        JOIN FETCH d.user
        WHERE f.user.userId = :userId
     """)
     List<DocumentList> findFavoritedByUserId(@Param("userId") Long userId);
@@ -83,7 +128,8 @@ public interface DocumentListRepository extends JpaRepository<DocumentList, Long
     @Query("""
       SELECT d
         FROM DocumentList d
-       WHERE d.user.userId = :userId
+        JOIN FETCH d.user u
+       WHERE u.userId = :userId
          AND d.listId NOT IN (
              SELECT cd.documentList.listId
                FROM ClassDocumentList cd
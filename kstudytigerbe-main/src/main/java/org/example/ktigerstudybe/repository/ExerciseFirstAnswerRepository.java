@@ -0,0 +1,37 @@
+package org.example.ktigerstudybe.repository;
+
+import org.example.ktigerstudybe.model.ExerciseFirstAnswer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ExerciseFirstAnswerRepository extends JpaRepository<ExerciseFirstAnswer, Long> {
+
+    List<ExerciseFirstAnswer> findByUserIdAndExerciseId(Long userId, Long exerciseId);
+
+    // Chỉ giữ câu trả lời đầu tiên; dòng cũ hơn :staleBefore (lượt bỏ dở) được thay bằng câu trả lời mới.
+    // answer phải đứng trước created_at vì MySQL gán lần lượt và vế sau thấy giá trị mới.
+    @Modifying
+    @Query(value = """
+      INSERT INTO exercise_first_answer (userid, exerciseid, question_type, questionid, answer, created_at)
+      VALUES (:userId, :exerciseId, :questionType, :questionId, :answer, :now)
+      ON DUPLICATE KEY UPDATE
+        answer = CASE WHEN created_at < :staleBefore THEN VALUES(answer) ELSE answer END,
+        created_at = CASE WHEN created_at < :staleBefore THEN VALUES(created_at) ELSE created_at END
+    """, nativeQuery = true)
+    int recordFirstAnswer(@Param("userId") Long userId,
+                          @Param("exerciseId") Long exerciseId,
+                          @Param("questionType") String questionType,
+                          @Param("questionId") Long questionId,
+                          @Param("answer") String answer,
+                          @Param("now") LocalDateTime now,
+                          @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("DELETE FROM ExerciseFirstAnswer a WHERE a.userId = :userId AND a.exerciseId = :exerciseId")
+    int deleteByUserIdAndExerciseId(@Param("userId") Long userId, @Param("exerciseId") Long exerciseId);
+}
@@ -0,0 +1,23 @@
+package org.example.ktigerstudybe.repository;
+
+import org.example.ktigerstudybe.model.ExerciseScoreBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ExerciseScoreBucketRepository extends JpaRepository<ExerciseScoreBucket, Long> {
+
+    List<ExerciseScoreBucket> findByExerciseIdOrderByScoreAsc(Long exerciseId);
+
+    @Modifying
+    @Query(value = """
+      INSERT INTO exercise_score_histogram (exerciseid, score, attempt_count)
+      VALUES (:exerciseId, :score, 1)
+      ON DUPLICATE KEY UPDATE attempt_count = attempt_count + 1
+    """, nativeQuery = true)
+    int increment(@Param("exerciseId") Long exerciseId, @Param("score") int score);
+
+}
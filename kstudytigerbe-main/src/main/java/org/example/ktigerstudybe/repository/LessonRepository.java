@@ -2,9 +2,13 @@ package org.example.ktigerstudybe.repository;
 
 import org.example.ktigerstudybe.model.Lesson;
 import org.example.ktigerstudybe.model.UserProgress;
+import org.example.ktigerstudybe.repository.projection.LessonOrderRow;
+import org.example.ktigerstudybe.repository.projection.LessonProgressRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -21,4 +25,26 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
     Page<Lesson> findByLessonNameContainingIgnoreCase(
             String lessonName, Pageable pageable);
 
-}
\ No newline at end of file
+    // Bài học của một level kèm cờ hoàn thành của người học, chỉ join tiến độ của level đó
+    @Query("""
+      SELECT l.lessonId          AS lessonId,
+             l.lessonName        AS lessonName,
+             l.lessonDescription AS lessonDescription,
+             MAX(CASE WHEN p.isLessonCompleted = true THEN 1 ELSE 0 END) AS completed
+      FROM Lesson l
+      LEFT JOIN UserProgress p ON p.lesson = l AND p.user.userId = :userId
+      WHERE l.level.levelId = :levelId
+      GROUP BY l.lessonId, l.lessonName, l.lessonDescription
+      ORDER BY l.lessonId
+    """)
+    List<LessonProgressRow> findLessonProgressByLevel(@Param("levelId") Long levelId,
+                                                      @Param("userId") Long userId);
+
+    @Query("""
+      SELECT l.lessonId AS lessonId, lv.levelId AS levelId
+      FROM Lesson l LEFT JOIN l.level lv
+      ORDER BY lv.levelId, l.lessonId
+    """)
+    List<LessonOrderRow> findAllLessonOrder();
+
+}
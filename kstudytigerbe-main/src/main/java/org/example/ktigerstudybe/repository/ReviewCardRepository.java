@@ -0,0 +1,61 @@
+package org.example.ktigerstudybe.repository;
+
+import org.example.ktigerstudybe.model.ReviewCard;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReviewCardRepository extends JpaRepository<ReviewCard, Long> {
+
+    // Thẻ còn nội dung: tra theo khoá chính của bảng tương ứng với CardType
+    String HAS_CONTENT = """
+      ((c.cardType = 'VOCABULARY'
+          AND EXISTS (SELECT v.vocabId FROM VocabularyTheory v WHERE v.vocabId = c.itemId))
+        OR (c.cardType <> 'VOCABULARY'
+          AND EXISTS (SELECT i.wordId FROM DocumentItem i WHERE i.wordId = c.itemId)))
+    """;
+
+    // Quét theo chỉ mục (UserID, DueAt), dừng sau pageable.pageSize dòng.
+    // Thẻ mồ côi (từ đã bị xoá) bị loại bằng EXISTS theo khoá chính, nếu không chúng chiếm chỗ
+    // đầu hàng đợi mãi mãi vì không bao giờ được ôn để dời hạn.
+    @Query("""
+      SELECT c FROM ReviewCard c
+      WHERE c.userId = :userId AND c.dueAt <= :now
+        AND """ + HAS_CONTENT + """
+      ORDER BY c.dueAt, c.cardId
+    """)
+    List<ReviewCard> findDue(@Param("userId") Long userId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM ReviewCard c WHERE c.userId = :userId AND c.dueAt <= :now AND " + HAS_CONTENT)
+    long countDue(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    List<ReviewCard> findByUserIdAndCardIdIn(Long userId, Collection<Long> cardIds);
+
+    // Thêm thẻ cho mọi từ của một deck, đến hạn ngay; bỏ qua thẻ đã có
+    @Modifying
+    @Query(value = """
+      INSERT IGNORE INTO review_card
+        (userid, card_type, itemid, ease_factor, interval_days, repetitions, lapses, due_at)
+      SELECT :userId, 'DOCUMENT_ITEM', i.wordid, 2.5, 0, 0, 0, :now
+      FROM document_item i
+      WHERE i.listid = :listId
+    """, nativeQuery = true)
+    int enrollDocumentList(@Param("userId") Long userId, @Param("listId") Long listId, @Param("now") LocalDateTime now);
+
+    // Thêm thẻ cho từ vựng của một bài học
+    @Modifying
+    @Query(value = """
+      INSERT IGNORE INTO review_card
+        (userid, card_type, itemid, ease_factor, interval_days, repetitions, lapses, due_at)
+      SELECT :userId, 'VOCABULARY', v.vocabid, 2.5, 0, 0, 0, :now
+      FROM vocabularytheory v
+      WHERE v.lessonid = :lessonId
+    """, nativeQuery = true)
+    int enrollLessonVocabulary(@Param("userId") Long userId, @Param("lessonId") Long lessonId, @Param("now") LocalDateTime now);
+}
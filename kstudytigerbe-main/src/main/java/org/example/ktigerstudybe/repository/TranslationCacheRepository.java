@@ -0,0 +1,10 @@
+package org.example.ktigerstudybe.repository;
+
+import org.example.ktigerstudybe.model.TranslationCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface TranslationCacheRepository extends JpaRepository<TranslationCacheEntry, Long> {
+    Optional<TranslationCacheEntry> findBySourceHash(String sourceHash);
+}
@@ -2,10 +2,48 @@ package org.example.ktigerstudybe.repository;
 
 
 import org.example.ktigerstudybe.model.UserExerciseResult;
+import org.example.ktigerstudybe.repository.projection.ExerciseResultRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface UserExerciseResultRepository extends JpaRepository<UserExerciseResult, Long> {
     List<UserExerciseResult> findByUser_UserId(Long userId);
-    UserExerciseResult findByUser_UserIdAndExercise_ExerciseId(Long userId, Long exerciseId);
-}
\ No newline at end of file
+
+    @Query("""
+      SELECT r.resultId AS resultId, r.user.userId AS userId, r.exercise.exerciseId AS exerciseId,
+             r.score AS score, r.dateComplete AS dateComplete
+      FROM UserExerciseResult r
+      WHERE r.user.userId = :userId
+      ORDER BY r.dateComplete DESC, r.resultId DESC
+    """)
+    List<ExerciseResultRow> findRowsByUserId(@Param("userId") Long userId);
+
+    // Lịch sử làm bài, mới nhất trước
+    @Query(value = """
+      SELECT r.resultId AS resultId, r.user.userId AS userId, r.exercise.exerciseId AS exerciseId,
+             r.score AS score, r.dateComplete AS dateComplete
+      FROM UserExerciseResult r
+      WHERE r.user.userId = :userId
+      ORDER BY r.dateComplete DESC, r.resultId DESC
+    """, countQuery = "SELECT COUNT(r) FROM UserExerciseResult r WHERE r.user.userId = :userId")
+    Page<ExerciseResultRow> findHistoryByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = """
+      SELECT r.resultId AS resultId, r.user.userId AS userId, r.exercise.exerciseId AS exerciseId,
+             r.score AS score, r.dateComplete AS dateComplete
+      FROM UserExerciseResult r
+      WHERE r.user.userId = :userId AND r.exercise.exerciseId = :exerciseId
+      ORDER BY r.dateComplete DESC, r.resultId DESC
+    """, countQuery = """
+      SELECT COUNT(r) FROM UserExerciseResult r
+      WHERE r.user.userId = :userId AND r.exercise.exerciseId = :exerciseId
+    """)
+    Page<ExerciseResultRow> findHistoryByUserIdAndExerciseId(@Param("userId") Long userId,
+                                                            @Param("exerciseId") Long exerciseId,
+                                                            Pageable pageable);
+}
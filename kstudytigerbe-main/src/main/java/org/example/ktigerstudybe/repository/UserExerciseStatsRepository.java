@@ -0,0 +1,39 @@
+package org.example.ktigerstudybe.repository;
+
+import org.example.ktigerstudybe.model.UserExerciseStats;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface UserExerciseStatsRepository extends JpaRepository<UserExerciseStats, Long> {
+
+    Optional<UserExerciseStats> findByUserIdAndExerciseId(Long userId, Long exerciseId);
+
+    Page<UserExerciseStats> findByUserId(Long userId, Pageable pageable);
+
+    // Ghi nhận một lần làm bài: tạo dòng tổng hợp hoặc cộng dồn trong một câu lệnh.
+    // Lần làm cũ hơn (commit sau, hoặc client gửi dateComplete cũ) không ghi đè điểm/thời điểm lần cuối;
+    // last_score phải đứng trước last_attempt_at vì MySQL gán lần lượt và vế sau thấy giá trị mới.
+    @Modifying
+    @Query(value = """
+      INSERT INTO user_exercise_stats (userid, exerciseid, best_score, last_score, attempt_count, last_attempt_at)
+      VALUES (:userId, :exerciseId, :score, :score, 1, :attemptAt)
+      ON DUPLICATE KEY UPDATE
+        best_score = GREATEST(best_score, VALUES(best_score)),
+        last_score = CASE WHEN last_attempt_at IS NULL OR last_attempt_at <= VALUES(last_attempt_at)
+                          THEN VALUES(last_score) ELSE last_score END,
+        attempt_count = attempt_count + 1,
+        last_attempt_at = CASE WHEN last_attempt_at IS NULL OR last_attempt_at <= VALUES(last_attempt_at)
+                               THEN VALUES(last_attempt_at) ELSE last_attempt_at END
+    """, nativeQuery = true)
+    int recordAttempt(@Param("userId") Long userId,
+                      @Param("exerciseId") Long exerciseId,
+                      @Param("score") int score,
+                      @Param("attemptAt") LocalDateTime attemptAt);
+}
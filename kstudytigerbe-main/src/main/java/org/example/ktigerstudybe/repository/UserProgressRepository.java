@@ -4,6 +4,7 @@ import org.example.ktigerstudybe.model.UserProgress;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -15,4 +16,29 @@ public interface UserProgressRepository extends JpaRepository<UserProgress, Long
     boolean existsByUser_UserIdAndLesson_LessonId(Long userId, Long lessonId);
     List<UserProgress> findByUser_UserId(Long userUserId);
 
+    // Đánh dấu hoàn thành nếu đã có dòng tiến độ chưa hoàn thành; 1 = lần đầu hoàn thành
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+      UPDATE user_progress
+         SET is_lesson_completed = true, last_accessed = CURRENT_TIMESTAMP
+       WHERE userid = :userId AND lessonid = :lessonId
+         AND (is_lesson_completed IS NULL OR is_lesson_completed = false)
+    """, nativeQuery = true)
+    int markCompleted(@Param("userId") Long userId, @Param("lessonId") Long lessonId);
+
+    // Tạo dòng tiến độ nếu chưa có (dựa vào khoá duy nhất UserID + LessonID); 1 = đã tạo
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+      INSERT IGNORE INTO user_progress (userid, lessonid, is_lesson_completed, last_accessed)
+      VALUES (:userId, :lessonId, :completed, CASE WHEN :completed THEN CURRENT_TIMESTAMP END)
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("lessonId") Long lessonId,
+                       @Param("completed") boolean completed);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE user_progress SET last_accessed = CURRENT_TIMESTAMP WHERE userid = :userId AND lessonid = :lessonId",
+            nativeQuery = true)
+    int touch(@Param("userId") Long userId, @Param("lessonId") Long lessonId);
+
 }
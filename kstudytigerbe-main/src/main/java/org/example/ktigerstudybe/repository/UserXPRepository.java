@@ -2,8 +2,11 @@ package org.example.ktigerstudybe.repository;
 
 
 import org.example.ktigerstudybe.model.UserXP;
+import org.example.ktigerstudybe.repository.projection.LeaderboardRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +15,42 @@ public interface UserXPRepository extends JpaRepository<UserXP, Long> {
     Optional<UserXP> findByUser_UserId(Long userId);
     @Query("SELECT u FROM UserXP u JOIN FETCH u.user ORDER BY u.totalXP DESC")
     List<UserXP> findAllWithUserOrderedByXP();
+
+    @Query("""
+      SELECT x.user.userId   AS userId,
+             x.user.fullName AS fullName,
+             x.currentTitle  AS currentTitle,
+             x.currentBadge  AS currentBadge,
+             x.totalXP       AS totalXP
+        FROM UserXP x
+    """)
+    List<LeaderboardRow> findAllLeaderboardRows();
+
+    // Cộng XP nguyên tử trong DB, không đọc-sửa-ghi ở Java nên không mất XP khi cộng đồng thời
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE userxp SET totalxp = totalxp + :xp WHERE userid = :userId", nativeQuery = true)
+    int incrementTotalXP(@Param("userId") Long userId, @Param("xp") int xp);
+
+    // Tạo dòng userxp rỗng cho user lần đầu nhận XP (bỏ qua nếu request khác đã tạo)
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+      INSERT IGNORE INTO userxp (userid, totalxp, level_number, current_title, current_badge)
+      VALUES (:userId, 0, :levelNumber, :title, :badge)
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("levelNumber") int levelNumber,
+                       @Param("title") String title,
+                       @Param("badge") String badge);
+
+    // Chỉ nâng level, không bao giờ hạ (request chậm hơn không ghi đè level cao hơn)
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+      UPDATE userxp
+         SET level_number = :levelNumber, current_title = :title, current_badge = :badge
+       WHERE userid = :userId AND (level_number IS NULL OR level_number < :levelNumber)
+    """, nativeQuery = true)
+    int raiseLevel(@Param("userId") Long userId,
+                   @Param("levelNumber") int levelNumber,
+                   @Param("title") String title,
+                   @Param("badge") String badge);
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package org.example.ktigerstudybe.repository;
 
 import org.example.ktigerstudybe.model.VocabularyTheory;
+import org.example.ktigerstudybe.repository.projection.CardContentRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface VocabularyTheoryRepository extends JpaRepository<VocabularyTheory, Long> {
@@ -18,4 +20,14 @@ public interface VocabularyTheoryRepository extends JpaRepository<VocabularyTheo
     //admin
     Page<VocabularyTheory> findByLesson_LessonIdAndWordContainingIgnoreCaseOrMeaningContainingIgnoreCase(
             Long lessonId, String wordKeyword, String meaningKeyword, Pageable pageable
-    );}
+    );
+
+    // Nội dung thẻ ôn tập theo danh sách VocabID (không tải Lesson)
+    @Query("""
+      SELECT v.vocabId AS itemId, v.word AS word, v.meaning AS meaning,
+             v.example AS example, v.image AS image
+      FROM VocabularyTheory v
+      WHERE v.vocabId IN :ids
+    """)
+    List<CardContentRow> findCardContent(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,23 @@
+package org.example.ktigerstudybe.repository;
+
+import org.example.ktigerstudybe.model.XpLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface XpLedgerRepository extends JpaRepository<XpLedgerEntry, Long> {
+
+    /**
+     * Ghi một phần thưởng XP; trả về 0 nếu (userId, source, sourceId) đã có trong sổ cái.
+     */
+    @Modifying
+    @Query(value = """
+      INSERT IGNORE INTO xp_ledger (userid, source, sourceid, xp, created_at)
+      VALUES (:userId, :source, :sourceId, :xp, CURRENT_TIMESTAMP)
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("source") String source,
+                       @Param("sourceId") String sourceId,
+                       @Param("xp") int xp);
+}
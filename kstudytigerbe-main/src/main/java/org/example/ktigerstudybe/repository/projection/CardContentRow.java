@@ -0,0 +1,12 @@
+package org.example.ktigerstudybe.repository.projection;
+
+/**
+ * Nội dung hiển thị của một thẻ ôn tập (từ DocumentItem hoặc VocabularyTheory).
+ */
+public interface CardContentRow {
+    Long getItemId();
+    String getWord();
+    String getMeaning();
+    String getExample();
+    String getImage();
+}
@@ -0,0 +1,18 @@
+package org.example.ktigerstudybe.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection một dòng document_list kèm thông tin tác giả, đọc trong một câu SQL.
+ */
+public interface DocumentListSummary {
+    Long getListId();
+    Long getUserId();
+    String getFullName();
+    String getAvatarImage();
+    String getTitle();
+    String getDescription();
+    String getType();
+    LocalDateTime getCreatedAt();
+    Integer getIsPublic();
+}
@@ -0,0 +1,14 @@
+package org.example.ktigerstudybe.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Một lần làm bài tập, chỉ gồm khoá ngoại (không tải User/Exercise).
+ */
+public interface ExerciseResultRow {
+    Long getResultId();
+    Long getUserId();
+    Long getExerciseId();
+    Integer getScore();
+    LocalDateTime getDateComplete();
+}
@@ -0,0 +1,12 @@
+package org.example.ktigerstudybe.repository.projection;
+
+/**
+ * Một dòng bảng xếp hạng: XP hiện tại kèm tên người học, đọc khi dựng lại bảng xếp hạng.
+ */
+public interface LeaderboardRow {
+    Long getUserId();
+    String getFullName();
+    String getCurrentTitle();
+    String getCurrentBadge();
+    Integer getTotalXP();
+}
@@ -0,0 +1,9 @@
+package org.example.ktigerstudybe.repository.projection;
+
+/**
+ * Cặp (bài học, level) dùng để dựng thứ tự bài học theo level.
+ */
+public interface LessonOrderRow {
+    Long getLessonId();
+    Long getLevelId();
+}
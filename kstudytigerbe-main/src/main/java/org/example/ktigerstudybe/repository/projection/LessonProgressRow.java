@@ -0,0 +1,12 @@
+package org.example.ktigerstudybe.repository.projection;
+
+/**
+ * Một bài học trong level kèm trạng thái hoàn thành của một người học
+ * (completed = 1 nếu đã hoàn thành, 0 nếu chưa hoặc chưa có tiến độ).
+ */
+public interface LessonProgressRow {
+    Long getLessonId();
+    String getLessonName();
+    String getLessonDescription();
+    Integer getCompleted();
+}
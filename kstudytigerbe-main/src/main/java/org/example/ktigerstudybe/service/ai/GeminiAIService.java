@@ -1,38 +1,62 @@
 package org.example.ktigerstudybe.service.ai;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import org.example.ktigerstudybe.model.ChatMessage;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 @Service
 public class GeminiAIService {
 
     private static final Logger logger = LoggerFactory.getLogger(GeminiAIService.class);
 
+    private static final Pattern PARENTHESIZED = Pattern.compile("\\([^)]*\\)");
+    private static final Pattern BRACKETED = Pattern.compile("\\[[^]]*\\]");
+
     @Value("${gemini.api.key}")
     private String geminiApiKey;
 
     @Value("${gemini.api.url:https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash:generateContent}")
     private String geminiApiUrl;
 
+    @Value("${gemini.api.stream-url:}")
+    private String geminiStreamUrl;
+
     @Value("${gemini.api.mock:false}")
     private boolean useMockResponse;
 
-    private final RestTemplate restTemplate;
+    private final GeminiHttpClient geminiHttpClient;
+    private final TranslationCache translationCache;
+    private final KoreanPromptBuilder promptBuilder;
+    private final ObjectMapper objectMapper;
+    private final GeminiMetrics metrics;
     private final Random random = new Random();
 
-    public GeminiAIService() {
-        this.restTemplate = new RestTemplate();
+    public GeminiAIService(GeminiHttpClient geminiHttpClient, TranslationCache translationCache,
+                           KoreanPromptBuilder promptBuilder, ObjectMapper objectMapper, GeminiMetrics metrics) {
+        this.geminiHttpClient = geminiHttpClient;
+        this.translationCache = translationCache;
+        this.promptBuilder = promptBuilder;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
     }
 
-    public String generateKoreanResponse(String userMessage, String scenario, String difficulty) {
+    /**
+     * @param history các tin nhắn trước đó trong cuộc hội thoại, mới nhất trước
+     */
+    public String generateKoreanResponse(String userMessage, String scenario, String difficulty,
+                                         List<ChatMessage> history) {
         if (useMockResponse) {
             logger.info("Using mock response for scenario: {}, difficulty: {}, message: {}",
                     scenario, difficulty, userMessage);
@@ -40,33 +64,14 @@ public class GeminiAIService {
         }
 
         try {
-            String prompt = buildKoreanPrompt(userMessage, scenario, difficulty);
-            logger.info("Calling Gemini API with prompt length: {}", prompt.length());
-
-            Map<String, Object> requestBody = Map.of(
-                    "contents", List.of(
-                            Map.of("parts", List.of(
-                                    Map.of("text", prompt)
-                            ))
-                    ),
-                    "generationConfig", Map.of(
-                            "temperature", 0.8,
-                            "maxOutputTokens", 150,
-                            "topP", 0.9,
-                            "topK", 40
-                    )
-            );
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+            String prompt = promptBuilder.build(userMessage, scenario, difficulty, history);
+            logger.debug("Calling Gemini API with prompt length: {}", prompt.length());
 
             String url = geminiApiUrl + "?key=" + geminiApiKey;
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, entity, Map.class);
+            ResponseEntity<Map> response = post(url, buildGenerationBody(prompt), GeminiMetrics.CHAT, scenario, difficulty);
 
             String result = extractResponseText(response.getBody());
-            logger.info("Gemini API response: {}", result);
+            logger.debug("Gemini API response: {}", result);
             return result;
 
         } catch (Exception e) {
@@ -76,158 +81,132 @@ public class GeminiAIService {
         }
     }
 
-    private String buildKoreanPrompt(String userMessage, String scenario, String difficulty) {
-        String rolePrompt = switch (scenario) {
-            case "restaurant" ->
-                    "Bạn là Min-jun (민준), 25 tuổi, nhân viên nhà hàng Hàn Quốc vui vẻ và am hiểu về đồ ăn. " +
-                            "Bạn rất thích giới thiệu món ăn ngon và luôn hỏi thêm về sở thích của khách để tư vấn phù hợp. " +
-                            "Bạn biết rõ về vị, cách chế biến, giá cả và có thể so sánh các món ăn. ";
-
-            case "shopping" ->
-                    "Bạn là So-young (소영), 23 tuổi, nhân viên bán hàng thời trang nhiệt tình. " +
-                            "Bạn hiểu rõ về sản phẩm, style, và luôn tư vấn tận tình để khách hàng hài lòng. " +
-                            "Bạn có thể mô tả chi tiết về chất liệu, màu sắc, cách phối đồ. ";
-
-            case "direction" ->
-                    "Bạn là Hyun-woo (현우), 28 tuổi, sinh viên Seoul rất quen thuộc với địa điểm trong thành phố. " +
-                            "Bạn thích giúp đỡ du khách và luôn đưa ra hướng dẫn chi tiết, dễ hiểu. " +
-                            "Bạn biết về giao thông, thời gian di chuyển và các landmark nổi tiếng. ";
-
-            case "introduction" ->
-                    "Bạn là Ji-hye (지혜), 24 tuổi, sinh viên đại học Seoul thân thiện và cởi mở. " +
-                            "Bạn thích làm quen với bạn bè quốc tế và luôn tò mò về văn hóa của người khác. " +
-                            "Bạn hay chia sẻ về cuộc sống, sở thích và hỏi thăm về đối phương. ";
-
-            case "daily" ->
-                    "Bạn là Tae-min (태민), 26 tuổi, bạn thân của họ đã quen biết 2 năm. " +
-                            "Bạn hay nói chuyện về cuộc sống hàng ngày, công việc, thời tiết, phim ảnh, âm nhạc. " +
-                            "Bạn rất thoải mái và thân thiết, thường dùng ngôn ngữ thân mật. ";
-
-            default -> "Bạn là một người Hàn Quốc thân thiện 25 tuổi. ";
-        };
-
-        String personalityPrompt = switch (scenario) {
-            case "restaurant" ->
-                    "Tính cách: Nhiệt tình, am hiểu ẩm thực, thích mô tả chi tiết về món ăn. " +
-                            "Luôn hỏi thêm về khẩu vị (매운 맛, 담백한 맛, 달콤한 맛) để tư vấn phù hợp. " +
-                            "Thích kể về nguồn gốc món ăn và cách ăn ngon nhất. ";
-
-            case "shopping" ->
-                    "Tính cách: Thời trang, tỉ mỉ, thích tư vấn style. " +
-                            "Luôn hỏi về dịp mặc, sở thích màu sắc, và budget để gợi ý phù hợp. " +
-                            "Thích so sánh sản phẩm và giải thích lý do chọn. ";
-
-            case "direction" ->
-                    "Tính cách: Nhiệt tình giúp đỡ, rất quen địa bàn Seoul. " +
-                            "Luôn đưa ra ít nhất 2 cách đi và cho biết thời gian, chi phí. " +
-                            "Thích gợi ý thêm địa điểm hay gần đó. ";
-
-            case "introduction" ->
-                    "Tính cách: Tò mò, thân thiện, thích tìm hiểu về văn hóa khác. " +
-                            "Luôn hỏi đáp lại và chia sẻ về bản thân. " +
-                            "Thích hỏi về ấn tượng đầu tiên về Hàn Quốc. ";
-
-            case "daily" ->
-                    "Tính cách: Thoải mái, hay trêu đùa nhẹ nhàng, quan tâm bạn bè. " +
-                            "Thích chia sẻ về chuyện hàng ngày và hỏi ý kiến. " +
-                            "Hay dùng từ ngữ thân mật như 야, 진짜, 대박. ";
-
-            default -> "Tính cách: Thân thiện và nhiệt tình. ";
-        };
+    /**
+     * Giống {@link #generateKoreanResponse} nhưng dùng streamGenerateContent:
+     * từng đoạn text được đẩy cho {@code onToken} ngay khi Gemini sinh ra.
+     * Trả về toàn bộ câu trả lời đã làm sạch để lưu vào DB.
+     */
+    public String streamKoreanResponse(String userMessage, String scenario, String difficulty,
+                                       List<ChatMessage> history, Consumer<String> onToken) {
+        if (useMockResponse) {
+            return streamMockResponse(getMockResponse(userMessage, scenario, difficulty), onToken);
+        }
 
-        String difficultyPrompt = switch (difficulty) {
-            case "beginner" ->
-                    "Ngôn ngữ: Dùng từ vựng cơ bản, câu ngắn 1-2 câu. " +
-                            "Thi thoảng thêm romanization cho từ khó: 안녕하세요 (annyeonghaseyo). " +
-                            "Nói chậm rãi, rõ ràng, dễ hiểu. ";
+        StringBuilder full = new StringBuilder();
+        // usageMetadata của event cuối là tổng số token của cả câu trả lời
+        Object[] usage = new Object[1];
+        Timer.Sample sample = null;
+        try {
+            String prompt = promptBuilder.build(userMessage, scenario, difficulty, history);
+            String url = resolveStreamUrl() + "?alt=sse&key=" + geminiApiKey;
+            sample = metrics.start();
+            geminiHttpClient.postJsonStream(url, buildGenerationBody(prompt), data -> {
+                Map<String, Object> event = parseEvent(data);
+                if (event == null) return;
+                if (event.get("usageMetadata") != null) usage[0] = event.get("usageMetadata");
+                String chunk = extractChunkText(event);
+                if (chunk != null && !chunk.isEmpty()) {
+                    full.append(chunk);
+                    onToken.accept(chunk);
+                }
+            });
+            metrics.stop(sample, GeminiMetrics.STREAM, scenario, difficulty, null);
+            metrics.recordUsage(usage[0], GeminiMetrics.STREAM, scenario, difficulty);
+        } catch (Exception e) {
+            if (sample != null) metrics.stop(sample, GeminiMetrics.STREAM, scenario, difficulty, e);
+            logger.error("Gemini stream error: {}", e.getMessage(), e);
+            if (full.length() == 0) {
+                logger.info("Falling back to mock response");
+                return streamMockResponse(getMockResponse(userMessage, scenario, difficulty), onToken);
+            }
+        }
+        return cleanResponse(full.length() == 0 ? null : full.toString());
+    }
 
-            case "intermediate" ->
-                    "Ngôn ngữ: Dùng từ vựng thông dụng, câu trung bình 2-3 câu. " +
-                            "Đôi khi dùng ngữ pháp vừa phải, giải thích nghĩa nếu cần. " +
-                            "Tự nhiên nhưng không quá khó. ";
+    private String resolveStreamUrl() {
+        if (geminiStreamUrl != null && !geminiStreamUrl.isBlank()) {
+            return geminiStreamUrl;
+        }
+        return geminiApiUrl.replace(":generateContent", ":streamGenerateContent");
+    }
 
-            case "advanced" ->
-                    "Ngôn ngữ: Tiếng Hàn tự nhiên như người bản địa. " +
-                            "Có thể dùng slang trẻ, thành ngữ, cách nói địa phương Seoul. " +
-                            "Nói nhanh và tự nhiên như bạn bè thật. ";
+    private Map<String, Object> buildGenerationBody(String prompt) {
+        return Map.of(
+                "contents", List.of(
+                        Map.of("parts", List.of(
+                                Map.of("text", prompt)
+                        ))
+                ),
+                "generationConfig", Map.of(
+                        "temperature", 0.8,
+                        "maxOutputTokens", 150,
+                        "topP", 0.9,
+                        "topK", 40
+                )
+        );
+    }
 
-            default -> "Ngôn ngữ: Vừa phải, tự nhiên. ";
-        };
+    /**
+     * Gọi Gemini (không stream) và ghi thời gian, kết quả, số token vào {@link GeminiMetrics}.
+     */
+    @SuppressWarnings("rawtypes")
+    private ResponseEntity<Map> post(String url, Map<String, Object> body, String operation,
+                                     String scenario, String difficulty) {
+        Timer.Sample sample = metrics.start();
+        ResponseEntity<Map> response;
+        try {
+            response = geminiHttpClient.postJson(url, body);
+        } catch (RuntimeException e) {
+            metrics.stop(sample, operation, scenario, difficulty, e);
+            throw e;
+        }
+        metrics.stop(sample, operation, scenario, difficulty, null);
+        if (response.getBody() != null) {
+            metrics.recordUsage(response.getBody().get("usageMetadata"), operation, scenario, difficulty);
+        }
+        return response;
+    }
 
-        String contextPrompt = switch (scenario) {
-            case "restaurant" ->
-                    "Bối cảnh: Nhà hàng Hàn Quốc truyền thống ở Myeongdong, Seoul. " +
-                            "Menu có: 김치찌개 (8,000원), 불고기 (15,000원), 비빔밥 (9,000원), " +
-                            "삼겹살 (12,000원), 제육볶음 (10,000원), 냉면 (8,000원), 순두부찌개 (7,000원). " +
-                            "Đang là giờ ăn trưa, nhà hàng khá đông. ";
-
-            case "shopping" ->
-                    "Bối cảnh: Cửa hàng thời trang ở Hongdae, Seoul. " +
-                            "Có quần áo casual, formal, phụ kiện. Đang có sale 20-30%. " +
-                            "Size từ XS đến XL, nhiều màu sắc trendy. ";
-
-            case "direction" ->
-                    "Bối cảnh: Ga tàu điện Gangnam, Seoul vào buổi chiều. " +
-                            "Có subway, bus, taxi. Traffic hơi đông. " +
-                            "Nhiều landmark nổi tiếng gần đó. ";
-
-            case "introduction" ->
-                    "Bối cảnh: Café ở Hongdae vào cuối tuần. " +
-                            "Không khí thoải mái, nhiều bạn trẻ. " +
-                            "Đang uống coffee và trò chuyện làm quen. ";
-
-            case "daily" ->
-                    "Bối cảnh: Cuối tuần ở Seoul, thời tiết đẹp. " +
-                            "Đang nhắn tin qua KakaoTalk hoặc gặp mặt tại café. " +
-                            "Tâm trạng thoải mái, muốn chia sẻ và tám chuyện. ";
-
-            default -> "Bối cảnh: Đang ở Seoul, Hàn Quốc. ";
-        };
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parseEvent(String data) {
+        try {
+            return objectMapper.readValue(data, Map.class);
+        } catch (Exception e) {
+            logger.warn("Skipping unparsable stream event: {}", e.getMessage());
+            return null;
+        }
+    }
 
-        String responseRules =
-                "QUY TẮC TRẢ LỜI: " +
-                        "1. CHỈ trả lời bằng tiếng Hàn, KHÔNG dịch, KHÔNG giải thích. " +
-                        "2. Trả lời 2-4 câu tiếng Hàn, tự nhiên như người thật. " +
-                        "3. Thể hiện tính cách và cảm xúc rõ ràng. " +
-                        "4. Hỏi lại hoặc gợi ý để tiếp tục cuộc trò chuyện. " +
-                        "5. Dùng emoji phù hợp (😊, 😄, 🤔, 👍) nhưng không quá nhiều. " +
-                        "6. Phản ứng cụ thể với nội dung tin nhắn của người dùng. " +
-                        "7. Đưa ra thông tin chi tiết, hữu ích trong ngữ cảnh. "+
-                        "8. LUÔN sử dụng dấu câu rõ ràng cho từng câu: dấu chấm (.), dấu hỏi (?), dấu cảm thán (!) ở cuối câu phù hợp. Không được bỏ dấu câu.";
-                        String examplePrompt = switch (scenario) {
-            case "restaurant" ->
-                    "\nVÍ DỤ CÁCH TRẢ LỜI:\n" +
-                            "User: 메뉴 추천해 주세요\n" +
-                            "AI: 오늘 김치찌개가 정말 맛있어요! 김치가 잘 익어서 국물이 깊고 시원해요. 매운 거 좋아하세요? 아니면 순한 제육볶음도 인기 많아요! 🍽️\n\n" +
-                            "User: 너무 싱거워요\n" +
-                            "AI: 아, 그러시구나! 그럼 매콤한 걸로 바꿔드릴게요. 김치찌개나 부대찌개 어떠세요? 아니면 양념이 진한 불고기도 맛있어요! 어떤 맛 선호하세요? 🌶️";
-
-            case "shopping" ->
-                    "\nVÍ DỤ CÁCH TRẢ LỜI:\n" +
-                            "User: 이거 얼마예요?\n" +
-                            "AI: 이 셔츠요? 원래 5만원인데 지금 30% 할인해서 3만 5천원이에요! 면 100%라서 착용감이 정말 좋아요. 사이즈 몇 찾으세요? 👕";
-
-            case "direction" ->
-                    "\nVÍ DỤ CÁCH TRẢ LỜI:\n" +
-                            "User: 명동 어떻게 가요?\n" +
-                            "AI: 여기서 명동까지는 지하철이 제일 빨라요! 2호선 타고 을지로입구에서 4호선으로 갈아타시면 돼요. 약 20분 걸려요. 아니면 택시로 15분? 지금 교통이 좀 막혀서 지하철 추천해요! 🚇";
-
-            case "introduction" ->
-                    "\nVÍ DỤ CÁCH TRẢ LỜI:\n" +
-                            "User: 안녕하세요!\n" +
-                            "AI: 안녕하세요! 처음 뵙겠습니다 😊 저는 지혜라고 해요. 이름이 뭐예요? 한국 처음이세요?";
-
-            case "daily" ->
-                    "\nVÍ DỤ CÁCH TRẢ LỜI:\n" +
-                            "User: 오늘 뭐 해?\n" +
-                            "AI: 야! 오늘 카페에서 공부하고 있어 😅 너무 심심해 죽겠다. 너는 뭐 해? 날씨 좋은데 같이 한강 갈래?";
-
-            default -> "";
-        };
+    // Lấy text của một event trong stream (không làm sạch, vì câu có thể chưa trọn)
+    @SuppressWarnings("unchecked")
+    private String extractChunkText(Map<String, Object> event) {
+        try {
+            List<Map<String, Object>> candidates = (List<Map<String, Object>>) event.get("candidates");
+            if (candidates == null || candidates.isEmpty()) return null;
+            Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
+            if (content == null) return null;
+            List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
+            if (parts == null || parts.isEmpty()) return null;
+            return (String) parts.get(0).get("text");
+        } catch (ClassCastException e) {
+            logger.warn("Skipping unexpected stream event: {}", e.getMessage());
+            return null;
+        }
+    }
 
-        return rolePrompt + personalityPrompt + difficultyPrompt + contextPrompt + responseRules + examplePrompt +
-                "\n\n현재 상황에서 사용자가 말했습니다: \"" + userMessage + "\"" +
-                "\n당신의 자연스러운 응답 (tiếng Hàn only):";
+    // Mock: đẩy từng từ để client thấy hiệu ứng stream giống thật
+    private String streamMockResponse(String response, Consumer<String> onToken) {
+        String[] words = response.split("(?<= )");
+        for (String word : words) {
+            onToken.accept(word);
+            try {
+                Thread.sleep(40);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return response;
     }
 
     private String extractResponseText(Map<String, Object> responseBody) {
@@ -255,6 +234,12 @@ public class GeminiAIService {
 
     // [CHANGED] Thêm hàm dịch sang tiếng Việt
     public String translateToVietnamese(String koreanText) {
+        // Câu ngắn lặp lại nhiều (chào hỏi, gọi món...) lấy từ cache, không gọi Gemini
+        Optional<String> cached = translationCache.get(koreanText);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
         try {
             // Prompt yêu cầu dịch sang tiếng Việt tự nhiên
             String prompt = "Hãy dịch câu sau sang tiếng Việt tự nhiên, không thêm giải thích:\n" + koreanText;
@@ -271,15 +256,15 @@ public class GeminiAIService {
                     )
             );
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
             String url = geminiApiUrl + "?key=" + geminiApiKey;
 
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, entity, Map.class);
+            ResponseEntity<Map> response = post(url, requestBody, GeminiMetrics.TRANSLATE, null, null);
             String result = extractResponseText(response.getBody());
-            logger.info("Gemini Translate result: {}", result);
+            logger.debug("Gemini Translate result: {}", result);
+            // Câu trả lời lỗi/fallback vẫn là tiếng Hàn: không đưa vào cache
+            if (!containsKorean(result)) {
+                translationCache.put(koreanText, result);
+            }
             return result;
         } catch (Exception e) {
             logger.error("Gemini Translate Error: {}", e.getMessage(), e);
@@ -291,21 +276,36 @@ public class GeminiAIService {
 
 
 
+    /**
+     * Thống kê HTTP client gọi Gemini (pool kết nối, số request đang chạy), cache bản dịch và kích thước prompt.
+     */
+    public Map<String, Object> getClientStats() {
+        return Map.of(
+                "http", geminiHttpClient.getStats(),
+                "translationCache", translationCache.getStats(),
+                "prompt", promptBuilder.getStats()
+        );
+    }
+
     // giữ dấu câu và không xóa quá nhiều
-    private String cleanResponse(String response) {
+    static String cleanResponse(String response) {
         if (response == null) return "네, 알겠어요!";
         // Chỉ loại bỏ phần giải thích không cần thiết, giữ lại dấu chấm, dấu hỏi, dấu cảm
-        String cleaned = response
-                .replaceAll("\\([^)]*\\)", "")  // xóa (phần giải thích)
-                .replaceAll("\\[[^]]*\\]", "")  // xóa [phần giải thích]
-                .replaceAll("^AI:", "")         // xóa tiền tố AI:
-                .replaceAll("^User:", "")       // xóa tiền tố User:
-                .trim();
-        return cleaned.isEmpty() ? "네!" : cleaned.trim();
+        String cleaned = PARENTHESIZED.matcher(response).replaceAll("");  // xóa (phần giải thích)
+        cleaned = BRACKETED.matcher(cleaned).replaceAll("");              // xóa [phần giải thích]
+        if (cleaned.startsWith("AI:")) cleaned = cleaned.substring(3);    // xóa tiền tố AI:
+        if (cleaned.startsWith("User:")) cleaned = cleaned.substring(5);  // xóa tiền tố User:
+        cleaned = cleaned.trim();
+        return cleaned.isEmpty() ? "네!" : cleaned;
     }
 
-    private boolean containsKorean(String text) {
-        return text.matches(".*[가-힣].*");
+    // Có ít nhất một âm tiết Hangul (가-힣), kể cả khi câu có xuống dòng
+    static boolean containsKorean(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '가' && c <= '힣') return true;
+        }
+        return false;
     }
 
     private String getMockResponse(String userMessage, String scenario, String difficulty) {
@@ -0,0 +1,190 @@
+package org.example.ktigerstudybe.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * HTTP client dùng riêng cho Gemini API.
+ * Giữ một pool kết nối keep-alive, áp timeout cho từng lần gọi và giới hạn số request
+ * đồng thời để một upstream chậm không giữ hết worker thread của Tomcat.
+ */
+@Component
+public class GeminiHttpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeminiHttpClient.class);
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+    private final int maxConcurrentCalls;
+    private final long acquireTimeoutMs;
+
+    private final AtomicLong completedCalls = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    public GeminiHttpClient(
+            ObjectMapper objectMapper,
+            @Value("${gemini.http.max-connections:50}") int maxConnections,
+            @Value("${gemini.http.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${gemini.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${gemini.http.response-timeout-ms:15000}") long responseTimeoutMs,
+            @Value("${gemini.http.pool-wait-timeout-ms:2000}") long poolWaitTimeoutMs,
+            @Value("${gemini.http.connection-ttl-ms:300000}") long connectionTtlMs,
+            @Value("${gemini.http.idle-evict-ms:30000}") long idleEvictMs) {
+
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setConnectionTimeToLive(TimeValue.ofMilliseconds(connectionTtlMs))
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitTimeoutMs))
+                .build();
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictMs))
+                .build();
+
+        this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        this.objectMapper = objectMapper;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.acquireTimeoutMs = poolWaitTimeoutMs;
+    }
+
+    /**
+     * Gửi request JSON tới Gemini. Ném {@link GeminiUnavailableException} nếu đã đủ số
+     * request đồng thời và không lấy được slot trong thời gian chờ.
+     */
+    @SuppressWarnings("rawtypes")
+    public ResponseEntity<Map> postJson(String url, Map<String, Object> body) {
+        acquire();
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            ResponseEntity<Map> response = restTemplate.postForEntity(url, new HttpEntity<>(body, headers), Map.class);
+            completedCalls.incrementAndGet();
+            return response;
+        } catch (RuntimeException e) {
+            failedCalls.incrementAndGet();
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Gửi request JSON tới endpoint stream (Server-Sent Events) của Gemini và đẩy nội dung
+     * của từng dòng {@code data:} cho {@code onData} ngay khi nhận được.
+     * Slot đồng thời được giữ cho tới khi stream kết thúc.
+     */
+    public void postJsonStream(String url, Map<String, Object> body, Consumer<String> onData) {
+        acquire();
+        try {
+            restTemplate.execute(url, HttpMethod.POST,
+                    request -> {
+                        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                        request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                        objectMapper.writeValue(request.getBody(), body);
+                    },
+                    response -> {
+                        try (BufferedReader reader = new BufferedReader(
+                                new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                            String line;
+                            while ((line = reader.readLine()) != null) {
+                                if (line.startsWith("data:")) {
+                                    onData.accept(line.substring(5).trim());
+                                }
+                            }
+                        }
+                        return null;
+                    });
+            completedCalls.incrementAndGet();
+        } catch (RuntimeException e) {
+            failedCalls.incrementAndGet();
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeminiUnavailableException("Interrupted while waiting for a Gemini slot");
+        }
+        if (!acquired) {
+            rejectedCalls.incrementAndGet();
+            throw new GeminiUnavailableException("Too many concurrent Gemini calls (limit " + maxConcurrentCalls + ")");
+        }
+    }
+
+    /**
+     * Thống kê pool kết nối và số lần gọi, phục vụ theo dõi tải.
+     */
+    public Map<String, Object> getStats() {
+        PoolStats pool = connectionManager.getTotalStats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("leased", pool.getLeased());
+        stats.put("available", pool.getAvailable());
+        stats.put("pending", pool.getPending());
+        stats.put("maxConnections", pool.getMax());
+        stats.put("inFlight", maxConcurrentCalls - permits.availablePermits());
+        stats.put("maxConcurrentCalls", maxConcurrentCalls);
+        stats.put("completedCalls", completedCalls.get());
+        stats.put("failedCalls", failedCalls.get());
+        stats.put("rejectedCalls", rejectedCalls.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (Exception e) {
+            logger.warn("Failed to close Gemini HTTP client: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.ktigerstudybe.service.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metric Micrometer cho các lời gọi Gemini:
+ * {@code gemini.requests} (timer, histogram) và {@code gemini.tokens} (counter prompt/completion)
+ * gắn tag operation / scenario / difficulty / outcome; gauge cho pool kết nối và số request đang chạy.
+ * Scenario và difficulty ngoài danh sách của {@link KoreanPromptBuilder} được gộp thành "other"
+ * để số chuỗi metric không tăng theo dữ liệu người dùng gửi lên.
+ */
+@Component
+public class GeminiMetrics {
+
+    public static final String CHAT = "chat";
+    public static final String STREAM = "stream";
+    public static final String TRANSLATE = "translate";
+
+    private static final String OTHER = "other";
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+
+    public GeminiMetrics(MeterRegistry registry, GeminiHttpClient httpClient) {
+        this.registry = registry;
+        Gauge.builder("gemini.http.in_flight", httpClient, c -> stat(c, "inFlight"))
+                .description("Gemini calls currently holding a concurrency slot")
+                .register(registry);
+        Gauge.builder("gemini.http.connections", httpClient, c -> stat(c, "leased"))
+                .tag("state", "leased")
+                .register(registry);
+        Gauge.builder("gemini.http.connections", httpClient, c -> stat(c, "available"))
+                .tag("state", "available")
+                .register(registry);
+        Gauge.builder("gemini.http.connections", httpClient, c -> stat(c, "pending"))
+                .tag("state", "pending")
+                .register(registry);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Ghi thời gian một lời gọi; {@code error} null nghĩa là thành công.
+     */
+    public void stop(Timer.Sample sample, String operation, String scenario, String difficulty, Throwable error) {
+        String outcome = error == null ? "success"
+                : error instanceof GeminiUnavailableException ? "rejected" : "error";
+        Timer timer = Timer.builder("gemini.requests")
+                .description("Gemini API call latency")
+                .tags(tags(operation, scenario, difficulty).and("outcome", outcome))
+                .publishPercentileHistogram()
+                .register(registry);
+        sample.stop(timer);
+    }
+
+    /**
+     * Cộng số token từ {@code usageMetadata} của Gemini (bỏ qua nếu response không có).
+     */
+    public void recordUsage(Object usageMetadata, String operation, String scenario, String difficulty) {
+        if (!(usageMetadata instanceof Map<?, ?> usage)) return;
+        Tags tags = tags(operation, scenario, difficulty);
+        increment("prompt", usage.get("promptTokenCount"), tags);
+        increment("completion", usage.get("candidatesTokenCount"), tags);
+    }
+
+    private void increment(String type, Object count, Tags tags) {
+        if (!(count instanceof Number n) || n.longValue() <= 0) return;
+        Counter.builder("gemini.tokens")
+                .description("Tokens reported by Gemini usageMetadata")
+                .tags(tags.and("type", type))
+                .register(registry)
+                .increment(n.doubleValue());
+    }
+
+    private static Tags tags(String operation, String scenario, String difficulty) {
+        return Tags.of("operation", operation,
+                "scenario", bounded(scenario, KoreanPromptBuilder.SCENARIOS),
+                "difficulty", bounded(difficulty, KoreanPromptBuilder.DIFFICULTIES));
+    }
+
+    private static String bounded(String value, List<String> known) {
+        if (value == null) return NONE;
+        return known.contains(value) ? value : OTHER;
+    }
+
+    private static double stat(GeminiHttpClient client, String key) {
+        Object value = client.getStats().get(key);
+        return value instanceof Number n ? n.doubleValue() : Double.NaN;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.ktigerstudybe.service.ai;
+
+/**
+ * Ném ra khi không thể gửi thêm request tới Gemini (đã chạm giới hạn đồng thời).
+ */
+public class GeminiUnavailableException extends RuntimeException {
+    public GeminiUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,264 @@
+package org.example.ktigerstudybe.service.ai;
+
+import org.example.ktigerstudybe.model.ChatMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ghép prompt hội thoại tiếng Hàn cho Gemini.
+ * Phần cố định theo (scenario, difficulty) được dựng sẵn một lần lúc khởi động;
+ * mỗi lần gọi chỉ nối thêm lịch sử gần nhất (cắt theo ngân sách token) và câu của người dùng.
+ */
+@Component
+public class KoreanPromptBuilder {
+
+    public static final List<String> SCENARIOS = List.of("restaurant", "shopping", "direction", "introduction", "daily");
+    public static final List<String> DIFFICULTIES = List.of("beginner", "intermediate", "advanced");
+
+    // Chỉ các cặp (scenario, difficulty) đã biết; giá trị lạ từ client không được làm cache phình ra
+    private final Map<String, String> templates;
+    private final int historyTokenBudget;
+
+    private final AtomicLong promptsBuilt = new AtomicLong();
+    private final AtomicLong totalPromptTokens = new AtomicLong();
+    private final AtomicLong maxPromptTokens = new AtomicLong();
+    private final AtomicLong historyMessagesUsed = new AtomicLong();
+    private final AtomicLong historyMessagesTrimmed = new AtomicLong();
+
+    public KoreanPromptBuilder(@Value("${gemini.prompt.history-token-budget:600}") int historyTokenBudget) {
+        this.historyTokenBudget = historyTokenBudget;
+        Map<String, String> built = new HashMap<>();
+        for (String scenario : SCENARIOS) {
+            for (String difficulty : DIFFICULTIES) {
+                built.put(key(scenario, difficulty), buildTemplate(scenario, difficulty));
+            }
+        }
+        this.templates = Map.copyOf(built);
+    }
+
+    /**
+     * @param history các tin nhắn trước đó, mới nhất trước (không gồm câu hiện tại)
+     */
+    public String build(String userMessage, String scenario, String difficulty, List<ChatMessage> history) {
+        String template = templates.get(key(scenario, difficulty));
+        if (template == null) {
+            // Cặp lạ dùng nhánh mặc định của buildTemplate, dựng tại chỗ và không lưu lại
+            template = buildTemplate(scenario, difficulty);
+        }
+
+        // Lấy từ tin mới nhất lùi dần cho tới khi hết ngân sách token
+        List<ChatMessage> window = new ArrayList<>();
+        int used = 0;
+        if (history != null) {
+            for (ChatMessage m : history) {
+                int cost = TokenEstimator.estimate(m.getContent()) + 2;
+                if (used + cost > historyTokenBudget) {
+                    historyMessagesTrimmed.addAndGet(history.size() - window.size());
+                    break;
+                }
+                used += cost;
+                window.add(m);
+            }
+        }
+
+        StringBuilder prompt = new StringBuilder(template.length() + userMessage.length() + used * 4 + 128);
+        prompt.append(template);
+        if (!window.isEmpty()) {
+            prompt.append("\n\nLỊCH SỬ HỘI THOẠI GẦN ĐÂY:");
+            for (int i = window.size() - 1; i >= 0; i--) {
+                ChatMessage m = window.get(i);
+                prompt.append('\n').append("ai".equals(m.getMessageType()) ? "AI: " : "User: ").append(m.getContent());
+            }
+        }
+        prompt.append("\n\n현재 상황에서 사용자가 말했습니다: \"").append(userMessage).append('"')
+                .append("\n당신의 자연스러운 응답 (tiếng Hàn only):");
+
+        String result = prompt.toString();
+        recordMetrics(result, window.size());
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        long built = promptsBuilt.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("promptsBuilt", built);
+        stats.put("avgPromptTokens", built == 0 ? 0 : totalPromptTokens.get() / built);
+        stats.put("maxPromptTokens", maxPromptTokens.get());
+        stats.put("historyMessagesUsed", historyMessagesUsed.get());
+        stats.put("historyMessagesTrimmed", historyMessagesTrimmed.get());
+        stats.put("historyTokenBudget", historyTokenBudget);
+        return stats;
+    }
+
+    private void recordMetrics(String prompt, int historySize) {
+        int tokens = TokenEstimator.estimate(prompt);
+        promptsBuilt.incrementAndGet();
+        totalPromptTokens.addAndGet(tokens);
+        maxPromptTokens.accumulateAndGet(tokens, Math::max);
+        historyMessagesUsed.addAndGet(historySize);
+    }
+
+    private static String key(String scenario, String difficulty) {
+        return scenario + "|" + difficulty;
+    }
+
+    // Phần cố định của prompt theo (scenario, difficulty): vai trò, tính cách, ngôn ngữ, bối cảnh, quy tắc, ví dụ
+    static String buildTemplate(String scenario, String difficulty) {
+        String rolePrompt = switch (scenario) {
+            case "restaurant" ->
+                    "Bạn là Min-jun (민준), 25 tuổi, nhân viên nhà hàng Hàn Quốc vui vẻ và am hiểu về đồ ăn. " +
+                            "Bạn rất thích giới thiệu món ăn ngon và luôn hỏi thêm về sở thích của khách để tư vấn phù hợp. " +
+                            "Bạn biết rõ về vị, cách chế biến, giá cả và có thể so sánh các món ăn. ";
+
+            case "shopping" ->
+                    "Bạn là So-young (소영), 23 tuổi, nhân viên bán hàng thời trang nhiệt tình. " +
+                            "Bạn hiểu rõ về sản phẩm, style, và luôn tư vấn tận tình để khách hàng hài lòng. " +
+                            "Bạn có thể mô tả chi tiết về chất liệu, màu sắc, cách phối đồ. ";
+
+            case "direction" ->
+                    "Bạn là Hyun-woo (현우), 28 tuổi, sinh viên Seoul rất quen thuộc với địa điểm trong thành phố. " +
+                            "Bạn thích giúp đỡ du khách và luôn đưa ra hướng dẫn chi tiết, dễ hiểu. " +
+                            "Bạn biết về giao thông, thời gian di chuyển và các landmark nổi tiếng. ";
+
+            case "introduction" ->
+                    "Bạn là Ji-hye (지혜), 24 tuổi, sinh viên đại học Seoul thân thiện và cởi mở. " +
+                            "Bạn thích làm quen với bạn bè quốc tế và luôn tò mò về văn hóa của người khác. " +
+                            "Bạn hay chia sẻ về cuộc sống, sở thích và hỏi thăm về đối phương. ";
+
+            case "daily" ->
+                    "Bạn là Tae-min (태민), 26 tuổi, bạn thân của họ đã quen biết 2 năm. " +
+                            "Bạn hay nói chuyện về cuộc sống hàng ngày, công việc, thời tiết, phim ảnh, âm nhạc. " +
+                            "Bạn rất thoải mái và thân thiết, thường dùng ngôn ngữ thân mật. ";
+
+            default -> "Bạn là một người Hàn Quốc thân thiện 25 tuổi. ";
+        };
+
+        String personalityPrompt = switch (scenario) {
+            case "restaurant" ->
+                    "Tính cách: Nhiệt tình, am hiểu ẩm thực, thích mô tả chi tiết về món ăn. " +
+                            "Luôn hỏi thêm về khẩu vị (매운 맛, 담백한 맛, 달콤한 맛) để tư vấn phù hợp. " +
+                            "Thích kể về nguồn gốc món ăn và cách ăn ngon nhất. ";
+
+            case "shopping" ->
+                    "Tính cách: Thời trang, tỉ mỉ, thích tư vấn style. " +
+                            "Luôn hỏi về dịp mặc, sở thích màu sắc, và budget để gợi ý phù hợp. " +
+                            "Thích so sánh sản phẩm và giải thích lý do chọn. ";
+
+            case "direction" ->
+                    "Tính cách: Nhiệt tình giúp đỡ, rất quen địa bàn Seoul. " +
+                            "Luôn đưa ra ít nhất 2 cách đi và cho biết thời gian, chi phí. " +
+                            "Thích gợi ý thêm địa điểm hay gần đó. ";
+
+            case "introduction" ->
+                    "Tính cách: Tò mò, thân thiện, thích tìm hiểu về văn hóa khác. " +
+                            "Luôn hỏi đáp lại và chia sẻ về bản thân. " +
+                            "Thích hỏi về ấn tượng đầu tiên về Hàn Quốc. ";
+
+            case "daily" ->
+                    "Tính cách: Thoải mái, hay trêu đùa nhẹ nhàng, quan tâm bạn bè. " +
+                            "Thích chia sẻ về chuyện hàng ngày và hỏi ý kiến. " +
+                            "Hay dùng từ ngữ thân mật như 야, 진짜, 대박. ";
+
+            default -> "Tính cách: Thân thiện và nhiệt tình. ";
+        };
+
+        String difficultyPrompt = switch (difficulty) {
+            case "beginner" ->
+                    "Ngôn ngữ: Dùng từ vựng cơ bản, câu ngắn 1-2 câu. " +
+                            "Thi thoảng thêm romanization cho từ khó: 안녕하세요 (annyeonghaseyo). " +
+                            "Nói chậm rãi, rõ ràng, dễ hiểu. ";
+
+            case "intermediate" ->
+                    "Ngôn ngữ: Dùng từ vựng thông dụng, câu trung bình 2-3 câu. " +
+                            "Đôi khi dùng ngữ pháp vừa phải, giải thích nghĩa nếu cần. " +
+                            "Tự nhiên nhưng không quá khó. ";
+
+            case "advanced" ->
+                    "Ngôn ngữ: Tiếng Hàn tự nhiên như người bản địa. " +
+                            "Có thể dùng slang trẻ, thành ngữ, cách nói địa phương Seoul. " +
+                            "Nói nhanh và tự nhiên như bạn bè thật. ";
+
+            default -> "Ngôn ngữ: Vừa phải, tự nhiên. ";
+        };
+
+        String contextPrompt = switch (scenario) {
+            case "restaurant" ->
+                    "Bối cảnh: Nhà hàng Hàn Quốc truyền thống ở Myeongdong, Seoul. " +
+                            "Menu có: 김치찌개 (8,000원), 불고기 (15,000원), 비빔밥 (9,000원), " +
+                            "삼겹살 (12,000원), 제육볶음 (10,000원), 냉면 (8,000원), 순두부찌개 (7,000원). " +
+                            "Đang là giờ ăn trưa, nhà hàng khá đông. ";
+
+            case "shopping" ->
+                    "Bối cảnh: Cửa hàng thời trang ở Hongdae, Seoul. " +
+                            "Có quần áo casual, formal, phụ kiện. Đang có sale 20-30%. " +
+                            "Size từ XS đến XL, nhiều màu sắc trendy. ";
+
+            case "direction" ->
+                    "Bối cảnh: Ga tàu điện Gangnam, Seoul vào buổi chiều. " +
+                            "Có subway, bus, taxi. Traffic hơi đông. " +
+                            "Nhiều landmark nổi tiếng gần đó. ";
+
+            case "introduction" ->
+                    "Bối cảnh: Café ở Hongdae vào cuối tuần. " +
+                            "Không khí thoải mái, nhiều bạn trẻ. " +
+                            "Đang uống coffee và trò chuyện làm quen. ";
+
+            case "daily" ->
+                    "Bối cảnh: Cuối tuần ở Seoul, thời tiết đẹp. " +
+                            "Đang nhắn tin qua KakaoTalk hoặc gặp mặt tại café. " +
+                            "Tâm trạng thoải mái, muốn chia sẻ và tám chuyện. ";
+
+            default -> "Bối cảnh: Đang ở Seoul, Hàn Quốc. ";
+        };
+
+        String responseRules =
+                "QUY TẮC TRẢ LỜI: " +
+                        "1. CHỈ trả lời bằng tiếng Hàn, KHÔNG dịch, KHÔNG giải thích. " +
+                        "2. Trả lời 2-4 câu tiếng Hàn, tự nhiên như người thật. " +
+                        "3. Thể hiện tính cách và cảm xúc rõ ràng. " +
+                        "4. Hỏi lại hoặc gợi ý để tiếp tục cuộc trò chuyện. " +
+                        "5. Dùng emoji phù hợp (😊, 😄, 🤔, 👍) nhưng không quá nhiều. " +
+                        "6. Phản ứng cụ thể với nội dung tin nhắn của người dùng. " +
+                        "7. Đưa ra thông tin chi tiết, hữu ích trong ngữ cảnh. "+
+                        "8. LUÔN sử dụng dấu câu rõ ràng cho từng câu: dấu chấm (.), dấu hỏi (?), dấu cảm thán (!) ở cuối câu phù hợp. Không được bỏ dấu câu.";
+        String examplePrompt = switch (scenario) {
+            case "restaurant" ->
+                    "\nVÍ DỤ CÁCH TRẢ LỜI:\n" +
+                            "User: 메뉴 추천해 주세요\n" +
+                            "AI: 오늘 김치찌개가 정말 맛있어요! 김치가 잘 익어서 국물이 깊고 시원해요. 매운 거 좋아하세요? 아니면 순한 제육볶음도 인기 많아요! 🍽️\n\n" +
+                            "User: 너무 싱거워요\n" +
+                            "AI: 아, 그러시구나! 그럼 매콤한 걸로 바꿔드릴게요. 김치찌개나 부대찌개 어떠세요? 아니면 양념이 진한 불고기도 맛있어요! 어떤 맛 선호하세요? 🌶️";
+
+            case "shopping" ->
+                    "\nVÍ DỤ CÁCH TRẢ LỜI:\n" +
+                            "User: 이거 얼마예요?\n" +
+                            "AI: 이 셔츠요? 원래 5만원인데 지금 30% 할인해서 3만 5천원이에요! 면 100%라서 착용감이 정말 좋아요. 사이즈 몇 찾으세요? 👕";
+
+            case "direction" ->
+                    "\nVÍ DỤ CÁCH TRẢ LỜI:\n" +
+                            "User: 명동 어떻게 가요?\n" +
+                            "AI: 여기서 명동까지는 지하철이 제일 빨라요! 2호선 타고 을지로입구에서 4호선으로 갈아타시면 돼요. 약 20분 걸려요. 아니면 택시로 15분? 지금 교통이 좀 막혀서 지하철 추천해요! 🚇";
+
+            case "introduction" ->
+                    "\nVÍ DỤ CÁCH TRẢ LỜI:\n" +
+                            "User: 안녕하세요!\n" +
+                            "AI: 안녕하세요! 처음 뵙겠습니다 😊 저는 지혜라고 해요. 이름이 뭐예요? 한국 처음이세요?";
+
+            case "daily" ->
+                    "\nVÍ DỤ CÁCH TRẢ LỜI:\n" +
+                            "User: 오늘 뭐 해?\n" +
+                            "AI: 야! 오늘 카페에서 공부하고 있어 😅 너무 심심해 죽겠다. 너는 뭐 해? 날씨 좋은데 같이 한강 갈래?";
+
+            default -> "";
+        };
+
+        return rolePrompt + personalityPrompt + difficultyPrompt + contextPrompt + responseRules + examplePrompt;
+    }
+}
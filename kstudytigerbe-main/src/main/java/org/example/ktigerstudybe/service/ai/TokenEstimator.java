@@ -0,0 +1,27 @@
+package org.example.ktigerstudybe.service.ai;
+
+/**
+ * Ước lượng nhanh số token của một đoạn text, không cần gọi API đếm token.
+ * Ký tự ASCII khoảng 4 ký tự một token; ký tự ngoài ASCII (Hangul, chữ có dấu, emoji)
+ * tính mỗi ký tự một token, tức ước lượng hơi dư so với thực tế.
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) return 0;
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                ascii++;
+            } else if (!Character.isLowSurrogate(c)) {
+                other++;
+            }
+        }
+        return other + (ascii + 3) / 4;
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.ktigerstudybe.service.ai;
+
+import org.example.ktigerstudybe.model.TranslationCacheEntry;
+import org.example.ktigerstudybe.repository.TranslationCacheRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Cache bản dịch Hàn → Việt theo câu tiếng Hàn đã chuẩn hoá.
+ * Trong bộ nhớ là LRU có giới hạn số phần tử và TTL; khi bật
+ * {@code gemini.translation-cache.persistent} thì ghi thêm xuống bảng translation_cache.
+ */
+@Component
+public class TranslationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TranslationCache.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final TranslationCacheRepository repository;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final boolean persistent;
+
+    private final LinkedHashMap<String, CachedTranslation> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TranslationCache(
+            TranslationCacheRepository repository,
+            @Value("${gemini.translation-cache.max-entries:5000}") int maxEntries,
+            @Value("${gemini.translation-cache.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${gemini.translation-cache.persistent:false}") boolean persistent) {
+        this.repository = repository;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = Duration.ofMinutes(ttlMinutes).toMillis();
+        this.persistent = persistent;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTranslation> eldest) {
+                boolean evict = size() > TranslationCache.this.maxEntries;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Chuẩn hoá câu nguồn: NFC, bỏ khoảng trắng đầu/cuối và gộp khoảng trắng liên tiếp.
+     */
+    public static String normalize(String text) {
+        if (text == null) return "";
+        String nfc = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(nfc.trim()).replaceAll(" ");
+    }
+
+    public Optional<String> get(String sourceText) {
+        String key = normalize(sourceText);
+        if (key.isEmpty()) return Optional.empty();
+
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            CachedTranslation cached = entries.get(key);
+            if (cached != null) {
+                if (now - cached.storedAt() <= ttlMillis) {
+                    hits.incrementAndGet();
+                    return Optional.of(cached.translation());
+                }
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+        }
+
+        if (persistent) {
+            try {
+                Optional<TranslationCacheEntry> stored = repository.findBySourceHash(hash(key));
+                if (stored.isPresent() && !isExpired(stored.get().getCreatedAt())) {
+                    persistentHits.incrementAndGet();
+                    String translation = stored.get().getTranslation();
+                    remember(key, translation, now);
+                    return Optional.of(translation);
+                }
+            } catch (Exception e) {
+                logger.warn("Translation cache lookup failed: {}", e.getMessage());
+            }
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void put(String sourceText, String translation) {
+        String key = normalize(sourceText);
+        if (key.isEmpty() || translation == null || translation.isBlank()) return;
+
+        remember(key, translation, System.currentTimeMillis());
+
+        if (persistent) {
+            try {
+                String sourceHash = hash(key);
+                TranslationCacheEntry entry = repository.findBySourceHash(sourceHash)
+                        .orElseGet(TranslationCacheEntry::new);
+                entry.setSourceHash(sourceHash);
+                entry.setSourceText(key);
+                entry.setTranslation(translation);
+                entry.setCreatedAt(LocalDateTime.now());
+                repository.save(entry);
+            } catch (Exception e) {
+                // Hai request cùng ghi một câu: bản ghi đã có, bỏ qua
+                logger.warn("Translation cache write skipped: {}", e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.get());
+        stats.put("persistentHits", persistentHits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("persistent", persistent);
+        return stats;
+    }
+
+    private void remember(String key, String translation, long storedAt) {
+        synchronized (entries) {
+            entries.put(key, new CachedTranslation(translation, storedAt));
+        }
+    }
+
+    private boolean isExpired(LocalDateTime createdAt) {
+        return createdAt == null || createdAt.isBefore(LocalDateTime.now().minus(Duration.ofMillis(ttlMillis)));
+    }
+
+    private static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedTranslation(String translation, long storedAt) {
+    }
+}
@@ -3,6 +3,8 @@ package org.example.ktigerstudybe.service.auth;
 import org.example.ktigerstudybe.model.PasswordResetToken;
 import org.example.ktigerstudybe.repository.PasswordResetTokenRepository;
 import org.example.ktigerstudybe.service.email.EmailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +33,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserXPService userXPService;
@@ -57,9 +61,9 @@ public class AuthServiceImpl implements AuthService {
         // ✅ Try to create UserXP, but don't fail signup if error
         try {
             userXPService.createInitialUserXP(user.getUserId());
-            System.out.println("UserXP created for signup user: " + user.getUserId());
+            logger.debug("UserXP created for signup user {}", user.getUserId());
         } catch (Exception xpError) {
-            System.err.println("Failed to create UserXP for signup user: " + xpError.getMessage());
+            logger.warn("Failed to create UserXP for signup user {}: {}", user.getUserId(), xpError.getMessage());
             // Don't fail the signup process
         }
 
@@ -89,7 +93,7 @@ public class AuthServiceImpl implements AuthService {
                     "Tài khoản của bạn đã bị đóng băng. Vui lòng liên hệ admin để được hỗ trợ.");
         }
 
-        System.out.println("User " + user.getEmail() + " logged in successfully with status: " + user.getUserStatus());
+        logger.info("User {} signed in", user.getUserId());
 
         AuthResponse resp = new AuthResponse();
         resp.setUserId(user.getUserId());
@@ -157,8 +161,6 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public GoogleSignInResponse googleSignIn(GoogleSignInRequest request) {
         try {
-            System.out.println("=== Processing Google Sign In ===");
-
             // Step 1: Decode Google token
             Map<String, String> googleUser = decodeGoogleToken(request.getGoogleToken());
 
@@ -170,7 +172,7 @@ public class AuthServiceImpl implements AuthService {
                 throw new RuntimeException("Email not found in Google token");
             }
 
-            System.out.println("Google user - Email: " + email + ", Name: " + fullName);
+            logger.debug("Google sign in for {}", email);
 
             // Step 2: Check if user exists
             Optional<User> existingUser = userRepository.findByEmail(email);
@@ -187,12 +189,10 @@ public class AuthServiceImpl implements AuthService {
                     throw new RuntimeException("Tài khoản của bạn đã bị đóng băng. Vui lòng liên hệ admin để được hỗ trợ.");
                 }
 
-                System.out.println("Existing user found: " + user.getUserId() + " with status: " + user.getUserStatus());
+                logger.debug("Existing user {} found for Google sign in", user.getUserId());
 
             } else {
                 // ✅ Create new user - active by default
-                System.out.println("Creating new user from Google account");
-
                 user = new User();
                 user.setFullName(fullName != null ? fullName : "Google User");
                 user.setEmail(email);
@@ -205,14 +205,14 @@ public class AuthServiceImpl implements AuthService {
                 user = userRepository.save(user);
                 isNewUser = true;
 
-                System.out.println("New user created with ID: " + user.getUserId() + " and status: " + user.getUserStatus());
+                logger.info("User {} created from Google account", user.getUserId());
 
                 // ✅ Create UserXP - SAME AS SIGNUP
                 try {
                     userXPService.createInitialUserXP(user.getUserId());
-                    System.out.println("UserXP created for Google user");
+                    logger.debug("UserXP created for Google user {}", user.getUserId());
                 } catch (Exception xpError) {
-                    System.err.println("Failed to create UserXP for Google user: " + xpError.getMessage());
+                    logger.warn("Failed to create UserXP for Google user {}: {}", user.getUserId(), xpError.getMessage());
                     // Don't fail the whole process - same as signup
                 }
             }
@@ -227,12 +227,11 @@ public class AuthServiceImpl implements AuthService {
                     isNewUser ? "Tài khoản mới được tạo thành công" : "Đăng nhập thành công"
             );
 
-            System.out.println("Google signin successful: " + response);
+            logger.info("User {} signed in with Google", user.getUserId());
             return response;
 
         } catch (Exception e) {
-            System.err.println("Google sign in error: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Google sign in failed: {}", e.getMessage(), e);
             throw new RuntimeException("Google sign in failed: " + e.getMessage());
         }
     }
@@ -240,8 +239,6 @@ public class AuthServiceImpl implements AuthService {
     // ✅ Helper method: Decode Google JWT token (unchanged)
     private Map<String, String> decodeGoogleToken(String googleToken) throws Exception {
         try {
-            System.out.println("Decoding Google token...");
-
             // Split JWT token
             String[] chunks = googleToken.split("\\.");
             if (chunks.length != 3) {
@@ -250,7 +247,6 @@ public class AuthServiceImpl implements AuthService {
 
             // Decode payload (base64url decode)
             String payload = new String(java.util.Base64.getUrlDecoder().decode(chunks[1]));
-            System.out.println("Token payload length: " + payload.length());
 
             // Extract user data
             Map<String, String> result = new HashMap<>();
@@ -283,9 +279,6 @@ public class AuthServiceImpl implements AuthService {
                 }
             }
 
-            System.out.println("Extracted Google data - Email: " + result.get("email") +
-                    ", Name: " + result.get("name"));
-
             if (result.get("email") == null || result.get("email").isEmpty()) {
                 throw new Exception("Email not found in token");
             }
@@ -293,7 +286,7 @@ public class AuthServiceImpl implements AuthService {
             return result;
 
         } catch (Exception e) {
-            System.err.println("Token decode error: " + e.getMessage());
+            logger.debug("Google token decode failed: {}", e.getMessage());
             throw new Exception("Failed to decode Google token: " + e.getMessage());
         }
     }
@@ -313,7 +306,7 @@ public class AuthServiceImpl implements AuthService {
             return (value != null && !value.trim().isEmpty()) ? value : null;
 
         } catch (Exception e) {
-            System.err.println("Error extracting JSON value for key '" + key + "': " + e.getMessage());
+            logger.debug("Cannot extract '{}' from Google token: {}", key, e.getMessage());
             return null;
         }
     }
@@ -5,12 +5,15 @@ import org.example.ktigerstudybe.dto.req.SendChatMessageRequest;
 import org.example.ktigerstudybe.dto.resp.ChatConversationResponse;
 import org.example.ktigerstudybe.dto.resp.ChatMessageResponse;
 import org.example.ktigerstudybe.dto.resp.ChatResponsePair;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface ChatService {
     ChatConversationResponse createConversation(CreateChatConversationRequest request);
-    ChatResponsePair sendMessage(Long conversationId, SendChatMessageRequest request);
+    CompletableFuture<ChatResponsePair> sendMessage(Long conversationId, SendChatMessageRequest request);
+    SseEmitter streamMessage(Long conversationId, SendChatMessageRequest request);
     List<ChatMessageResponse> getConversationMessages(Long conversationId);
     List<ChatConversationResponse> getUserConversations(Long userId);
     void deleteConversation(Long conversationId) ;
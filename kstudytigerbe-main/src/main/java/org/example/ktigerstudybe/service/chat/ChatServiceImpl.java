@@ -13,10 +13,22 @@ import org.example.ktigerstudybe.repository.ChatMessageRepository;
 import org.example.ktigerstudybe.repository.UserRepository;
 import org.example.ktigerstudybe.service.ai.GeminiAIService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,8 +45,22 @@ public class ChatServiceImpl implements ChatService {
     private UserRepository userRepository;
 
     @Autowired
+    @Lazy
     private GeminiAIService geminiAIService;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("chatExecutor")
+    private Executor chatExecutor;
+
+    @Value("${chat.stream.timeout-ms:120000}")
+    private long streamTimeoutMs;
+
+    @Value("${gemini.prompt.history-window:12}")
+    private int historyWindow;
+
     @Override
     public ChatConversationResponse createConversation(CreateChatConversationRequest request) {
         User user = userRepository.findById(request.getUserId())
@@ -48,35 +74,89 @@ public class ChatServiceImpl implements ChatService {
         return toConversationResponse(conversation);
     }
 
+    /**
+     * Không giữ transaction (và connection DB) trong lúc chờ Gemini:
+     * user message được lưu trong một transaction ngắn, các lời gọi AI chạy trên chatExecutor,
+     * bản dịch bắt đầu ngay khi có câu trả lời tiếng Hàn, song song với việc lưu AI message.
+     */
     @Override
-    public ChatResponsePair sendMessage(Long conversationId, SendChatMessageRequest request) {
-        ChatConversation conversation = conversationRepository.findById(conversationId)
-                .orElseThrow(() -> new IllegalArgumentException("대화를 찾을 수 없습니다: " + conversationId));
-
-        // 1) Lưu userMessage
-        ChatMessage userMessage = new ChatMessage(conversation, request.getContent(), "user");
-        userMessage = messageRepository.save(userMessage);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<ChatResponsePair> sendMessage(Long conversationId, SendChatMessageRequest request) {
+        // 1) Lưu userMessage (transaction ngắn)
+        ChatMessage userMessage = saveUserMessage(conversationId, request.getContent());
+        ChatConversation conversation = userMessage.getConversation();
+        ChatMessageResponse userResp = toMessageResponse(userMessage);
 
-        // 2) Gọi AI sinh phản hồi tiếng Hàn
-        String aiResponse = geminiAIService.generateKoreanResponse(
-                request.getContent(),
-                conversation.getScenario(),
-                conversation.getDifficulty()
-        );
+        // 2) Gọi AI sinh phản hồi tiếng Hàn (ngoài request thread)
+        CompletableFuture<String> aiResponse = CompletableFuture.supplyAsync(
+                () -> geminiAIService.generateKoreanResponse(
+                        request.getContent(),
+                        conversation.getScenario(),
+                        conversation.getDifficulty(),
+                        recentHistory(conversationId, userMessage.getMessageId())),
+                chatExecutor);
 
-        // 3) Dịch sang tiếng Việt
-        String viTranslation = geminiAIService.translateToVietnamese(aiResponse);
+        // 3) Dịch sang tiếng Việt ngay khi có câu tiếng Hàn
+        CompletableFuture<String> viTranslation = aiResponse.thenApplyAsync(
+                geminiAIService::translateToVietnamese, chatExecutor);
 
-        // 4) Lưu AI message (tiếng Hàn)
-        ChatMessage aiMessage = new ChatMessage(conversation, aiResponse, "ai");
-        aiMessage = messageRepository.save(aiMessage);
+        // 4) Lưu AI message (tiếng Hàn) song song với bước dịch
+        CompletableFuture<ChatMessage> aiMessage = aiResponse.thenApplyAsync(
+                content -> saveAiMessage(conversationId, content), chatExecutor);
 
         // 5) Tạo ChatResponsePair trả về
-        ChatMessageResponse userResp = toMessageResponse(userMessage);
-        ChatMessageResponse aiResp = toMessageResponse(aiMessage);
-        aiResp.setTranslation(viTranslation); // Gắn bản dịch tiếng Việt
+        return aiMessage.thenCombine(viTranslation, (saved, translation) -> {
+            ChatMessageResponse aiResp = toMessageResponse(saved);
+            aiResp.setTranslation(translation); // Gắn bản dịch tiếng Việt
+            return new ChatResponsePair(userResp, aiResp);
+        });
+    }
+
+    /**
+     * Phiên bản stream của sendMessage: gửi về client các event SSE
+     * "user" (tin nhắn đã lưu), "token" (từng đoạn câu trả lời), "ai" (AI message đã lưu)
+     * và "translation" (bản dịch tiếng Việt). AI message chỉ được lưu khi stream kết thúc.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SseEmitter streamMessage(Long conversationId, SendChatMessageRequest request) {
+        ChatMessage userMessage = saveUserMessage(conversationId, request.getContent());
+        ChatConversation conversation = userMessage.getConversation();
 
-        return new ChatResponsePair(userResp, aiResp);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        AtomicBoolean clientGone = new AtomicBoolean(false);
+        emitter.onCompletion(() -> clientGone.set(true));
+        emitter.onTimeout(() -> clientGone.set(true));
+        // Lỗi ghi phía container (client ngắt kết nối): dừng gửi event, phần lưu DB vẫn chạy tiếp
+        emitter.onError(e -> clientGone.set(true));
+
+        chatExecutor.execute(() -> {
+            try {
+                sendEvent(emitter, clientGone, "user", toMessageResponse(userMessage));
+
+                String aiResponse = geminiAIService.streamKoreanResponse(
+                        request.getContent(),
+                        conversation.getScenario(),
+                        conversation.getDifficulty(),
+                        recentHistory(conversationId, userMessage.getMessageId()),
+                        token -> sendEvent(emitter, clientGone, "token", token));
+
+                // Vẫn lưu AI message kể cả khi client đã ngắt kết nối giữa chừng
+                ChatMessage aiMessage = saveAiMessage(conversationId, aiResponse);
+                sendEvent(emitter, clientGone, "ai", toMessageResponse(aiMessage));
+
+                if (!clientGone.get()) {
+                    String viTranslation = geminiAIService.translateToVietnamese(aiResponse);
+                    sendEvent(emitter, clientGone, "translation", Map.of(
+                            "messageId", aiMessage.getMessageId(),
+                            "translation", viTranslation));
+                }
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
     }
 
     @Override
@@ -106,6 +186,39 @@ public class ChatServiceImpl implements ChatService {
     }
 
     // Helper methods
+    private ChatMessage saveUserMessage(Long conversationId, String content) {
+        return transactionTemplate.execute(status -> {
+            ChatConversation conversation = conversationRepository.findById(conversationId)
+                    .orElseThrow(() -> new IllegalArgumentException("대화를 찾을 수 없습니다: " + conversationId));
+            return messageRepository.save(new ChatMessage(conversation, content, "user"));
+        });
+    }
+
+    // Các tin nhắn trước câu hiện tại, mới nhất trước; builder sẽ cắt tiếp theo ngân sách token
+    private List<ChatMessage> recentHistory(Long conversationId, Long currentMessageId) {
+        return messageRepository
+                .findByConversation_ConversationIdOrderByMessageIdDesc(conversationId, PageRequest.of(0, historyWindow + 1))
+                .stream()
+                .filter(m -> !m.getMessageId().equals(currentMessageId))
+                .limit(historyWindow)
+                .collect(Collectors.toList());
+    }
+
+    private ChatMessage saveAiMessage(Long conversationId, String content) {
+        return transactionTemplate.execute(status -> messageRepository.save(
+                new ChatMessage(conversationRepository.getReferenceById(conversationId), content, "ai")));
+    }
+
+    // Bỏ qua lỗi ghi khi client đã đóng kết nối, để phần còn lại (lưu DB) vẫn chạy
+    private void sendEvent(SseEmitter emitter, AtomicBoolean clientGone, String name, Object data) {
+        if (clientGone.get()) return;
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            clientGone.set(true);
+        }
+    }
+
     private String getScenarioTitle(String scenario, String difficulty) {
         String scenarioTitle = switch (scenario) {
             case "restaurant" -> "식당에서 주문하기";
@@ -6,7 +6,9 @@ import org.example.ktigerstudybe.model.DocumentItem;
 import org.example.ktigerstudybe.model.DocumentList;
 import org.example.ktigerstudybe.repository.DocumentItemRepository;
 import org.example.ktigerstudybe.repository.DocumentListRepository;
+import org.example.ktigerstudybe.service.search.DocumentListChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,8 +26,11 @@ public class DocumentItemServiceImpl implements DocumentItemService {
     @Autowired
     private DocumentListRepository documentListRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Mapping entity -> response DTO
-    private DocumentItemResponse toResponse(DocumentItem entity) {
+    DocumentItemResponse toResponse(DocumentItem entity) {
         DocumentItemResponse resp = new DocumentItemResponse();
         resp.setWordId(entity.getWordId());
         resp.setListId(entity.getDocumentList().getListId());
@@ -74,6 +79,7 @@ public class DocumentItemServiceImpl implements DocumentItemService {
     public DocumentItemResponse createDocumentItem(DocumentItemRequest request) {
         DocumentItem entity = toEntity(request);
         entity = documentItemRepository.save(entity);
+        eventPublisher.publishEvent(DocumentListChangedEvent.ofList(request.getListId()));
         return toResponse(entity);
     }
 
@@ -81,6 +87,7 @@ public class DocumentItemServiceImpl implements DocumentItemService {
     public DocumentItemResponse updateDocumentItem(Long wordId, DocumentItemRequest request) {
         DocumentItem entity = documentItemRepository.findById(wordId)
                 .orElseThrow(() -> new IllegalArgumentException("DocumentItem not found with id: " + wordId));
+        Long previousListId = entity.getDocumentList().getListId();
         DocumentList list = documentListRepository.findById(request.getListId())
                 .orElseThrow(() -> new IllegalArgumentException("DocumentList not found with id: " + request.getListId()));
         entity.setDocumentList(list);
@@ -89,18 +96,26 @@ public class DocumentItemServiceImpl implements DocumentItemService {
         entity.setExample(request.getExample());
         entity.setVocabImage(request.getVocabImage());
         entity = documentItemRepository.save(entity);
+        eventPublisher.publishEvent(DocumentListChangedEvent.ofList(request.getListId()));
+        if (!previousListId.equals(request.getListId())) {
+            eventPublisher.publishEvent(DocumentListChangedEvent.ofList(previousListId));
+        }
         return toResponse(entity);
     }
 
     @Override
     public void deleteDocumentItem(Long wordId) {
-        documentItemRepository.deleteById(wordId);
+        documentItemRepository.findById(wordId).ifPresent(item -> {
+            documentItemRepository.delete(item);
+            eventPublisher.publishEvent(DocumentListChangedEvent.ofList(item.getDocumentList().getListId()));
+        });
     }
 
     @Override
     @Transactional
     public void deleteDocumentItemsByListId(Long listId) {
         documentItemRepository.deleteByDocumentList_ListId(listId);
+        eventPublisher.publishEvent(DocumentListChangedEvent.ofList(listId));
     }
 
     //admin
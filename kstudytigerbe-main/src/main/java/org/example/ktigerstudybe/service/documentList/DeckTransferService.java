@@ -0,0 +1,21 @@
+package org.example.ktigerstudybe.service.documentList;
+
+import org.example.ktigerstudybe.dto.resp.DeckImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface DeckTransferService {
+
+    /**
+     * Nhập mục từ vựng từ file CSV/TSV (UTF-8) vào bộ flashcard.
+     * Đọc từng dòng, ghi xuống DB theo batch; dòng lỗi bị bỏ qua và được báo lại theo số dòng.
+     */
+    DeckImportResponse importItems(Long listId, InputStream in) throws IOException;
+
+    /**
+     * Xuất toàn bộ mục từ vựng của bộ flashcard ra CSV/TSV, ghi thẳng vào {@code out}.
+     */
+    void exportItems(Long listId, char delimiter, OutputStream out) throws IOException;
+}
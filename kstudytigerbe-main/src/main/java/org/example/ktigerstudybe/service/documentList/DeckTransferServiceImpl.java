@@ -0,0 +1,188 @@
+package org.example.ktigerstudybe.service.documentList;
+
+import org.example.ktigerstudybe.dto.resp.DeckImportResponse;
+import org.example.ktigerstudybe.model.DocumentItem;
+import org.example.ktigerstudybe.repository.DocumentItemRepository;
+import org.example.ktigerstudybe.repository.DocumentListRepository;
+import org.example.ktigerstudybe.service.search.DocumentListChangedEvent;
+import org.example.ktigerstudybe.util.CsvRowException;
+import org.example.ktigerstudybe.util.CsvRowReader;
+import org.example.ktigerstudybe.util.CsvRowWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+@Service
+public class DeckTransferServiceImpl implements DeckTransferService {
+
+    private static final int MAX_REPORTED_ERRORS = 200;
+    // Các cột Word/Meaning/Example/VocabImage là VARCHAR(255)
+    private static final int MAX_CELL_LENGTH = 255;
+
+    private static final int COL_WORD = 0;
+    private static final int COL_MEANING = 1;
+    private static final int COL_EXAMPLE = 2;
+    private static final int COL_IMAGE = 3;
+
+    private final DocumentListRepository documentListRepository;
+    private final DocumentItemRepository documentItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int exportPageSize;
+
+    public DeckTransferServiceImpl(
+            DocumentListRepository documentListRepository,
+            DocumentItemRepository documentItemRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${document-items.bulk.batch-size:500}") int batchSize,
+            @Value("${document-items.export.page-size:1000}") int exportPageSize) {
+        this.documentListRepository = documentListRepository;
+        this.documentItemRepository = documentItemRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.exportPageSize = Math.max(1, exportPageSize);
+    }
+
+    @Override
+    @Transactional
+    public DeckImportResponse importItems(Long listId, InputStream in) throws IOException {
+        if (!documentListRepository.existsById(listId)) {
+            throw new NoSuchElementException("DocumentList not found: " + listId);
+        }
+
+        DeckImportResponse result = new DeckImportResponse();
+        result.setListId(listId);
+
+        List<DocumentItem> batch = new ArrayList<>(batchSize);
+        try (CsvRowReader reader = new CsvRowReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<String> row = nextRow(reader, result);
+            if (row == null) return result;
+
+            // Dòng đầu là header nếu có cột word và meaning, ngược lại coi là dữ liệu theo thứ tự mặc định
+            int[] columns = headerColumns(row);
+            if (columns == null) {
+                columns = new int[]{0, 1, 2, 3};
+            } else {
+                row = nextRow(reader, result);
+            }
+
+            for (; row != null; row = nextRow(reader, result)) {
+                result.setTotalRows(result.getTotalRows() + 1);
+                String error = validate(row, columns);
+                if (error != null) {
+                    reportError(result, reader.getRowStartLine(), error);
+                    continue;
+                }
+                batch.add(DocumentItem.builder()
+                        .word(cell(row, columns[COL_WORD]))
+                        .meaning(cell(row, columns[COL_MEANING]))
+                        .example(emptyToNull(cell(row, columns[COL_EXAMPLE])))
+                        .vocabImage(emptyToNull(cell(row, columns[COL_IMAGE])))
+                        .build());
+                if (batch.size() >= batchSize) {
+                    result.setInserted(result.getInserted() + documentItemRepository.batchInsert(listId, batch));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            result.setInserted(result.getInserted() + documentItemRepository.batchInsert(listId, batch));
+        }
+        if (result.getInserted() > 0) {
+            eventPublisher.publishEvent(DocumentListChangedEvent.ofList(listId));
+        }
+        return result;
+    }
+
+    @Override
+    public void exportItems(Long listId, char delimiter, OutputStream out) throws IOException {
+        CsvRowWriter writer = new CsvRowWriter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), delimiter);
+        writer.writeBom();
+        writer.writeRow("word", "meaning", "example", "vocabImage");
+        // Đọc từng trang theo WordID: connection trả về pool trước khi ghi ra client,
+        // nên client tải chậm không giữ cursor mở (net_write_timeout) hay chiếm hết pool
+        long afterWordId = 0;
+        List<DocumentItem> page;
+        do {
+            page = documentItemRepository.findPageByListId(listId, afterWordId, exportPageSize);
+            for (DocumentItem item : page) {
+                writer.writeRow(item.getWord(), item.getMeaning(), item.getExample(), item.getVocabImage());
+            }
+            if (!page.isEmpty()) afterWordId = page.get(page.size() - 1).getWordId();
+        } while (page.size() == exportPageSize);
+        writer.flush();
+    }
+
+    /**
+     * Trả về vị trí cột word, meaning, example, vocabImage theo header; null nếu dòng không phải header.
+     */
+    private static int[] headerColumns(List<String> row) {
+        int[] columns = {-1, -1, -1, -1};
+        for (int i = 0; i < row.size(); i++) {
+            String name = row.get(i).trim().toLowerCase(Locale.ROOT).replaceAll("[\\s_-]", "");
+            int col = switch (name) {
+                case "word", "từ", "từvựng", "단어" -> COL_WORD;
+                case "meaning", "nghĩa", "뜻" -> COL_MEANING;
+                case "example", "vídụ", "예문" -> COL_EXAMPLE;
+                case "vocabimage", "image", "ảnh", "hìnhảnh" -> COL_IMAGE;
+                default -> -1;
+            };
+            if (col >= 0 && columns[col] < 0) columns[col] = i;
+        }
+        return columns[COL_WORD] >= 0 && columns[COL_MEANING] >= 0 ? columns : null;
+    }
+
+    private static String validate(List<String> row, int[] columns) {
+        if (cell(row, columns[COL_WORD]).isEmpty()) return "word is required";
+        if (cell(row, columns[COL_MEANING]).isEmpty()) return "meaning is required";
+        for (int col : columns) {
+            if (cell(row, col).length() > MAX_CELL_LENGTH) {
+                return "value longer than " + MAX_CELL_LENGTH + " characters";
+            }
+        }
+        return null;
+    }
+
+    // Bản ghi hỏng (ngoặc kép không đóng, quá dài) được báo lỗi theo dòng; reader đã bỏ qua nó và đọc tiếp
+    private static List<String> nextRow(CsvRowReader reader, DeckImportResponse result) throws IOException {
+        while (true) {
+            try {
+                return reader.nextRow();
+            } catch (CsvRowException e) {
+                result.setTotalRows(result.getTotalRows() + 1);
+                reportError(result, e.getLine(), e.getMessage());
+            }
+        }
+    }
+
+    private static void reportError(DeckImportResponse result, long line, String message) {
+        result.setSkipped(result.getSkipped() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new DeckImportResponse.RowError(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static String cell(List<String> row, int index) {
+        return index >= 0 && index < row.size() ? CsvRowWriter.unescapeFormula(row.get(index).trim()) : "";
+    }
+
+    private static String emptyToNull(String s) {
+        return s.isEmpty() ? null : s;
+    }
+}
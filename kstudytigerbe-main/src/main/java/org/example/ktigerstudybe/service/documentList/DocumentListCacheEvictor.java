@@ -0,0 +1,30 @@
+package org.example.ktigerstudybe.service.documentList;
+
+import org.example.ktigerstudybe.config.CacheConfig;
+import org.example.ktigerstudybe.service.search.DocumentListChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Xoá cache nhóm-theo-type khi có bộ flashcard được tạo, sửa, đổi trạng thái công khai, xoá
+ * hoặc tác giả đổi tên/ảnh. Chạy sau khi commit để request khác không nạp lại dữ liệu cũ vào cache.
+ */
+@Component
+public class DocumentListCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    public DocumentListCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentListChanged(DocumentListChangedEvent event) {
+        Cache groups = cacheManager.getCache(CacheConfig.DOCUMENT_LIST_GROUPS);
+        if (groups != null) {
+            groups.clear();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 // src/main/java/org/example/ktigerstudybe/service/documentList/DocumentListService.java
 package org.example.ktigerstudybe.service.documentList;
 
+import org.example.ktigerstudybe.dto.req.DocumentItemRequest;
 import org.example.ktigerstudybe.dto.req.DocumentListRequest;
 import org.example.ktigerstudybe.dto.resp.DocumentListResponse;
 import org.springframework.data.domain.Page;
@@ -16,6 +17,12 @@ public interface DocumentListService {
      */
     DocumentListResponse createDocumentList(DocumentListRequest request);
 
+    /**
+     * Thêm nhiều mục từ vựng vào một bộ flashcard trong một lần (JDBC batch).
+     * Trả về số mục đã thêm.
+     */
+    int addItemsBulk(Long listId, List<DocumentItemRequest> items);
+
     /**
      * Lấy về toàn bộ bộ flashcard
      */
@@ -1,6 +1,8 @@
 // src/main/java/org/example/ktigerstudybe/service/documentList/DocumentListServiceImpl.java
 package org.example.ktigerstudybe.service.documentList;
 
+import org.example.ktigerstudybe.config.CacheConfig;
+import org.example.ktigerstudybe.dto.req.DocumentItemRequest;
 import org.example.ktigerstudybe.dto.req.DocumentListRequest;
 import org.example.ktigerstudybe.dto.resp.DocumentListResponse;
 import org.example.ktigerstudybe.mapper.DocumentListMapper;
@@ -11,16 +13,26 @@ import org.example.ktigerstudybe.repository.DocumentItemRepository;
 import org.example.ktigerstudybe.repository.DocumentListRepository;
 import org.example.ktigerstudybe.repository.FavoriteDocumentListRepository;
 import org.example.ktigerstudybe.repository.UserRepository;
+import org.example.ktigerstudybe.repository.projection.DocumentListSummary;
+import org.example.ktigerstudybe.service.search.DocumentListChangedEvent;
+import org.example.ktigerstudybe.service.search.DocumentListSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +42,8 @@ public class DocumentListServiceImpl implements DocumentListService {
     private final UserRepository userRepository;
     private final DocumentItemRepository documentItemRepository;
     private final DocumentListMapper mapper;
+    private final DocumentListSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
     @Autowired
     private FavoriteDocumentListRepository repo;
 
@@ -38,12 +52,16 @@ public class DocumentListServiceImpl implements DocumentListService {
             DocumentListRepository documentListRepository,
             UserRepository userRepository,
             DocumentItemRepository documentItemRepository,
-            DocumentListMapper mapper
+            DocumentListMapper mapper,
+            DocumentListSearchIndex searchIndex,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.documentListRepository = documentListRepository;
         this.userRepository = userRepository;
         this.documentItemRepository = documentItemRepository;
         this.mapper = mapper;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -63,21 +81,49 @@ public class DocumentListServiceImpl implements DocumentListService {
                 .build();
         list = documentListRepository.save(list);
 
-        if (request.getItems() != null) {
-            for (var it : request.getItems()) {
-                DocumentItem item = DocumentItem.builder()
-                        .documentList(list)
-                        .word(it.getWord())
-                        .meaning(it.getMeaning())
-                        .example(it.getExample())
-                        .vocabImage(it.getVocabImage())
-                        .build();
-                documentItemRepository.save(item);
-            }
+        if (request.getItems() != null && !request.getItems().isEmpty()) {
+            documentItemRepository.batchInsert(list.getListId(), toItems(request.getItems()));
         }
+        eventPublisher.publishEvent(DocumentListChangedEvent.ofList(list.getListId()));
         return mapper.toResponse(list);
     }
 
+    @Override
+    @Transactional
+    public int addItemsBulk(Long listId, List<DocumentItemRequest> items) {
+        if (!documentListRepository.existsById(listId)) {
+            throw new NoSuchElementException("DocumentList not found: " + listId);
+        }
+        if (items == null || items.isEmpty()) {
+            return 0;
+        }
+        int inserted = documentItemRepository.batchInsert(listId, toItems(items));
+        eventPublisher.publishEvent(DocumentListChangedEvent.ofList(listId));
+        return inserted;
+    }
+
+    // Kiểm tra Word/Meaning bắt buộc trước khi gửi batch, để lỗi trả về đúng vị trí dòng
+    private List<DocumentItem> toItems(List<DocumentItemRequest> requests) {
+        List<DocumentItem> items = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            DocumentItemRequest it = requests.get(i);
+            if (it == null || isBlank(it.getWord()) || isBlank(it.getMeaning())) {
+                throw new IllegalArgumentException("Item #" + (i + 1) + ": word and meaning are required");
+            }
+            items.add(DocumentItem.builder()
+                    .word(it.getWord())
+                    .meaning(it.getMeaning())
+                    .example(it.getExample())
+                    .vocabImage(it.getVocabImage())
+                    .build());
+        }
+        return items;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
     @Override
     public List<DocumentListResponse> getAllDocumentLists() {
         return documentListRepository.findAll()
@@ -112,12 +158,13 @@ public class DocumentListServiceImpl implements DocumentListService {
     @Override
     public Page<DocumentListResponse> searchPublicByTitleOrType(String keyword, Pageable pageable) {
         String kw = (keyword == null ? "" : keyword.trim());
-        return documentListRepository
-                // nếu dùng @Query:
-                .searchPublicByTitleOrType(kw, pageable)
-                // nếu dùng method tự sinh:
-                // .findByIsPublicAndTitleContainingIgnoreCaseOrIsPublicAndTypeContainingIgnoreCase(0, kw, 0, kw, pageable)
-                .map(mapper::toResponse);
+        if (kw.isEmpty()) {
+            return documentListRepository
+                    .findByIsPublic(0, pageable)
+                    .map(mapper::toResponse);
+        }
+        // Tìm qua chỉ mục trong bộ nhớ (title, type, mô tả, tác giả, từ vựng), kết quả đã xếp hạng
+        return searchIndexed(kw, true, pageable);
     }
 
     @Override
@@ -131,6 +178,7 @@ public class DocumentListServiceImpl implements DocumentListService {
 
         // save the change
         documentListRepository.save(list);
+        eventPublisher.publishEvent(DocumentListChangedEvent.ofList(id));
     }
 
     @Override
@@ -145,6 +193,7 @@ public class DocumentListServiceImpl implements DocumentListService {
         e.setType(req.getType());
         e.setIsPublic(req.getIsPublic());
         DocumentList updated = documentListRepository.save(e);
+        eventPublisher.publishEvent(DocumentListChangedEvent.ofList(id));
         return mapper.toResponse(updated);
     }
 
@@ -163,6 +212,7 @@ public class DocumentListServiceImpl implements DocumentListService {
 
         // 3) Cuối cùng xóa document list
         documentListRepository.deleteById(id);
+        eventPublisher.publishEvent(DocumentListChangedEvent.ofList(id));
     }
 
     @Override
@@ -201,19 +251,17 @@ public class DocumentListServiceImpl implements DocumentListService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.DOCUMENT_LIST_GROUPS, key = "#limit")
     public Map<String, List<DocumentListResponse>> getGroupedByType(int limit) {
-        List<String> types = documentListRepository.findDistinctTypes();
+        // Một câu SQL (ROW_NUMBER theo type) thay cho 1 + T + T×N truy vấn
         Map<String, List<DocumentListResponse>> map = new LinkedHashMap<>();
-        for (String t : types) {
-            List<DocumentListResponse> slice = documentListRepository
-                    .findByTypeAndIsPublic(t, 0)
-                    .stream()
-                    .limit(limit)
-                    .map(mapper::toResponse)
-                    .collect(Collectors.toList());
-            map.put(t, slice);
+        for (DocumentListSummary row : documentListRepository.findTopPublicPerType(limit)) {
+            map.computeIfAbsent(row.getType(), t -> new ArrayList<>()).add(mapper.toResponse(row));
         }
-        return map;
+        // Cache giữ tham chiếu tới kết quả: trả bản chỉ đọc để người gọi không sửa được bản đang cache
+        // (giữ thứ tự type nên không dùng Map.copyOf)
+        map.replaceAll((type, lists) -> List.copyOf(lists));
+        return Collections.unmodifiableMap(map);
     }
 
 
@@ -236,13 +284,23 @@ public class DocumentListServiceImpl implements DocumentListService {
                     .findAll(pageable)
                     .map(mapper::toResponse);
         } else {
-            // Có keyword => tìm theo title hoặc tên tác giả
-            return documentListRepository
-                    .findByTitleContainingIgnoreCaseOrUser_FullNameContainingIgnoreCase(
-                            kw, kw, pageable
-                    )
-                    .map(mapper::toResponse);
+            // Có keyword => tìm qua chỉ mục (title, tên tác giả, type, mô tả, từ vựng)
+            return searchIndexed(kw, false, pageable);
         }
     }
 
+    private Page<DocumentListResponse> searchIndexed(String keyword, boolean publicOnly, Pageable pageable) {
+        DocumentListSearchIndex.Hits hits = searchIndex.search(
+                keyword, publicOnly, (int) pageable.getOffset(), pageable.getPageSize());
+        Map<Long, DocumentList> byId = documentListRepository.findByListIdIn(hits.listIds())
+                .stream()
+                .collect(Collectors.toMap(DocumentList::getListId, Function.identity()));
+        List<DocumentListResponse> content = hits.listIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(mapper::toResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+
 }
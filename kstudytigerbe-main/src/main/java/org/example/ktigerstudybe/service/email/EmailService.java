@@ -1,6 +1,7 @@
 package org.example.ktigerstudybe.service.email;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 public class EmailService {
 
     @Autowired
+    @Lazy
     private JavaMailSender mailSender;
 
     public void sendSimpleEmail(String to, String subject, String text) {
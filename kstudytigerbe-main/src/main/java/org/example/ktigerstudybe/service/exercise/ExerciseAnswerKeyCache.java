@@ -0,0 +1,124 @@
+package org.example.ktigerstudybe.service.exercise;
+
+import org.example.ktigerstudybe.model.MultipleChoiceQuestion;
+import org.example.ktigerstudybe.model.SentenceRewritingQuestion;
+import org.example.ktigerstudybe.repository.ExerciseRepository;
+import org.example.ktigerstudybe.repository.MultipleChoiceQuestionRepository;
+import org.example.ktigerstudybe.repository.SentenceRewritingQuestionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Câu hỏi và đáp án của từng bài tập, giữ trong bộ nhớ để chấm điểm và trả đề
+ * mà không truy vấn lại hai bảng câu hỏi mỗi lần nộp bài.
+ * LRU theo bài tập, giới hạn bởi {@code exercises.answer-key-cache.max-entries};
+ * các service câu hỏi/bài tập gọi {@link #evictAll()} khi dữ liệu thay đổi.
+ * Mỗi lần xoá tăng generation; đáp án nạp song song chỉ được cache nếu generation không đổi trong lúc nạp,
+ * để bản đọc trước khi sửa câu hỏi không ghi đè lên lần xoá.
+ */
+@Component
+public class ExerciseAnswerKeyCache {
+
+    private final MultipleChoiceQuestionRepository multipleChoiceQuestionRepository;
+    private final SentenceRewritingQuestionRepository sentenceRewritingQuestionRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final SentenceAnswerMatcher sentenceAnswerMatcher;
+    private final int maxEntries;
+
+    private final LinkedHashMap<Long, AnswerKey> entries;
+    // Đọc/ghi trong synchronized (entries)
+    private long generation;
+
+    public ExerciseAnswerKeyCache(
+            MultipleChoiceQuestionRepository multipleChoiceQuestionRepository,
+            SentenceRewritingQuestionRepository sentenceRewritingQuestionRepository,
+            ExerciseRepository exerciseRepository,
+            SentenceAnswerMatcher sentenceAnswerMatcher,
+            @Value("${exercises.answer-key-cache.max-entries:2000}") int maxEntries) {
+        this.multipleChoiceQuestionRepository = multipleChoiceQuestionRepository;
+        this.sentenceRewritingQuestionRepository = sentenceRewritingQuestionRepository;
+        this.exerciseRepository = exerciseRepository;
+        this.sentenceAnswerMatcher = sentenceAnswerMatcher;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, AnswerKey> eldest) {
+                return size() > ExerciseAnswerKeyCache.this.maxEntries;
+            }
+        };
+    }
+
+    public record MultipleChoiceKey(Long questionId, String questionText, String optionA, String optionB,
+                                    String optionC, String optionD, String linkMedia, String correctAnswer) {
+    }
+
+    /**
+     * {@code reference} là đáp án đã chuẩn hoá sẵn cho {@link SentenceAnswerMatcher}.
+     */
+    public record RewritingKey(Long questionId, String originalSentence, String linkMedia, String rewrittenSentence,
+                               SentenceAnswerMatcher.Reference reference) {
+    }
+
+    public record AnswerKey(Long exerciseId, List<MultipleChoiceKey> multipleChoice, List<RewritingKey> rewriting) {
+
+        public int totalQuestions() {
+            return multipleChoice.size() + rewriting.size();
+        }
+    }
+
+    /**
+     * Đáp án của bài tập; ném {@link NoSuchElementException} nếu bài tập không tồn tại.
+     */
+    public AnswerKey get(Long exerciseId) {
+        long loadGeneration;
+        synchronized (entries) {
+            AnswerKey cached = entries.get(exerciseId);
+            if (cached != null) return cached;
+            loadGeneration = generation;
+        }
+        AnswerKey loaded = load(exerciseId);
+        synchronized (entries) {
+            if (generation == loadGeneration) {
+                entries.put(exerciseId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public void evictAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    private AnswerKey load(Long exerciseId) {
+        List<MultipleChoiceKey> mcq = multipleChoiceQuestionRepository.findByExercise_ExerciseId(exerciseId)
+                .stream()
+                .map(ExerciseAnswerKeyCache::toKey)
+                .toList();
+        List<RewritingKey> rewriting = sentenceRewritingQuestionRepository.findByExercise_ExerciseId(exerciseId)
+                .stream()
+                .map(this::toKey)
+                .toList();
+        if (mcq.isEmpty() && rewriting.isEmpty() && !exerciseRepository.existsById(exerciseId)) {
+            throw new NoSuchElementException("Exercise not found with id: " + exerciseId);
+        }
+        return new AnswerKey(exerciseId, mcq, rewriting);
+    }
+
+    private static MultipleChoiceKey toKey(MultipleChoiceQuestion q) {
+        return new MultipleChoiceKey(q.getQuestionId(), q.getQuestionText(), q.getOptionA(), q.getOptionB(),
+                q.getOptionC(), q.getOptionD(), q.getLinkMedia(), q.getCorrectAnswer());
+    }
+
+    private RewritingKey toKey(SentenceRewritingQuestion q) {
+        return new RewritingKey(q.getQuestionID(), q.getOriginalSentence(), q.getLinkMedia(), q.getRewrittenSentence(),
+                sentenceAnswerMatcher.prepare(q.getRewrittenSentence()));
+    }
+}
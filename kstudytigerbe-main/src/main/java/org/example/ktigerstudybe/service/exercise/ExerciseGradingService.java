@@ -0,0 +1,27 @@
+package org.example.ktigerstudybe.service.exercise;
+
+import org.example.ktigerstudybe.dto.req.ExerciseAttemptRequest;
+import org.example.ktigerstudybe.dto.req.ExerciseCheckRequest;
+import org.example.ktigerstudybe.dto.resp.ExerciseGradeResponse;
+import org.example.ktigerstudybe.dto.resp.ExerciseQuizResponse;
+
+public interface ExerciseGradingService {
+
+    /**
+     * Đề bài tập (không có đáp án).
+     */
+    ExerciseQuizResponse getQuiz(Long exerciseId);
+
+    /**
+     * Chấm cả lượt làm bài trên server, lưu kết quả và cộng XP (một lần cho mỗi bài tập)
+     * trong cùng một transaction. Câu đã qua {@link #check} được chấm theo câu trả lời đầu tiên
+     * đã ghi lại, không theo câu trả lời gửi kèm.
+     */
+    ExerciseGradeResponse grade(Long exerciseId, ExerciseAttemptRequest request);
+
+    /**
+     * Chấm một câu ngay khi người học trả lời (không cộng XP). Câu trả lời đầu tiên được ghi lại
+     * cho lượt đang mở, nên đáp án đúng trả về ở đây không thể dùng để nộp lại được điểm cao hơn.
+     */
+    ExerciseGradeResponse.QuestionGrade check(Long exerciseId, ExerciseCheckRequest request);
+}
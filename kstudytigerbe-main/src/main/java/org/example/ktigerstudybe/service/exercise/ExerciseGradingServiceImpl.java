@@ -0,0 +1,213 @@
+package org.example.ktigerstudybe.service.exercise;
+
+import org.example.ktigerstudybe.dto.req.ExerciseAttemptRequest;
+import org.example.ktigerstudybe.dto.req.ExerciseCheckRequest;
+import org.example.ktigerstudybe.dto.req.UserXPUpdateRequest;
+import org.example.ktigerstudybe.dto.resp.ExerciseGradeResponse;
+import org.example.ktigerstudybe.dto.resp.ExerciseQuizResponse;
+import org.example.ktigerstudybe.dto.resp.UserXPResponse;
+import org.example.ktigerstudybe.model.ExerciseFirstAnswer;
+import org.example.ktigerstudybe.model.UserExerciseResult;
+import org.example.ktigerstudybe.repository.ExerciseFirstAnswerRepository;
+import org.example.ktigerstudybe.repository.ExerciseRepository;
+import org.example.ktigerstudybe.repository.UserExerciseResultRepository;
+import org.example.ktigerstudybe.repository.UserRepository;
+import org.example.ktigerstudybe.service.userexerciseresult.ExerciseResultRollup;
+import org.example.ktigerstudybe.service.userxp.UserXPService;
+import org.example.ktigerstudybe.service.userxp.XpSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@Service
+public class ExerciseGradingServiceImpl implements ExerciseGradingService {
+
+    public static final String MULTIPLE_CHOICE = "MULTIPLE_CHOICE";
+    public static final String REWRITING = "REWRITING";
+
+    private final ExerciseAnswerKeyCache answerKeyCache;
+    private final UserExerciseResultRepository userExerciseResultRepository;
+    private final UserRepository userRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final UserXPService userXPService;
+    private final SentenceAnswerMatcher sentenceAnswerMatcher;
+    private final ExerciseResultRollup exerciseResultRollup;
+    private final ExerciseFirstAnswerRepository firstAnswerRepository;
+    private final int xpPerCorrectAnswer;
+    private final int firstAnswerTtlHours;
+
+    public ExerciseGradingServiceImpl(ExerciseAnswerKeyCache answerKeyCache,
+                                      UserExerciseResultRepository userExerciseResultRepository,
+                                      UserRepository userRepository,
+                                      ExerciseRepository exerciseRepository,
+                                      UserXPService userXPService,
+                                      SentenceAnswerMatcher sentenceAnswerMatcher,
+                                      ExerciseResultRollup exerciseResultRollup,
+                                      ExerciseFirstAnswerRepository firstAnswerRepository,
+                                      @Value("${exercises.grading.xp-per-correct-answer:1}") int xpPerCorrectAnswer,
+                                      @Value("${exercises.grading.first-answer-ttl-hours:24}") int firstAnswerTtlHours) {
+        this.answerKeyCache = answerKeyCache;
+        this.userExerciseResultRepository = userExerciseResultRepository;
+        this.userRepository = userRepository;
+        this.exerciseRepository = exerciseRepository;
+        this.userXPService = userXPService;
+        this.sentenceAnswerMatcher = sentenceAnswerMatcher;
+        this.exerciseResultRollup = exerciseResultRollup;
+        this.firstAnswerRepository = firstAnswerRepository;
+        this.xpPerCorrectAnswer = xpPerCorrectAnswer;
+        this.firstAnswerTtlHours = firstAnswerTtlHours;
+    }
+
+    @Override
+    public ExerciseQuizResponse getQuiz(Long exerciseId) {
+        ExerciseAnswerKeyCache.AnswerKey key = answerKeyCache.get(exerciseId);
+        ExerciseQuizResponse resp = new ExerciseQuizResponse();
+        resp.setExerciseId(exerciseId);
+        resp.setMultipleChoice(key.multipleChoice().stream()
+                .map(q -> new ExerciseQuizResponse.MultipleChoiceItem(q.questionId(), q.questionText(),
+                        q.optionA(), q.optionB(), q.optionC(), q.optionD(), q.linkMedia()))
+                .toList());
+        resp.setRewriting(key.rewriting().stream()
+                .map(q -> new ExerciseQuizResponse.RewritingItem(q.questionId(), q.originalSentence(), q.linkMedia()))
+                .toList());
+        return resp;
+    }
+
+    @Override
+    @Transactional
+    public ExerciseGradeResponse grade(Long exerciseId, ExerciseAttemptRequest request) {
+        if (request.getUserId() == null) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        ExerciseAnswerKeyCache.AnswerKey key = answerKeyCache.get(exerciseId);
+        if (!userRepository.existsById(request.getUserId())) {
+            throw new IllegalArgumentException("User not found");
+        }
+
+        Map<String, String> submitted = new HashMap<>();
+        if (request.getAnswers() != null) {
+            for (ExerciseAttemptRequest.Answer a : request.getAnswers()) {
+                if (a == null || a.getQuestionId() == null || a.getType() == null) continue;
+                submitted.put(answerKey(a.getType().trim().toUpperCase(Locale.ROOT), a.getQuestionId()), a.getAnswer());
+            }
+        }
+        // Câu đã chấm qua /check tính theo câu trả lời đầu tiên (client đã thấy đáp án đúng của câu đó);
+        // xoá đi để lượt sau ghi lại từ đầu
+        LocalDateTime staleBefore = LocalDateTime.now().minusHours(firstAnswerTtlHours);
+        for (ExerciseFirstAnswer first : firstAnswerRepository.findByUserIdAndExerciseId(request.getUserId(), exerciseId)) {
+            if (first.getCreatedAt().isBefore(staleBefore)) continue;
+            submitted.put(answerKey(first.getQuestionType(), first.getQuestionId()), first.getAnswer());
+        }
+        firstAnswerRepository.deleteByUserIdAndExerciseId(request.getUserId(), exerciseId);
+
+        // Câu không trả lời tính là sai
+        List<ExerciseGradeResponse.QuestionGrade> results = new ArrayList<>(key.totalQuestions());
+        int correctCount = 0;
+        for (ExerciseAnswerKeyCache.MultipleChoiceKey q : key.multipleChoice()) {
+            ExerciseGradeResponse.QuestionGrade grade = gradeMultipleChoice(q, submitted.get(answerKey(MULTIPLE_CHOICE, q.questionId())));
+            if (grade.isCorrect()) correctCount++;
+            results.add(grade);
+        }
+        for (ExerciseAnswerKeyCache.RewritingKey q : key.rewriting()) {
+            ExerciseGradeResponse.QuestionGrade grade = gradeRewriting(q, submitted.get(answerKey(REWRITING, q.questionId())));
+            if (grade.isCorrect()) correctCount++;
+            results.add(grade);
+        }
+        int total = key.totalQuestions();
+        int score = total == 0 ? 0 : Math.round(correctCount * 100f / total);
+
+        UserExerciseResult entity = new UserExerciseResult();
+        entity.setUser(userRepository.getReferenceById(request.getUserId()));
+        entity.setExercise(exerciseRepository.getReferenceById(exerciseId));
+        entity.setScore(score);
+        entity.setDateComplete(LocalDateTime.now());
+        entity = userExerciseResultRepository.save(entity);
+        exerciseResultRollup.record(request.getUserId(), exerciseId, score, entity.getDateComplete());
+
+        // XP chỉ cộng một lần cho mỗi bài tập (sổ cái XP chặn lần nộp lại)
+        UserXPResponse xpData = null;
+        int xpAwarded = 0;
+        int xp = correctCount * xpPerCorrectAnswer;
+        if (xp > 0) {
+            UserXPUpdateRequest xpRequest = new UserXPUpdateRequest();
+            xpRequest.setUserId(request.getUserId());
+            xpRequest.setXpToAdd(xp);
+            xpRequest.setSource(XpSource.EXERCISE);
+            xpRequest.setSourceId(String.valueOf(exerciseId));
+            xpData = userXPService.addXP(xpRequest);
+            xpAwarded = xpData.getXpAwarded() != null ? xpData.getXpAwarded() : 0;
+        }
+
+        ExerciseGradeResponse resp = new ExerciseGradeResponse();
+        resp.setResultId(entity.getResultId());
+        resp.setExerciseId(exerciseId);
+        resp.setTotalQuestions(total);
+        resp.setCorrectCount(correctCount);
+        resp.setScore(score);
+        resp.setXpAwarded(xpAwarded);
+        resp.setXpData(xpData);
+        resp.setResults(results);
+        return resp;
+    }
+
+    @Override
+    @Transactional
+    public ExerciseGradeResponse.QuestionGrade check(Long exerciseId, ExerciseCheckRequest request) {
+        if (request == null || request.getUserId() == null || request.getQuestionId() == null || request.getType() == null) {
+            throw new IllegalArgumentException("userId, questionId and type are required");
+        }
+        if (request.getAnswer() != null && request.getAnswer().length() > SentenceAnswerMatcher.MAX_ANSWER_LENGTH) {
+            throw new IllegalArgumentException("answer must be at most " + SentenceAnswerMatcher.MAX_ANSWER_LENGTH + " characters");
+        }
+        ExerciseAnswerKeyCache.AnswerKey key = answerKeyCache.get(exerciseId);
+        String type = request.getType().trim().toUpperCase(Locale.ROOT);
+        ExerciseGradeResponse.QuestionGrade grade = null;
+        if (MULTIPLE_CHOICE.equals(type)) {
+            for (ExerciseAnswerKeyCache.MultipleChoiceKey q : key.multipleChoice()) {
+                if (q.questionId().equals(request.getQuestionId())) grade = gradeMultipleChoice(q, request.getAnswer());
+            }
+        } else if (REWRITING.equals(type)) {
+            for (ExerciseAnswerKeyCache.RewritingKey q : key.rewriting()) {
+                if (q.questionId().equals(request.getQuestionId())) grade = gradeRewriting(q, request.getAnswer());
+            }
+        } else {
+            throw new IllegalArgumentException("type must be " + MULTIPLE_CHOICE + " or " + REWRITING);
+        }
+        if (grade == null) {
+            throw new NoSuchElementException("Question " + request.getQuestionId() + " not found in exercise " + exerciseId);
+        }
+        if (!userRepository.existsById(request.getUserId())) {
+            throw new IllegalArgumentException("User not found");
+        }
+
+        // Ghi câu trả lời đầu tiên trước khi lộ đáp án; các lần kiểm tra sau (ôn lại câu sai) không ghi đè
+        LocalDateTime now = LocalDateTime.now();
+        firstAnswerRepository.recordFirstAnswer(request.getUserId(), exerciseId, type, request.getQuestionId(),
+                request.getAnswer(), now, now.minusHours(firstAnswerTtlHours));
+        return grade;
+    }
+
+    private static ExerciseGradeResponse.QuestionGrade gradeMultipleChoice(ExerciseAnswerKeyCache.MultipleChoiceKey q,
+                                                                           String answer) {
+        boolean correct = answer != null && q.correctAnswer() != null
+                && answer.trim().equalsIgnoreCase(q.correctAnswer().trim());
+        return new ExerciseGradeResponse.QuestionGrade(q.questionId(), MULTIPLE_CHOICE, correct, q.correctAnswer());
+    }
+
+    private ExerciseGradeResponse.QuestionGrade gradeRewriting(ExerciseAnswerKeyCache.RewritingKey q, String answer) {
+        boolean correct = sentenceAnswerMatcher.matches(q.reference(), answer);
+        return new ExerciseGradeResponse.QuestionGrade(q.questionId(), REWRITING, correct, q.rewrittenSentence());
+    }
+
+    private static String answerKey(String type, Long questionId) {
+        return type + ":" + questionId;
+    }
+}
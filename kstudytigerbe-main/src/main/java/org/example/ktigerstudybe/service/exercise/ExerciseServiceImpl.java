@@ -24,6 +24,9 @@ public class ExerciseServiceImpl implements ExerciseService {
     @Autowired
     private LessonRepository lessonRepository;
 
+    @Autowired
+    private ExerciseAnswerKeyCache answerKeyCache;
+
     private ExerciseResponse toResponse(Exercise entity) {
         ExerciseResponse resp = new ExerciseResponse();
         resp.setExerciseId(entity.getExerciseId());
@@ -83,6 +86,7 @@ public class ExerciseServiceImpl implements ExerciseService {
     @Override
     public void deleteExercise(Long id) {
         exerciseRepository.deleteById(id);
+        answerKeyCache.evictAll();
     }
 
     @Override
@@ -0,0 +1,194 @@
+package org.example.ktigerstudybe.service.exercise;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+
+/**
+ * So khớp câu viết lại của người học với đáp án.
+ * Cả hai câu được chuẩn hoá NFC, bỏ dấu câu và khoảng trắng, đưa về chữ thường; nếu khác nhau
+ * thì tách âm tiết Hangul thành jamo và tính khoảng cách Levenshtein, chấp nhận sai khác
+ * tối đa {@code exercises.grading.rewriting.max-distance-ratio} × số jamo của đáp án.
+ * Đáp án được chuẩn hoá sẵn một lần ({@link #prepare(String)}) và lưu trong cache đáp án;
+ * mỗi lần chấm chỉ chuẩn hoá câu trả lời, bộ đệm tính toán dùng lại theo từng thread.
+ * Câu trả lời dài hơn {@value #MAX_ANSWER_LENGTH} ký tự hoặc lệch độ dài quá ngưỡng bị loại ngay,
+ * trước khi chuẩn hoá/tách jamo, để request lớn không làm phình bộ đệm của thread.
+ */
+@Component
+public class SentenceAnswerMatcher {
+
+    private static final int HANGUL_BASE = 0xAC00;
+    private static final int HANGUL_LAST = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+    private static final int SYLLABLES_PER_CHO = JUNG_COUNT * JONG_COUNT;
+    private static final char CHO_BASE = 0x1100;
+    private static final char JUNG_BASE = 0x1161;
+    private static final char JONG_BASE = 0x11A7;
+
+    static final int MAX_ANSWER_LENGTH = 1000;
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final double maxDistanceRatio;
+
+    public SentenceAnswerMatcher(@Value("${exercises.grading.rewriting.max-distance-ratio:0.1}") double maxDistanceRatio) {
+        if (maxDistanceRatio < 0 || maxDistanceRatio >= 1) {
+            throw new IllegalArgumentException("max-distance-ratio must be in [0, 1)");
+        }
+        this.maxDistanceRatio = maxDistanceRatio;
+    }
+
+    /**
+     * Đáp án đã chuẩn hoá: chuỗi rút gọn và dãy jamo, cùng số lỗi tối đa được chấp nhận.
+     */
+    public record Reference(String canonical, char[] jamo, int maxDistance) {
+    }
+
+    public Reference prepare(String expected) {
+        String canonical = canonicalize(expected == null ? "" : expected, new StringBuilder());
+        int length = jamoLength(canonical);
+        char[] jamo = toJamo(canonical, new char[length]);
+        return new Reference(canonical, jamo, (int) Math.floor(length * maxDistanceRatio));
+    }
+
+    public boolean matches(Reference reference, String answer) {
+        if (answer == null || answer.length() > MAX_ANSWER_LENGTH || reference.canonical().isEmpty()) return false;
+        Buffers buf = BUFFERS.get();
+        buf.text.setLength(0);
+        String canonical = canonicalize(answer, buf.text);
+        if (canonical.equals(reference.canonical())) return true;
+        int max = reference.maxDistance();
+        if (max == 0) return false;
+
+        // Mỗi ký tự cho ít nhất một jamo, và khoảng cách không nhỏ hơn độ lệch số jamo
+        int referenceLength = reference.jamo().length;
+        if (canonical.length() > referenceLength + max) return false;
+        int length = jamoLength(canonical);
+        if (Math.abs(length - referenceLength) > max) return false;
+
+        char[] jamo = buf.jamo(length);
+        toJamo(canonical, jamo);
+        return withinDistance(reference.jamo(), jamo, length, max, buf);
+    }
+
+    /**
+     * NFC, bỏ khoảng trắng và dấu câu, chữ thường. Chuỗi đã là NFC thì không cấp phát lại.
+     */
+    static String canonicalize(String text, StringBuilder out) {
+        String nfc = Normalizer.isNormalized(text, Normalizer.Form.NFC)
+                ? text : Normalizer.normalize(text, Normalizer.Form.NFC);
+        for (int i = 0; i < nfc.length(); i++) {
+            char c = nfc.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c) || isPunctuation(c)) continue;
+            out.append(Character.toLowerCase(c));
+        }
+        return out.toString();
+    }
+
+    private static boolean isPunctuation(char c) {
+        switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static int jamoLength(String canonical) {
+        int length = 0;
+        for (int i = 0; i < canonical.length(); i++) {
+            char c = canonical.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                length += (c - HANGUL_BASE) % JONG_COUNT == 0 ? 2 : 3;
+            } else {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Tách âm tiết Hangul thành jamo theo công thức Unicode (tương đương NFD), ký tự khác giữ nguyên.
+     */
+    private static char[] toJamo(String canonical, char[] out) {
+        int n = 0;
+        for (int i = 0; i < canonical.length(); i++) {
+            char c = canonical.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                int index = c - HANGUL_BASE;
+                out[n++] = (char) (CHO_BASE + index / SYLLABLES_PER_CHO);
+                out[n++] = (char) (JUNG_BASE + (index % SYLLABLES_PER_CHO) / JONG_COUNT);
+                int jong = index % JONG_COUNT;
+                if (jong != 0) out[n++] = (char) (JONG_BASE + jong);
+            } else {
+                out[n++] = c;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Levenshtein giới hạn trong dải rộng {@code max} quanh đường chéo; dừng sớm khi cả hàng vượt ngưỡng.
+     */
+    private static boolean withinDistance(char[] a, char[] b, int bLength, int max, Buffers buf) {
+        int aLength = a.length;
+        if (Math.abs(aLength - bLength) > max) return false;
+
+        int[] prev = buf.prev(bLength + 1);
+        int[] curr = buf.curr(bLength + 1);
+        int big = max + 1;
+        for (int j = 0; j <= bLength; j++) {
+            prev[j] = j <= max ? j : big;
+        }
+        for (int i = 1; i <= aLength; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(bLength, i + max);
+            curr[0] = i <= max ? i : big;
+            if (from > 1) curr[from - 1] = big;
+            int rowMin = curr[0];
+            char ca = a[i - 1];
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b[j - 1] ? 0 : 1;
+                int value = Math.min(Math.min(prev[j] + 1, curr[j - 1] + 1), prev[j - 1] + cost);
+                curr[j] = Math.min(value, big);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (to < bLength) curr[to + 1] = big;
+            if (rowMin > max) return false;
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return prev[bLength] <= max;
+    }
+
+    private static final class Buffers {
+        final StringBuilder text = new StringBuilder(128);
+        char[] jamo = new char[384];
+        int[] prev = new int[385];
+        int[] curr = new int[385];
+
+        char[] jamo(int size) {
+            if (jamo.length < size) jamo = new char[size];
+            return jamo;
+        }
+
+        int[] prev(int size) {
+            if (prev.length < size) prev = new int[size];
+            return prev;
+        }
+
+        int[] curr(int size) {
+            if (curr.length < size) curr = new int[size];
+            return curr;
+        }
+    }
+}
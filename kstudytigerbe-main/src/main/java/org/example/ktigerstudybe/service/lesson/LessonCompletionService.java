@@ -0,0 +1,22 @@
+package org.example.ktigerstudybe.service.lesson;
+
+import org.example.ktigerstudybe.dto.resp.UserXPResponse;
+
+/**
+ * Xử lý hoàn thành bài học dùng chung cho mọi endpoint: đánh dấu tiến độ, mở bài kế tiếp
+ * và cộng XP (chỉ lần đầu) trong cùng một transaction.
+ */
+public interface LessonCompletionService {
+
+    /**
+     * @param score số XP cộng khi hoàn thành lần đầu; null hoặc 0 thì không cộng XP
+     */
+    Result complete(Long userId, Long lessonId, Integer score);
+
+    /**
+     * @param firstTime true nếu đây là lần đầu bài học được đánh dấu hoàn thành
+     * @param xp        XP sau khi cộng; null nếu không cộng XP
+     */
+    record Result(boolean firstTime, UserXPResponse xp) {
+    }
+}
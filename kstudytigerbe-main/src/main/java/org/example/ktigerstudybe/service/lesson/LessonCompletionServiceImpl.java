@@ -0,0 +1,78 @@
+package org.example.ktigerstudybe.service.lesson;
+
+import org.example.ktigerstudybe.dto.req.UserXPUpdateRequest;
+import org.example.ktigerstudybe.dto.resp.UserXPResponse;
+import org.example.ktigerstudybe.repository.LessonRepository;
+import org.example.ktigerstudybe.repository.UserProgressRepository;
+import org.example.ktigerstudybe.service.userxp.UserXPService;
+import org.example.ktigerstudybe.service.userxp.XpSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Không tải User/Lesson: bài học được kiểm tra qua {@link LessonOrderIndex}, tiến độ được ghi
+ * bằng UPDATE rồi INSERT IGNORE trên khoá (UserID, LessonID).
+ * Số câu SQL (chưa tính cộng XP): lần đầu 2–3, lần sau 3.
+ */
+@Service
+public class LessonCompletionServiceImpl implements LessonCompletionService {
+
+    private final UserProgressRepository userProgressRepository;
+    private final LessonRepository lessonRepository;
+    private final LessonOrderIndex lessonOrderIndex;
+    private final LessonProgressCache lessonProgressCache;
+    private final UserXPService userXPService;
+
+    public LessonCompletionServiceImpl(UserProgressRepository userProgressRepository,
+                                       LessonRepository lessonRepository,
+                                       LessonOrderIndex lessonOrderIndex,
+                                       LessonProgressCache lessonProgressCache,
+                                       UserXPService userXPService) {
+        this.userProgressRepository = userProgressRepository;
+        this.lessonRepository = lessonRepository;
+        this.lessonOrderIndex = lessonOrderIndex;
+        this.lessonProgressCache = lessonProgressCache;
+        this.userXPService = userXPService;
+    }
+
+    @Override
+    @Transactional
+    public Result complete(Long userId, Long lessonId, Integer score) {
+        if (userId == null || lessonId == null) {
+            throw new IllegalArgumentException("userId and lessonId are required");
+        }
+        if (!lessonOrderIndex.contains(lessonId)) {
+            // Chỉ mục có thể chưa kịp thấy bài học mới (thêm từ instance khác hoặc trực tiếp vào DB)
+            if (!lessonRepository.existsById(lessonId)) {
+                throw new IllegalArgumentException("Lesson not found with id: " + lessonId);
+            }
+            lessonOrderIndex.refresh();
+        }
+
+        boolean firstTime = userProgressRepository.markCompleted(userId, lessonId) > 0
+                || userProgressRepository.insertIfAbsent(userId, lessonId, true) > 0;
+        if (!firstTime && userProgressRepository.touch(userId, lessonId) == 0) {
+            // Không cập nhật, không chèn được và cũng không có dòng để chạm: user không tồn tại
+            throw new IllegalArgumentException("User not found");
+        }
+
+        if (firstTime) {
+            Long nextLessonId = lessonOrderIndex.nextLessonId(lessonId);
+            if (nextLessonId != null) {
+                userProgressRepository.insertIfAbsent(userId, nextLessonId, false);
+            }
+        }
+        lessonProgressCache.evictUser(userId);
+
+        UserXPResponse xp = null;
+        if (firstTime && score != null && score > 0) {
+            UserXPUpdateRequest xpRequest = new UserXPUpdateRequest();
+            xpRequest.setUserId(userId);
+            xpRequest.setXpToAdd(score);
+            xpRequest.setSource(XpSource.LESSON);
+            xpRequest.setSourceId(String.valueOf(lessonId));
+            xp = userXPService.addXP(xpRequest);
+        }
+        return new Result(firstTime, xp);
+    }
+}
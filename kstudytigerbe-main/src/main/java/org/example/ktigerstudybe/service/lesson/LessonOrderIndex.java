@@ -0,0 +1,91 @@
+package org.example.ktigerstudybe.service.lesson;
+
+import org.example.ktigerstudybe.repository.LessonRepository;
+import org.example.ktigerstudybe.repository.projection.LessonOrderRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Thứ tự bài học trong từng level (theo LessonID, giống thứ tự mở khoá), giữ trong bộ nhớ
+ * để tìm "bài tiếp theo" khi hoàn thành bài học mà không phải tải và sắp xếp cả level.
+ * {@link LessonServiceImpl} gọi {@link #refresh()} mỗi khi thêm/sửa/xoá bài học.
+ */
+@Component
+public class LessonOrderIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LessonOrderIndex.class);
+
+    private final LessonRepository lessonRepository;
+
+    private volatile Snapshot snapshot;
+
+    public LessonOrderIndex(LessonRepository lessonRepository) {
+        this.lessonRepository = lessonRepository;
+    }
+
+    /**
+     * {@code lessonIds} : mọi bài học hiện có;
+     * {@code nextOf} : bài học → bài kế tiếp cùng level (không có nếu là bài cuối hoặc chưa gắn level).
+     */
+    private record Snapshot(Set<Long> lessonIds, Map<Long, Long> nextOf) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Lesson order index load failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Nạp lại thứ tự bài học từ DB.
+     */
+    public void refresh() {
+        List<LessonOrderRow> rows = lessonRepository.findAllLessonOrder();
+        Set<Long> lessonIds = new HashSet<>(rows.size() * 2);
+        Map<Long, Long> nextOf = new HashMap<>(rows.size() * 2);
+        LessonOrderRow prev = null;
+        for (LessonOrderRow row : rows) {
+            lessonIds.add(row.getLessonId());
+            if (prev != null && row.getLevelId() != null && row.getLevelId().equals(prev.getLevelId())) {
+                nextOf.put(prev.getLessonId(), row.getLessonId());
+            }
+            prev = row;
+        }
+        snapshot = new Snapshot(Set.copyOf(lessonIds), Map.copyOf(nextOf));
+        logger.info("Lesson order index loaded: {} lessons", rows.size());
+    }
+
+    public boolean contains(Long lessonId) {
+        return current().lessonIds().contains(lessonId);
+    }
+
+    /**
+     * Bài học kế tiếp trong cùng level; null nếu là bài cuối hoặc không rõ level.
+     */
+    public Long nextLessonId(Long lessonId) {
+        return current().nextOf().get(lessonId);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) refresh();
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.ktigerstudybe.service.lesson;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Cache bản đồ bài học (hoàn thành / bị khoá) theo người học và level.
+ * LRU theo người học, giới hạn bởi {@code lessons.progress-cache.max-users}.
+ * Xoá của một người học sau khi transaction hoàn thành bài học commit,
+ * xoá toàn bộ khi danh sách bài học thay đổi.
+ * Mỗi lần xoá tăng generation của người học (chia theo {@value #GENERATION_STRIPES} nhóm để bộ nhớ cố định);
+ * kết quả nạp song song chỉ được ghi vào cache nếu generation không đổi trong lúc nạp,
+ * nên dữ liệu cũ đọc trước khi commit không ghi đè lên lần xoá sau commit.
+ */
+@Component
+public class LessonProgressCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final int maxUsers;
+    private final LinkedHashMap<Long, Map<Long, List<LessonState>>> entries;
+    // Đọc/ghi trong synchronized (entries)
+    private final long[] userGenerations = new long[GENERATION_STRIPES];
+    private long globalGeneration;
+
+    public LessonProgressCache(@Value("${lessons.progress-cache.max-users:10000}") int maxUsers) {
+        this.maxUsers = maxUsers;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<Long, List<LessonState>>> eldest) {
+                return size() > LessonProgressCache.this.maxUsers;
+            }
+        };
+    }
+
+    /**
+     * Trạng thái một bài học trong level đối với người học.
+     */
+    public record LessonState(Long lessonId, String lessonName, String lessonDescription,
+                              boolean completed, boolean locked) {
+    }
+
+    public List<LessonState> get(Long userId, Long levelId, Supplier<List<LessonState>> loader) {
+        long generation;
+        synchronized (entries) {
+            Map<Long, List<LessonState>> byLevel = entries.get(userId);
+            if (byLevel != null) {
+                List<LessonState> cached = byLevel.get(levelId);
+                if (cached != null) return cached;
+            }
+            generation = generationOf(userId);
+        }
+        List<LessonState> loaded = List.copyOf(loader.get());
+        synchronized (entries) {
+            // Bị xoá trong lúc nạp: kết quả có thể đã cũ, chỉ trả về mà không cache
+            if (generationOf(userId) == generation) {
+                entries.computeIfAbsent(userId, k -> new HashMap<>()).put(levelId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Xoá cache của người học; trong transaction thì xoá sau khi commit
+     * để request đọc song song không nạp lại dữ liệu cũ.
+     */
+    public void evictUser(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        }
+        evictNow(userId);
+    }
+
+    public void evictAll() {
+        synchronized (entries) {
+            globalGeneration++;
+            entries.clear();
+        }
+    }
+
+    private void evictNow(Long userId) {
+        synchronized (entries) {
+            userGenerations[stripe(userId)]++;
+            entries.remove(userId);
+        }
+    }
+
+    // Hai bộ đếm chỉ tăng nên tổng đổi khi một trong hai đổi
+    private long generationOf(Long userId) {
+        return globalGeneration + userGenerations[stripe(userId)];
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(Objects.hashCode(userId), GENERATION_STRIPES);
+    }
+}
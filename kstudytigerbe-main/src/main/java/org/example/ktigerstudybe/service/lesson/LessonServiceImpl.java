@@ -1,29 +1,21 @@
 package org.example.ktigerstudybe.service.lesson;
 
 import org.example.ktigerstudybe.dto.req.LessonRequest;
-import org.example.ktigerstudybe.dto.req.UserXPUpdateRequest;
 import org.example.ktigerstudybe.dto.resp.LessonResponse;
 import org.example.ktigerstudybe.dto.resp.LessonWithProgressResponse;
-import org.example.ktigerstudybe.dto.resp.UserXPResponse;
 import org.example.ktigerstudybe.model.Lesson;
-import org.example.ktigerstudybe.model.UserProgress;
 import org.example.ktigerstudybe.repository.LessonRepository;
-import org.example.ktigerstudybe.repository.UserProgressRepository;
-import org.example.ktigerstudybe.repository.UserRepository;
-import org.example.ktigerstudybe.service.userxp.UserXPService;
+import org.example.ktigerstudybe.repository.projection.LessonProgressRow;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,12 +24,11 @@ public class LessonServiceImpl implements LessonService {
     @Autowired
     private LessonRepository lessonRepository;
     @Autowired
-    private UserProgressRepository userProgressRepository;
-
+    private LessonProgressCache lessonProgressCache;
     @Autowired
-    private UserRepository userRepository;
+    private LessonOrderIndex lessonOrderIndex;
     @Autowired
-    private UserXPService userXPService;
+    private LessonCompletionService lessonCompletionService;
 
     // Mapping từ Entity sang Response DTO
     private LessonResponse toResponse(Lesson lesson) {
@@ -60,6 +51,8 @@ public class LessonServiceImpl implements LessonService {
     public LessonResponse createLesson(LessonRequest request) {
         Lesson lesson = toEntity(request);
         lesson = lessonRepository.save(lesson);
+        lessonOrderIndex.refresh();
+        lessonProgressCache.evictAll();
         return toResponse(lesson);
     }
 
@@ -70,6 +63,8 @@ public class LessonServiceImpl implements LessonService {
         lesson.setLessonName(request.getLessonName());
         lesson.setLessonDescription(request.getLessonDescription());
         lesson = lessonRepository.save(lesson);
+        lessonOrderIndex.refresh();
+        lessonProgressCache.evictAll();
         return toResponse(lesson);
     }
 
@@ -90,6 +85,8 @@ public class LessonServiceImpl implements LessonService {
     @Override
     public void deleteLesson(Long lessonId) {
         lessonRepository.deleteById(lessonId);
+        lessonOrderIndex.refresh();
+        lessonProgressCache.evictAll();
     }
 
     @Override
@@ -101,37 +98,32 @@ public class LessonServiceImpl implements LessonService {
 
     @Override
     public List<LessonWithProgressResponse> getLessonsWithProgress(Long levelId, Long userId) {
-        List<Lesson> lessons = lessonRepository.findByLevel_LevelId(levelId);
-        List<UserProgress> progressList = userProgressRepository.findByUser_UserId(userId);
-
-        Map<Long, Boolean> completedMap = progressList.stream()
-                .filter(UserProgress::getIsLessonCompleted)
-                .collect(Collectors.toMap(
-                        p -> p.getLesson().getLessonId(),
-                        p -> true
-                ));
-
-        List<LessonWithProgressResponse> response = new ArrayList<>();
-
-        for (int i = 0; i < lessons.size(); i++) {
-            Lesson l = lessons.get(i);
-            LessonWithProgressResponse dto = new LessonWithProgressResponse();
-            dto.setLessonId(l.getLessonId());
-            dto.setLessonName(l.getLessonName());
-            dto.setLessonDescription(l.getLessonDescription());
-            dto.setLessonCompleted(completedMap.containsKey(l.getLessonId()));
-
-            if (i == 0) {
-                dto.setLocked(false); // bài đầu tiên luôn mở
-            } else {
-                Long prevLessonId = lessons.get(i - 1).getLessonId();
-                boolean prevCompleted = completedMap.containsKey(prevLessonId);
-                dto.setLocked(!prevCompleted);
-            }
-            response.add(dto);
-        }
+        return lessonProgressCache.get(userId, levelId, () -> loadLessonStates(levelId, userId))
+                .stream()
+                .map(state -> {
+                    LessonWithProgressResponse dto = new LessonWithProgressResponse();
+                    dto.setLessonId(state.lessonId());
+                    dto.setLessonName(state.lessonName());
+                    dto.setLessonDescription(state.lessonDescription());
+                    dto.setLessonCompleted(state.completed());
+                    dto.setLocked(state.locked());
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
 
-        return response;
+    // Một truy vấn: bài học của level LEFT JOIN tiến độ của người học; bài i bị khoá nếu bài i-1 chưa hoàn thành
+    private List<LessonProgressCache.LessonState> loadLessonStates(Long levelId, Long userId) {
+        List<LessonProgressRow> rows = lessonRepository.findLessonProgressByLevel(levelId, userId);
+        List<LessonProgressCache.LessonState> states = new ArrayList<>(rows.size());
+        boolean prevCompleted = true; // bài đầu tiên luôn mở
+        for (LessonProgressRow row : rows) {
+            boolean completed = row.getCompleted() != null && row.getCompleted() == 1;
+            states.add(new LessonProgressCache.LessonState(row.getLessonId(), row.getLessonName(),
+                    row.getLessonDescription(), completed, !prevCompleted));
+            prevCompleted = completed;
+        }
+        return states;
     }
 
     //admin
@@ -154,43 +146,14 @@ public class LessonServiceImpl implements LessonService {
     }
 
     @Override
-    @Transactional
     public Map<String, Object> completeLesson(Long userId, Long lessonId, Integer score) {
-        // ✅ Kiểm tra UserProgress để xem đã hoàn thành chưa
-        Optional<UserProgress> existingProgressOpt = userProgressRepository
-                .findByUser_UserIdAndLesson_LessonId(userId, lessonId);
-
-        UserProgress existingProgress = existingProgressOpt.orElse(null);
-
-        // ✅ Kiểm tra lần đầu hoàn thành dựa trên IsLessonCompleted
-        boolean isFirstTimeCompletion = (existingProgress == null ||
-                !existingProgress.getIsLessonCompleted());
-
-        // ✅ Cập nhật/tạo mới UserProgress (chỉ lưu trạng thái hoàn thành)
-        UserProgress progress = existingProgress != null ? existingProgress : new UserProgress();
-        progress.setUser(userRepository.findById(userId).orElseThrow());
-        progress.setLesson(lessonRepository.findById(lessonId).orElseThrow());
-        progress.setIsLessonCompleted(true);
-        progress.setLastAccessed(LocalDateTime.now());
-
-        userProgressRepository.save(progress);
-
-        // ✅ Chỉ cộng XP nếu là lần đầu hoàn thành
-        UserXPResponse xpData = null;
-        if (isFirstTimeCompletion) {
-            // Tạo request object
-            UserXPUpdateRequest xpRequest = new UserXPUpdateRequest();
-            xpRequest.setUserId(userId);
-            xpRequest.setXpToAdd(score);
-
-            xpData = userXPService.addXP(xpRequest);
-        }
-
+        LessonCompletionService.Result result = lessonCompletionService.complete(userId, lessonId, score);
+        boolean xpAdded = result.xp() != null && result.xp().getXpAwarded() != null && result.xp().getXpAwarded() > 0;
         return Map.of(
                 "completed", true,
-                "isFirstTime", isFirstTimeCompletion,
-                "xpAdded", isFirstTimeCompletion,
-                "xpData", xpData != null ? xpData : Map.of()
+                "isFirstTime", result.firstTime(),
+                "xpAdded", xpAdded,
+                "xpData", result.xp() != null ? result.xp() : Map.of()
         );
     }
 }
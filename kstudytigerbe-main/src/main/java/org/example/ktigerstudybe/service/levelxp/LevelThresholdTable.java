@@ -0,0 +1,111 @@
+package org.example.ktigerstudybe.service.levelxp;
+
+import org.example.ktigerstudybe.model.LevelXP;
+import org.example.ktigerstudybe.repository.LevelXPRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Bảng ngưỡng XP của các level, nạp một lần từ bảng levelxp và giữ dạng mảng bất biến.
+ * Tính level theo XP bằng tìm kiếm nhị phân, không cần truy vấn DB khi cộng XP.
+ * {@link LevelXPServiceImpl} gọi {@link #refresh()} mỗi khi thêm/sửa/xoá level.
+ */
+@Component
+public class LevelThresholdTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LevelThresholdTable.class);
+
+    private final LevelXPRepository levelXPRepository;
+
+    private volatile Snapshot snapshot;
+
+    public LevelThresholdTable(LevelXPRepository levelXPRepository) {
+        this.levelXPRepository = levelXPRepository;
+    }
+
+    public record Level(int levelNumber, int requiredXP, String title, String badgeImage) {
+    }
+
+    /**
+     * Các level sắp theo LevelNumber; {@code thresholds[i]} là XP cần để đạt levels[i],
+     * đã lấy max với các level trước để mảng không giảm (phải qua level trước mới lên level sau).
+     */
+    private record Snapshot(Level[] levels, int[] thresholds) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Level threshold table load failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Nạp lại bảng ngưỡng từ DB.
+     */
+    public void refresh() {
+        List<LevelXP> rows = levelXPRepository.findAll();
+        Level[] levels = rows.stream()
+                .filter(l -> l.getLevelNumber() != null)
+                .sorted(Comparator.comparing(LevelXP::getLevelNumber))
+                .map(l -> new Level(l.getLevelNumber(),
+                        l.getRequiredXP() != null ? l.getRequiredXP() : 0,
+                        l.getTitle(), l.getBadgeImage()))
+                .toArray(Level[]::new);
+        int[] thresholds = new int[levels.length];
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < levels.length; i++) {
+            max = Math.max(max, levels[i].requiredXP());
+            thresholds[i] = max;
+        }
+        snapshot = new Snapshot(levels, thresholds);
+        logger.info("Level threshold table loaded: {} levels", levels.length);
+    }
+
+    /**
+     * Level đầu tiên (thường là level 1); null nếu chưa cấu hình level nào.
+     */
+    public Level first() {
+        Level[] levels = current().levels();
+        return levels.length == 0 ? null : levels[0];
+    }
+
+    /**
+     * Level cao nhất đạt được với {@code totalXP}; null nếu chưa đủ XP cho level nào.
+     */
+    public Level resolve(int totalXP) {
+        Snapshot s = current();
+        int[] thresholds = s.thresholds();
+        // Tìm vị trí đầu tiên có ngưỡng > totalXP; level đạt được nằm ngay trước đó
+        int lo = 0;
+        int hi = thresholds.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (thresholds[mid] <= totalXP) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo == 0 ? null : s.levels()[lo - 1];
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) refresh();
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+}
@@ -15,6 +15,8 @@ public class LevelXPServiceImpl implements LevelXPService {
 
     @Autowired
     private LevelXPRepository levelXPRepository;
+    @Autowired
+    private LevelThresholdTable levelThresholdTable;
 
     private LevelXPResponse toResponse(LevelXP entity) {
         LevelXPResponse resp = new LevelXPResponse();
@@ -33,6 +35,7 @@ public class LevelXPServiceImpl implements LevelXPService {
         entity.setTitle(req.getTitle());
         entity.setBadgeImage(req.getBadgeImage());
         entity = levelXPRepository.save(entity);
+        levelThresholdTable.refresh();
         return toResponse(entity);
     }
 
@@ -53,5 +56,6 @@ public class LevelXPServiceImpl implements LevelXPService {
     @Override
     public void deleteByLevelNumber(Integer levelNumber) {
         levelXPRepository.deleteById(levelNumber);
+        levelThresholdTable.refresh();
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.example.ktigerstudybe.model.Exercise;
 import org.example.ktigerstudybe.model.MultipleChoiceQuestion;
 import org.example.ktigerstudybe.repository.ExerciseRepository;
 import org.example.ktigerstudybe.repository.MultipleChoiceQuestionRepository;
+import org.example.ktigerstudybe.service.exercise.ExerciseAnswerKeyCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
@@ -25,6 +26,9 @@ public class MultipleChoiceQuestionServiceImpl implements MultipleChoiceQuestion
     @Autowired
     private ExerciseRepository exerciseRepository;
 
+    @Autowired
+    private ExerciseAnswerKeyCache answerKeyCache;
+
     private MultipleChoiceQuestionResponse toResponse(MultipleChoiceQuestion q) {
         MultipleChoiceQuestionResponse resp = new MultipleChoiceQuestionResponse();
         resp.setQuestionId(q.getQuestionId());
@@ -39,6 +43,12 @@ public class MultipleChoiceQuestionServiceImpl implements MultipleChoiceQuestion
         return resp;
     }
 
+    private MultipleChoiceQuestionResponse toLearnerResponse(MultipleChoiceQuestion q) {
+        MultipleChoiceQuestionResponse resp = toResponse(q);
+        resp.setCorrectAnswer(null);
+        return resp;
+    }
+
     private MultipleChoiceQuestion toEntity(MultipleChoiceQuestionRequest req) {
         Exercise exercise = exerciseRepository.findById(req.getExerciseId())
                 .orElseThrow(() -> new IllegalArgumentException("Exercise not found with id: " + req.getExerciseId()));
@@ -70,6 +80,7 @@ public class MultipleChoiceQuestionServiceImpl implements MultipleChoiceQuestion
     public MultipleChoiceQuestionResponse create(MultipleChoiceQuestionRequest request) {
         MultipleChoiceQuestion q = toEntity(request);
         q = questionRepository.save(q);
+        answerKeyCache.evictAll();
         return toResponse(q);
     }
 
@@ -90,17 +101,22 @@ public class MultipleChoiceQuestionServiceImpl implements MultipleChoiceQuestion
         q.setCorrectAnswer(request.getCorrectAnswer());
         q.setLinkMedia(request.getLinkMedia());
         q = questionRepository.save(q);
+        answerKeyCache.evictAll();
         return toResponse(q);
     }
 
     @Override
     public void delete(Long id) {
         questionRepository.deleteById(id);
+        answerKeyCache.evictAll();
     }
 
     @Override
     public List<MultipleChoiceQuestionResponse> getByExerciseId(Long exerciseId) {
-        return questionRepository.findByExercise_ExerciseId(exerciseId).stream().map(this::toResponse).collect(Collectors.toList());
+        // Đề cho người học: đáp án chỉ lộ ra qua POST /api/exercises/{id}/check sau khi đã trả lời
+        return questionRepository.findByExercise_ExerciseId(exerciseId).stream()
+                .map(this::toLearnerResponse)
+                .collect(Collectors.toList());
     }
 
     //admin
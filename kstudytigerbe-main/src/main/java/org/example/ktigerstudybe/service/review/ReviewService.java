@@ -0,0 +1,24 @@
+package org.example.ktigerstudybe.service.review;
+
+import org.example.ktigerstudybe.dto.req.ReviewEnrollRequest;
+import org.example.ktigerstudybe.dto.req.ReviewSubmitRequest;
+import org.example.ktigerstudybe.dto.resp.ReviewCardResponse;
+
+import java.util.List;
+
+public interface ReviewService {
+
+    /**
+     * Thêm thẻ ôn tập cho deck và/hoặc từ vựng bài học; trả về số thẻ mới.
+     */
+    int enroll(ReviewEnrollRequest request);
+
+    List<ReviewCardResponse> getDueCards(Long userId, int limit);
+
+    long countDue(Long userId);
+
+    /**
+     * Chấm cả lô thẻ đã ôn trong một transaction; trả về trạng thái mới của các thẻ.
+     */
+    List<ReviewCardResponse> submit(ReviewSubmitRequest request);
+}
@@ -0,0 +1,192 @@
+package org.example.ktigerstudybe.service.review;
+
+import org.example.ktigerstudybe.dto.req.ReviewEnrollRequest;
+import org.example.ktigerstudybe.dto.req.ReviewSubmitRequest;
+import org.example.ktigerstudybe.dto.resp.ReviewCardResponse;
+import org.example.ktigerstudybe.model.ReviewCard;
+import org.example.ktigerstudybe.repository.DocumentItemRepository;
+import org.example.ktigerstudybe.repository.ReviewCardRepository;
+import org.example.ktigerstudybe.repository.VocabularyTheoryRepository;
+import org.example.ktigerstudybe.repository.projection.CardContentRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lịch ôn tập SM-2. Hàng đợi đến hạn là một lần quét chỉ mục (UserID, DueAt) có LIMIT,
+ * cộng tối đa hai truy vấn IN lấy nội dung thẻ, nên không phụ thuộc tổng số thẻ của người học.
+ */
+@Service
+public class ReviewServiceImpl implements ReviewService {
+
+    private final ReviewCardRepository reviewCardRepository;
+    private final DocumentItemRepository documentItemRepository;
+    private final VocabularyTheoryRepository vocabularyTheoryRepository;
+    private final int maxDueLimit;
+    private final int maxBatchSize;
+    private final int maxIntervalDays;
+
+    public ReviewServiceImpl(ReviewCardRepository reviewCardRepository,
+                             DocumentItemRepository documentItemRepository,
+                             VocabularyTheoryRepository vocabularyTheoryRepository,
+                             @Value("${reviews.due.max-limit:200}") int maxDueLimit,
+                             @Value("${reviews.submit.max-batch-size:500}") int maxBatchSize,
+                             @Value("${reviews.max-interval-days:" + Sm2Scheduler.DEFAULT_MAX_INTERVAL_DAYS + "}") int maxIntervalDays) {
+        if (maxIntervalDays < 1) {
+            throw new IllegalArgumentException("reviews.max-interval-days must be positive");
+        }
+        this.reviewCardRepository = reviewCardRepository;
+        this.documentItemRepository = documentItemRepository;
+        this.vocabularyTheoryRepository = vocabularyTheoryRepository;
+        this.maxDueLimit = maxDueLimit;
+        this.maxBatchSize = maxBatchSize;
+        this.maxIntervalDays = maxIntervalDays;
+    }
+
+    @Override
+    @Transactional
+    public int enroll(ReviewEnrollRequest request) {
+        if (request.getUserId() == null) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        if (request.getListId() == null && request.getLessonId() == null) {
+            throw new IllegalArgumentException("listId or lessonId is required");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int added = 0;
+        if (request.getListId() != null) {
+            added += reviewCardRepository.enrollDocumentList(request.getUserId(), request.getListId(), now);
+        }
+        if (request.getLessonId() != null) {
+            added += reviewCardRepository.enrollLessonVocabulary(request.getUserId(), request.getLessonId(), now);
+        }
+        return added;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewCardResponse> getDueCards(Long userId, int limit) {
+        int size = Math.max(1, Math.min(limit, maxDueLimit));
+        List<ReviewCard> cards = reviewCardRepository.findDue(userId, LocalDateTime.now(), PageRequest.of(0, size));
+        return withContent(cards);
+    }
+
+    @Override
+    public long countDue(Long userId) {
+        return reviewCardRepository.countDue(userId, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public List<ReviewCardResponse> submit(ReviewSubmitRequest request) {
+        if (request.getUserId() == null) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        List<ReviewSubmitRequest.Review> reviews = request.getReviews();
+        if (reviews == null || reviews.isEmpty()) {
+            return List.of();
+        }
+        if (reviews.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " reviews per request");
+        }
+
+        Map<Long, ReviewCard> cards = reviewCardRepository
+                .findByUserIdAndCardIdIn(request.getUserId(),
+                        reviews.stream().map(ReviewSubmitRequest.Review::getCardId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ReviewCard::getCardId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ReviewCard> updated = new LinkedHashMap<>();
+        for (int i = 0; i < reviews.size(); i++) {
+            ReviewSubmitRequest.Review review = reviews.get(i);
+            ReviewCard card = cards.get(review.getCardId());
+            if (card == null) {
+                throw new IllegalArgumentException("Review #" + (i + 1) + ": card not found");
+            }
+            if (review.getGrade() == null) {
+                throw new IllegalArgumentException("Review #" + (i + 1) + ": grade is required");
+            }
+            // Cùng một thẻ có thể được ôn nhiều lần trong lô (ôn lại ngay khi quên), áp dụng theo thứ tự
+            Sm2Scheduler.apply(card, review.getGrade(), parseReviewedAt(review.getReviewedAt(), now, i), maxIntervalDays);
+            updated.put(card.getCardId(), card);
+        }
+        // Các UPDATE được Hibernate gộp thành JDBC batch khi flush
+        reviewCardRepository.saveAll(updated.values());
+        return withContent(new ArrayList<>(updated.values()));
+    }
+
+    private static LocalDateTime parseReviewedAt(String value, LocalDateTime fallback, int index) {
+        if (value == null || value.isBlank()) return fallback;
+        try {
+            LocalDateTime at = OffsetDateTime.parse(value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            return at.isAfter(fallback) ? fallback : at;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Review #" + (index + 1) + ": invalid reviewedAt");
+        }
+    }
+
+    private List<ReviewCardResponse> withContent(List<ReviewCard> cards) {
+        List<Long> documentItemIds = new ArrayList<>();
+        List<Long> vocabularyIds = new ArrayList<>();
+        for (ReviewCard card : cards) {
+            if (ReviewCard.VOCABULARY.equals(card.getCardType())) {
+                vocabularyIds.add(card.getItemId());
+            } else {
+                documentItemIds.add(card.getItemId());
+            }
+        }
+        Map<Long, CardContentRow> documentItems = documentItemIds.isEmpty() ? Map.of()
+                : byItemId(documentItemRepository.findCardContent(documentItemIds));
+        Map<Long, CardContentRow> vocabulary = vocabularyIds.isEmpty() ? Map.of()
+                : byItemId(vocabularyTheoryRepository.findCardContent(vocabularyIds));
+
+        List<ReviewCardResponse> result = new ArrayList<>(cards.size());
+        for (ReviewCard card : cards) {
+            CardContentRow content = ReviewCard.VOCABULARY.equals(card.getCardType())
+                    ? vocabulary.get(card.getItemId())
+                    : documentItems.get(card.getItemId());
+            // Từ bị xoá giữa lúc quét hàng đợi và lúc lấy nội dung thì bỏ qua
+            if (content == null) continue;
+            result.add(toResponse(card, content));
+        }
+        return result;
+    }
+
+    private static Map<Long, CardContentRow> byItemId(List<CardContentRow> rows) {
+        Map<Long, CardContentRow> map = new HashMap<>(rows.size() * 2);
+        for (CardContentRow row : rows) {
+            map.put(row.getItemId(), row);
+        }
+        return map;
+    }
+
+    private static ReviewCardResponse toResponse(ReviewCard card, CardContentRow content) {
+        ReviewCardResponse resp = new ReviewCardResponse();
+        resp.setCardId(card.getCardId());
+        resp.setCardType(card.getCardType());
+        resp.setItemId(card.getItemId());
+        resp.setWord(content.getWord());
+        resp.setMeaning(content.getMeaning());
+        resp.setExample(content.getExample());
+        resp.setImage(content.getImage());
+        resp.setDueAt(card.getDueAt().toString());
+        resp.setIntervalDays(card.getIntervalDays());
+        resp.setRepetitions(card.getRepetitions());
+        resp.setEaseFactor(card.getEaseFactor());
+        return resp;
+    }
+}
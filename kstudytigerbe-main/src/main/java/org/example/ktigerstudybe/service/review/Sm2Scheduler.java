@@ -0,0 +1,64 @@
+package org.example.ktigerstudybe.service.review;
+
+import org.example.ktigerstudybe.model.ReviewCard;
+
+import java.time.LocalDateTime;
+
+/**
+ * Thuật toán SuperMemo-2: tính ease factor, khoảng cách và hạn ôn tiếp theo từ điểm tự đánh giá 0-5.
+ * Điểm < 3 (quên) đưa thẻ về đầu chuỗi và hẹn lại sau 1 ngày.
+ * Khoảng cách bị chặn trên (mặc định 36500 ngày như Anki): cùng một thẻ điểm 5 lặp lại nhiều lần
+ * trong một lô sẽ nhân khoảng cách theo cấp số nhân, vượt int và vượt giới hạn DATETIME của MySQL.
+ */
+public final class Sm2Scheduler {
+
+    public static final double INITIAL_EASE = 2.5;
+    public static final double MIN_EASE = 1.3;
+    public static final int MIN_GRADE = 0;
+    public static final int MAX_GRADE = 5;
+    public static final int DEFAULT_MAX_INTERVAL_DAYS = 36500;
+
+    private Sm2Scheduler() {
+    }
+
+    public static void apply(ReviewCard card, int grade, LocalDateTime reviewedAt) {
+        apply(card, grade, reviewedAt, DEFAULT_MAX_INTERVAL_DAYS);
+    }
+
+    public static void apply(ReviewCard card, int grade, LocalDateTime reviewedAt, int maxIntervalDays) {
+        if (maxIntervalDays < 1) {
+            throw new IllegalArgumentException("maxIntervalDays must be positive");
+        }
+        if (grade < MIN_GRADE || grade > MAX_GRADE) {
+            throw new IllegalArgumentException("Grade must be between 0 and 5");
+        }
+        double ease = card.getEaseFactor() != null ? card.getEaseFactor() : INITIAL_EASE;
+        int repetitions = card.getRepetitions() != null ? card.getRepetitions() : 0;
+        int interval = card.getIntervalDays() != null ? card.getIntervalDays() : 0;
+
+        if (grade < 3) {
+            repetitions = 0;
+            interval = 1;
+            card.setLapses((card.getLapses() != null ? card.getLapses() : 0) + 1);
+        } else {
+            repetitions++;
+            if (repetitions == 1) {
+                interval = 1;
+            } else if (repetitions == 2) {
+                interval = 6;
+            } else {
+                // Làm tròn trên long rồi chặn trước khi ép kiểu để không tràn int
+                interval = (int) Math.min(maxIntervalDays, Math.round(Math.max(1, interval) * ease));
+            }
+        }
+        interval = Math.min(interval, maxIntervalDays);
+        int miss = MAX_GRADE - grade;
+        ease = Math.max(MIN_EASE, ease + 0.1 - miss * (0.08 + miss * 0.02));
+
+        card.setEaseFactor(ease);
+        card.setRepetitions(repetitions);
+        card.setIntervalDays(interval);
+        card.setLastReviewedAt(reviewedAt);
+        card.setDueAt(reviewedAt.plusDays(interval));
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.ktigerstudybe.service.search;
+
+/**
+ * Phát ra khi một bộ flashcard (hoặc các mục bên trong) thay đổi, hoặc khi tác giả đổi tên,
+ * để chỉ mục tìm kiếm cập nhật lại sau khi transaction commit.
+ */
+public record DocumentListChangedEvent(Long listId, Long authorId) {
+
+    public static DocumentListChangedEvent ofList(Long listId) {
+        return new DocumentListChangedEvent(listId, null);
+    }
+
+    public static DocumentListChangedEvent ofAuthor(Long authorId) {
+        return new DocumentListChangedEvent(null, authorId);
+    }
+}
@@ -0,0 +1,407 @@
+package org.example.ktigerstudybe.service.search;
+
+import org.example.ktigerstudybe.model.DocumentList;
+import org.example.ktigerstudybe.repository.DocumentItemRepository;
+import org.example.ktigerstudybe.repository.DocumentListRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Chỉ mục đảo (inverted index) trong bộ nhớ cho bộ flashcard, thay cho LIKE '%kw%'.
+ * Index tiêu đề, loại, mô tả, tên tác giả và từ/nghĩa của các DocumentItem; hỗ trợ tìm theo
+ * tiền tố, tìm tiếng Việt không dấu và tìm theo phụ âm đầu Hangul (ví dụ "ㅅㄱ" → "사과").
+ * Dựng lại toàn bộ khi ứng dụng khởi động, sau đó cập nhật từng bộ qua {@link DocumentListChangedEvent}.
+ * <p>
+ * Dữ liệu đọc từ DB nằm ngoài khoá, nên mỗi lần đọc lấy một số thứ tự trước khi đọc: lần đọc bắt đầu sau
+ * thì thấy dữ liệu đã commit mới hơn hoặc bằng. Bản đọc có số nhỏ hơn bản đang có trong chỉ mục bị bỏ,
+ * để reindex chậm hoặc ảnh chụp của {@link #rebuild()} không ghi đè dữ liệu mới hơn.
+ */
+@Component
+public class DocumentListSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentListSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 5f;
+    private static final float TYPE_WEIGHT = 3f;
+    private static final float AUTHOR_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1.5f;
+    private static final float ITEM_WORD_WEIGHT = 1f;
+    private static final float ITEM_MEANING_WEIGHT = 0.7f;
+    // Khớp dạng bỏ dấu thấp hơn một chút so với khớp đúng dấu
+    private static final float STRIPPED_FACTOR = 0.9f;
+    private static final float PREFIX_FACTOR = 0.6f;
+    private static final int MAX_PREFIX_EXPANSIONS = 200;
+
+    private final DocumentListRepository documentListRepository;
+    private final DocumentItemRepository documentItemRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings terms = new Postings();
+    private Postings choseongTerms = new Postings();
+    private Map<Long, IndexedDocument> documents = new HashMap<>();
+    private Map<Long, Set<Long>> documentsByAuthor = new HashMap<>();
+    // Số thứ tự lần đọc đã cài cho từng bộ (kể cả khi bộ đã bị xoá) kể từ lần rebuild gần nhất
+    private final AtomicLong readSequence = new AtomicLong();
+    private Map<Long, Long> installedReads = new HashMap<>();
+    private long rebuiltRead;
+
+    public DocumentListSearchIndex(DocumentListRepository documentListRepository,
+                                   DocumentItemRepository documentItemRepository) {
+        this.documentListRepository = documentListRepository;
+        this.documentItemRepository = documentItemRepository;
+    }
+
+    public record Hits(List<Long> listIds, long total) {
+    }
+
+    /**
+     * Tìm các bộ flashcard khớp với mọi từ trong {@code query}, xếp theo điểm giảm dần
+     * (cùng điểm thì bộ mới hơn đứng trước), trả về đoạn [offset, offset + limit).
+     */
+    public Hits search(String query, boolean publicOnly, int offset, int limit) {
+        Set<String> queryTokens = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        if (queryTokens.isEmpty()) return new Hits(List.of(), 0);
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String token : queryTokens) {
+                Map<Long, Float> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<Long, Float> merged = new HashMap<>();
+                    for (Map.Entry<Long, Float> e : scores.entrySet()) {
+                        Float s = tokenScores.get(e.getKey());
+                        if (s != null) merged.put(e.getKey(), e.getValue() + s);
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) return new Hits(List.of(), 0);
+            }
+
+            List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Float> e : scores.entrySet()) {
+                IndexedDocument doc = documents.get(e.getKey());
+                if (doc != null && (!publicOnly || doc.isPublic())) ranked.add(e);
+            }
+            ranked.sort(Comparator.<Map.Entry<Long, Float>>comparingDouble(Map.Entry::getValue).reversed()
+                    .thenComparing(e -> documents.get(e.getKey()).createdAt(), Comparator.reverseOrder())
+                    .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()));
+
+            List<Long> page = new ArrayList<>();
+            for (int i = offset; i < ranked.size() && page.size() < limit; i++) {
+                page.add(ranked.get(i).getKey());
+            }
+            return new Hits(page, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("documents", documents.size());
+            stats.put("terms", terms.size());
+            stats.put("choseongTerms", choseongTerms.size());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.error("Document search index build failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Dựng lại toàn bộ chỉ mục từ DB. Chỉ mục cũ vẫn phục vụ tìm kiếm cho tới khi dựng xong;
+     * bộ nào được reindex sau khi bắt đầu dựng thì giữ bản reindex thay vì bản trong ảnh chụp.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long read = readSequence.incrementAndGet();
+        Map<Long, DocumentBuilder> builders = new HashMap<>();
+        for (DocumentList list : documentListRepository.findAllWithUser()) {
+            builders.put(list.getListId(), DocumentBuilder.of(list));
+        }
+        documentItemRepository.streamAllOrderByListId((listId, item) -> {
+            DocumentBuilder builder = builders.get(listId);
+            if (builder != null) builder.addItem(item.getWord(), item.getMeaning());
+        });
+
+        Postings newTerms = new Postings();
+        Postings newChoseong = new Postings();
+        Map<Long, IndexedDocument> newDocuments = new HashMap<>();
+        Map<Long, Set<Long>> newByAuthor = new HashMap<>();
+        for (DocumentBuilder builder : builders.values()) {
+            IndexedDocument doc = builder.build();
+            add(doc, builder, newTerms, newChoseong, newDocuments, newByAuthor);
+        }
+
+        lock.writeLock().lock();
+        try {
+            Map<Long, Long> newerReads = new HashMap<>();
+            installedReads.forEach((listId, installed) -> {
+                if (installed > read) newerReads.put(listId, installed);
+            });
+            for (Long listId : newerReads.keySet()) {
+                remove(listId, newTerms, newChoseong, newDocuments, newByAuthor);
+                IndexedDocument current = documents.get(listId);
+                if (current != null) {
+                    copy(current, terms, choseongTerms, newTerms, newChoseong, newDocuments, newByAuthor);
+                }
+            }
+            terms = newTerms;
+            choseongTerms = newChoseong;
+            documents = newDocuments;
+            documentsByAuthor = newByAuthor;
+            installedReads = newerReads;
+            rebuiltRead = read;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Document search index built: {} lists, {} terms in {} ms",
+                newDocuments.size(), newTerms.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Cập nhật chỉ mục sau khi transaction ghi dữ liệu đã commit
+     * (hoặc ngay lập tức nếu nơi phát sự kiện không có transaction).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentListChanged(DocumentListChangedEvent event) {
+        try {
+            if (event.listId() != null) {
+                reindex(event.listId());
+            }
+            if (event.authorId() != null) {
+                Set<Long> listIds;
+                lock.readLock().lock();
+                try {
+                    listIds = new HashSet<>(documentsByAuthor.getOrDefault(event.authorId(), Set.of()));
+                } finally {
+                    lock.readLock().unlock();
+                }
+                listIds.forEach(this::reindex);
+            }
+        } catch (RuntimeException e) {
+            // Không làm hỏng request đã commit vì lỗi cập nhật chỉ mục
+            logger.warn("Search index update failed for {}: {}", event, e.getMessage());
+        }
+    }
+
+    /**
+     * Đọc lại một bộ flashcard từ DB và thay thế bản trong chỉ mục; xoá khỏi chỉ mục nếu bộ không còn.
+     */
+    public void reindex(Long listId) {
+        long read = readSequence.incrementAndGet();
+        Optional<DocumentList> list = documentListRepository.findWithUserById(listId);
+        DocumentBuilder builder = null;
+        if (list.isPresent()) {
+            builder = DocumentBuilder.of(list.get());
+            DocumentBuilder target = builder;
+            documentItemRepository.streamByListId(listId, item -> target.addItem(item.getWord(), item.getMeaning()));
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (read <= Math.max(rebuiltRead, installedReads.getOrDefault(listId, 0L))) {
+                return; // đã có bản đọc mới hơn
+            }
+            installedReads.put(listId, read);
+            remove(listId, terms, choseongTerms, documents, documentsByAuthor);
+            if (builder != null) {
+                add(builder.build(), builder, terms, choseongTerms, documents, documentsByAuthor);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===== nội bộ =====
+
+    private Map<Long, Float> scoreToken(String token) {
+        Map<Long, Float> result = new HashMap<>();
+        int totalDocs = Math.max(1, documents.size());
+
+        if (SearchTokenizer.isChoseongQuery(token)) {
+            collect(choseongTerms, token, totalDocs, result);
+        } else {
+            collect(terms, token, totalDocs, result);
+        }
+        return result;
+    }
+
+    /**
+     * Điểm của một từ truy vấn cho từng tài liệu: lấy term khớp tốt nhất trong các term
+     * bằng đúng từ đó (hệ số 1) hoặc bắt đầu bằng từ đó (hệ số PREFIX_FACTOR), nhân IDF.
+     */
+    private static void collect(Postings postings, String token, int totalDocs, Map<Long, Float> result) {
+        int expanded = 0;
+        for (Map.Entry<String, Map<Long, Float>> entry : postings.prefixed(token).entrySet()) {
+            if (expanded++ >= MAX_PREFIX_EXPANSIONS) break;
+            Map<Long, Float> docs = entry.getValue();
+            float factor = entry.getKey().equals(token) ? 1f : PREFIX_FACTOR;
+            float idf = (float) Math.log(1 + (double) totalDocs / docs.size());
+            for (Map.Entry<Long, Float> d : docs.entrySet()) {
+                float score = d.getValue() * factor * idf;
+                result.merge(d.getKey(), score, Math::max);
+            }
+        }
+    }
+
+    private static void add(IndexedDocument doc, DocumentBuilder builder,
+                            Postings terms, Postings choseongTerms,
+                            Map<Long, IndexedDocument> documents, Map<Long, Set<Long>> byAuthor) {
+        builder.terms.forEach((term, weight) -> terms.put(term, doc.listId(), weight));
+        builder.choseong.forEach((term, weight) -> choseongTerms.put(term, doc.listId(), weight));
+        documents.put(doc.listId(), doc);
+        if (doc.authorId() != null) {
+            byAuthor.computeIfAbsent(doc.authorId(), k -> new HashSet<>()).add(doc.listId());
+        }
+    }
+
+    private static void remove(Long listId, Postings terms, Postings choseongTerms,
+                               Map<Long, IndexedDocument> documents, Map<Long, Set<Long>> byAuthor) {
+        IndexedDocument doc = documents.remove(listId);
+        if (doc == null) return;
+        doc.terms().forEach(term -> terms.remove(term, listId));
+        doc.choseongTerms().forEach(term -> choseongTerms.remove(term, listId));
+        Set<Long> authored = byAuthor.get(doc.authorId());
+        if (authored != null) {
+            authored.remove(listId);
+            if (authored.isEmpty()) byAuthor.remove(doc.authorId());
+        }
+    }
+
+    // Chép một bộ đã index (kèm trọng số từng term) từ chỉ mục hiện tại sang chỉ mục mới
+    private static void copy(IndexedDocument doc, Postings fromTerms, Postings fromChoseong,
+                             Postings terms, Postings choseongTerms,
+                             Map<Long, IndexedDocument> documents, Map<Long, Set<Long>> byAuthor) {
+        doc.terms().forEach(term -> terms.put(term, doc.listId(), fromTerms.weight(term, doc.listId())));
+        doc.choseongTerms().forEach(term -> choseongTerms.put(term, doc.listId(), fromChoseong.weight(term, doc.listId())));
+        documents.put(doc.listId(), doc);
+        if (doc.authorId() != null) {
+            byAuthor.computeIfAbsent(doc.authorId(), k -> new HashSet<>()).add(doc.listId());
+        }
+    }
+
+    private record IndexedDocument(Long listId, Long authorId, boolean isPublic, long createdAt,
+                                   Set<String> terms, Set<String> choseongTerms) {
+    }
+
+    /**
+     * term → (ListID → trọng số), sắp theo term để tra tiền tố bằng subMap.
+     */
+    private static final class Postings {
+        private final TreeMap<String, Map<Long, Float>> map = new TreeMap<>();
+
+        void put(String term, Long listId, float weight) {
+            map.computeIfAbsent(term, k -> new HashMap<>()).put(listId, weight);
+        }
+
+        float weight(String term, Long listId) {
+            return map.get(term).get(listId);
+        }
+
+        void remove(String term, Long listId) {
+            Map<Long, Float> docs = map.get(term);
+            if (docs == null) return;
+            docs.remove(listId);
+            if (docs.isEmpty()) map.remove(term);
+        }
+
+        Map<String, Map<Long, Float>> prefixed(String prefix) {
+            return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+
+        int size() {
+            return map.size();
+        }
+    }
+
+    /**
+     * Gom term của một bộ flashcard; mỗi term giữ trọng số cao nhất trong các trường chứa nó.
+     */
+    private static final class DocumentBuilder {
+        private final Long listId;
+        private final Long authorId;
+        private final boolean isPublic;
+        private final long createdAt;
+        private final Map<String, Float> terms = new HashMap<>();
+        private final Map<String, Float> choseong = new HashMap<>();
+
+        private DocumentBuilder(Long listId, Long authorId, boolean isPublic, long createdAt) {
+            this.listId = listId;
+            this.authorId = authorId;
+            this.isPublic = isPublic;
+            this.createdAt = createdAt;
+        }
+
+        static DocumentBuilder of(DocumentList list) {
+            DocumentBuilder builder = new DocumentBuilder(
+                    list.getListId(),
+                    list.getUser() != null ? list.getUser().getUserId() : null,
+                    list.getIsPublic() == 0,
+                    list.getCreatedAt() != null ? list.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : 0L);
+            builder.addField(list.getTitle(), TITLE_WEIGHT);
+            builder.addField(list.getType(), TYPE_WEIGHT);
+            builder.addField(list.getDescription(), DESCRIPTION_WEIGHT);
+            if (list.getUser() != null) {
+                builder.addField(list.getUser().getFullName(), AUTHOR_WEIGHT);
+            }
+            return builder;
+        }
+
+        void addItem(String word, String meaning) {
+            addField(word, ITEM_WORD_WEIGHT);
+            addField(meaning, ITEM_MEANING_WEIGHT);
+        }
+
+        void addField(String text, float weight) {
+            for (String token : SearchTokenizer.tokenize(text)) {
+                terms.merge(token, weight, Math::max);
+                String stripped = SearchTokenizer.stripDiacritics(token);
+                if (!stripped.equals(token)) {
+                    terms.merge(stripped, weight * STRIPPED_FACTOR, Math::max);
+                }
+                String initials = SearchTokenizer.choseong(token);
+                if (initials != null) {
+                    choseong.merge(initials, weight, Math::max);
+                }
+            }
+        }
+
+        IndexedDocument build() {
+            return new IndexedDocument(listId, authorId, isPublic, createdAt,
+                    Set.copyOf(terms.keySet()), Set.copyOf(choseong.keySet()));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.ktigerstudybe.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Tách từ cho chỉ mục tìm kiếm tài liệu, dùng chung cho lúc index và lúc truy vấn.
+ * <ul>
+ *   <li>Chuẩn hoá NFC + chữ thường, tách theo ký tự không phải chữ/số.</li>
+ *   <li>Tiếng Việt: thêm dạng bỏ dấu ("táo" → "tao", "đọc" → "doc") để gõ không dấu vẫn tìm được.</li>
+ *   <li>Tiếng Hàn: thêm chuỗi phụ âm đầu (choseong) của âm tiết Hangul ("사과" → "ㅅㄱ").</li>
+ * </ul>
+ */
+public final class SearchTokenizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    private static final char HANGUL_FIRST = '가';
+    private static final char HANGUL_LAST = '힣';
+    private static final int SYLLABLES_PER_CHOSEONG = 21 * 28;
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Tách văn bản thành các token đã chuẩn hoá (giữ nguyên dấu).
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) return tokens;
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) tokens.add(normalized.substring(start));
+        return tokens;
+    }
+
+    /**
+     * Bỏ dấu tiếng Việt (và các dấu kết hợp khác); đ → d.
+     */
+    public static String stripDiacritics(String token) {
+        String decomposed = Normalizer.normalize(token, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("").replace('đ', 'd');
+        return Normalizer.normalize(stripped, Normalizer.Form.NFC);
+    }
+
+    /**
+     * Chuỗi phụ âm đầu của các âm tiết Hangul trong token; null nếu token không có âm tiết Hangul.
+     */
+    public static String choseong(String token) {
+        StringBuilder sb = null;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c >= HANGUL_FIRST && c <= HANGUL_LAST) {
+                if (sb == null) sb = new StringBuilder(token.length());
+                sb.append(CHOSEONG[(c - HANGUL_FIRST) / SYLLABLES_PER_CHOSEONG]);
+            }
+        }
+        return sb == null ? null : sb.toString();
+    }
+
+    /**
+     * true nếu token chỉ gồm phụ âm Hangul (người dùng gõ kiểu "ㅅㄱ").
+     */
+    public static boolean isChoseongQuery(String token) {
+        if (token.isEmpty()) return false;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c < 'ㄱ' || c > 'ㅎ') return false;
+        }
+        return true;
+    }
+}
@@ -6,6 +6,7 @@ import org.example.ktigerstudybe.model.Exercise;
 import org.example.ktigerstudybe.model.SentenceRewritingQuestion;
 import org.example.ktigerstudybe.repository.ExerciseRepository;
 import org.example.ktigerstudybe.repository.SentenceRewritingQuestionRepository;
+import org.example.ktigerstudybe.service.exercise.ExerciseAnswerKeyCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -24,6 +25,9 @@ public class SentenceRewritingQuestionServiceImpl implements SentenceRewritingQu
     @Autowired
     private ExerciseRepository exerciseRepository;
 
+    @Autowired
+    private ExerciseAnswerKeyCache answerKeyCache;
+
     private SentenceRewritingQuestionResponse toResponse(SentenceRewritingQuestion entity) {
         SentenceRewritingQuestionResponse resp = new SentenceRewritingQuestionResponse();
         resp.setQuestionId(entity.getQuestionID());
@@ -34,6 +38,12 @@ public class SentenceRewritingQuestionServiceImpl implements SentenceRewritingQu
         return resp;
     }
 
+    private SentenceRewritingQuestionResponse toLearnerResponse(SentenceRewritingQuestion entity) {
+        SentenceRewritingQuestionResponse resp = toResponse(entity);
+        resp.setRewrittenSentence(null);
+        return resp;
+    }
+
     private SentenceRewritingQuestion toEntity(SentenceRewritingQuestionRequest req) {
         SentenceRewritingQuestion entity = new SentenceRewritingQuestion();
         Exercise exercise = exerciseRepository.findById(req.getExerciseId())
@@ -59,7 +69,9 @@ public class SentenceRewritingQuestionServiceImpl implements SentenceRewritingQu
     @Override
     public SentenceRewritingQuestionResponse create(SentenceRewritingQuestionRequest request) {
         SentenceRewritingQuestion entity = toEntity(request);
-        return toResponse(repo.save(entity));
+        entity = repo.save(entity);
+        answerKeyCache.evictAll();
+        return toResponse(entity);
     }
 
     @Override
@@ -72,18 +84,22 @@ public class SentenceRewritingQuestionServiceImpl implements SentenceRewritingQu
         entity.setOriginalSentence(request.getOriginalSentence());
         entity.setRewrittenSentence(request.getRewrittenSentence());
         entity.setLinkMedia(request.getLinkMedia());
-        return toResponse(repo.save(entity));
+        entity = repo.save(entity);
+        answerKeyCache.evictAll();
+        return toResponse(entity);
     }
 
     @Override
     public void delete(Long id) {
         repo.deleteById(id);
+        answerKeyCache.evictAll();
     }
 
     @Override
     public List<SentenceRewritingQuestionResponse> getByExerciseId(Long exerciseId) {
+        // Đề cho người học: đáp án chỉ lộ ra qua POST /api/exercises/{id}/check sau khi đã trả lời
         return repo.findByExercise_ExerciseId(exerciseId)
-                .stream().map(this::toResponse).collect(Collectors.toList());
+                .stream().map(this::toLearnerResponse).collect(Collectors.toList());
     }
 
     //ad
@@ -6,17 +6,25 @@ import org.example.ktigerstudybe.dto.resp.UserResponse;
 import org.example.ktigerstudybe.model.User;
 import org.example.ktigerstudybe.repository.PasswordResetTokenRepository;
 import org.example.ktigerstudybe.repository.UserRepository;
+import org.example.ktigerstudybe.service.search.DocumentListChangedEvent;
+import org.example.ktigerstudybe.service.userxp.LeaderboardIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+  private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+
   @Autowired
   private UserRepository userRepository;
   @Autowired
@@ -25,6 +33,12 @@ public class UserServiceImpl implements UserService {
   @Autowired
   private PasswordResetTokenRepository passwordResetTokenRepository;
 
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private LeaderboardIndex leaderboardIndex;
+
   // Convert entity -> response DTO
   private UserResponse toResponse(User user) {
     UserResponse resp = new UserResponse();
@@ -76,6 +90,8 @@ public class UserServiceImpl implements UserService {
   public UserResponse updateUser(Long id, UserRequest request) {
     User user = userRepository.findById(id)
             .orElseThrow(() -> new NoSuchElementException("User not found with id: " + id));
+    boolean authorChanged = !Objects.equals(user.getFullName(), request.getFullName())
+            || !Objects.equals(user.getAvatarImage(), request.getAvatarImage());
     user.setFullName(request.getFullName());
     user.setEmail(request.getEmail());
     user.setRole(request.getRole());
@@ -88,32 +104,32 @@ public class UserServiceImpl implements UserService {
     user.setJoinDate(request.getJoinDate());
 
     user = userRepository.save(user);
+    if (authorChanged) {
+      // Tên/ảnh tác giả nằm trong chỉ mục tìm kiếm và cache danh sách tài liệu
+      eventPublisher.publishEvent(DocumentListChangedEvent.ofAuthor(id));
+      leaderboardIndex.rename(id, user.getFullName());
+    }
     return toResponse(user);
   }
 
   @Override
   public void deleteUser(Long id) {
     userRepository.deleteById(id);
+    leaderboardIndex.remove(id);
   }
 
   // ✅ FIXED: Đóng băng user - Correct logic
   @Override
   public UserResponse freezeUser(Long id) {
-    System.out.println("=== FREEZE USER SERVICE START ===");
-    System.out.println("Freezing user ID: " + id);
-
     User user = userRepository.findById(id)
             .orElseThrow(() -> new NoSuchElementException("User not found with id: " + id));
 
-    System.out.println("User before freeze: " + user.getFullName() + ", current status: " + user.getUserStatus());
-
     // ✅ FIXED: 0 = frozen/inactive
     user.setUserStatus(0);
 
     user = userRepository.save(user);
 
-    System.out.println("User after freeze: " + user.getFullName() + ", new status: " + user.getUserStatus());
-    System.out.println("✅ User frozen successfully");
+    logger.info("User {} frozen", id);
 
     return toResponse(user);
   }
@@ -121,21 +137,15 @@ public class UserServiceImpl implements UserService {
   // ✅ FIXED: Mở băng user - Correct logic
   @Override
   public UserResponse unfreezeUser(Long id) {
-    System.out.println("=== UNFREEZE USER SERVICE START ===");
-    System.out.println("Unfreezing user ID: " + id);
-
     User user = userRepository.findById(id)
             .orElseThrow(() -> new NoSuchElementException("User not found with id: " + id));
 
-    System.out.println("User before unfreeze: " + user.getFullName() + ", current status: " + user.getUserStatus());
-
     // ✅ FIXED: 1 = active/unfrozen
     user.setUserStatus(1);
 
     user = userRepository.save(user);
 
-    System.out.println("User after unfreeze: " + user.getFullName() + ", new status: " + user.getUserStatus());
-    System.out.println("✅ User unfrozen successfully");
+    logger.info("User {} unfrozen", id);
 
     return toResponse(user);
   }
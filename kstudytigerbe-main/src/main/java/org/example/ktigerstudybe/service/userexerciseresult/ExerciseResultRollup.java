@@ -0,0 +1,84 @@
+package org.example.ktigerstudybe.service.userexerciseresult;
+
+import org.example.ktigerstudybe.dto.resp.ExerciseScoreStatsResponse;
+import org.example.ktigerstudybe.model.ExerciseScoreBucket;
+import org.example.ktigerstudybe.repository.ExerciseScoreBucketRepository;
+import org.example.ktigerstudybe.repository.UserExerciseStatsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cập nhật các bảng tổng hợp mỗi khi lưu một kết quả bài tập:
+ * user_exercise_stats (điểm cao nhất / lần cuối / số lần làm theo người học) và
+ * exercise_score_histogram (số lượt theo từng mức điểm của bài tập).
+ * Mỗi lần ghi là hai câu upsert một dòng; thống kê bài tập đọc tối đa ~101 dòng histogram.
+ */
+@Component
+public class ExerciseResultRollup {
+
+    private final UserExerciseStatsRepository userExerciseStatsRepository;
+    private final ExerciseScoreBucketRepository exerciseScoreBucketRepository;
+    private final int passScore;
+
+    public ExerciseResultRollup(UserExerciseStatsRepository userExerciseStatsRepository,
+                                ExerciseScoreBucketRepository exerciseScoreBucketRepository,
+                                @Value("${exercises.stats.pass-score:60}") int passScore) {
+        this.userExerciseStatsRepository = userExerciseStatsRepository;
+        this.exerciseScoreBucketRepository = exerciseScoreBucketRepository;
+        this.passScore = passScore;
+    }
+
+    public static final int MIN_SCORE = 0;
+    public static final int MAX_SCORE = 100;
+
+    /**
+     * Ghi nhận một lần làm bài; phải gọi trong transaction lưu kết quả.
+     * Điểm ngoài 0-100 bị từ chối (histogram chỉ có 101 mức).
+     */
+    public void record(Long userId, Long exerciseId, Integer score, LocalDateTime attemptAt) {
+        int value = score != null ? score : 0;
+        if (value < MIN_SCORE || value > MAX_SCORE) {
+            throw new IllegalArgumentException("score must be between " + MIN_SCORE + " and " + MAX_SCORE);
+        }
+        userExerciseStatsRepository.recordAttempt(userId, exerciseId, value, attemptAt);
+        exerciseScoreBucketRepository.increment(exerciseId, value);
+    }
+
+    public ExerciseScoreStatsResponse stats(Long exerciseId) {
+        List<ExerciseScoreBucket> buckets = exerciseScoreBucketRepository.findByExerciseIdOrderByScoreAsc(exerciseId);
+        long attempts = 0;
+        long sum = 0;
+        long passed = 0;
+        for (ExerciseScoreBucket b : buckets) {
+            attempts += b.getAttemptCount();
+            sum += (long) b.getScore() * b.getAttemptCount();
+            if (b.getScore() >= passScore) passed += b.getAttemptCount();
+        }
+
+        ExerciseScoreStatsResponse resp = new ExerciseScoreStatsResponse();
+        resp.setExerciseId(exerciseId);
+        resp.setAttempts(attempts);
+        resp.setPassScore(passScore);
+        if (attempts > 0) {
+            resp.setMeanScore((double) sum / attempts);
+            resp.setPassRate((double) passed / attempts);
+            resp.setP50Score(percentile(buckets, attempts, 0.5));
+            resp.setP90Score(percentile(buckets, attempts, 0.9));
+        }
+        return resp;
+    }
+
+    // Percentile theo hạng gần nhất: điểm nhỏ nhất có số lượt tích luỹ >= ceil(p * N)
+    private static Integer percentile(List<ExerciseScoreBucket> buckets, long attempts, double p) {
+        long rank = Math.max(1, (long) Math.ceil(p * attempts));
+        long cumulative = 0;
+        for (ExerciseScoreBucket b : buckets) {
+            cumulative += b.getAttemptCount();
+            if (cumulative >= rank) return b.getScore();
+        }
+        return buckets.get(buckets.size() - 1).getScore();
+    }
+}
@@ -1,8 +1,12 @@
 package org.example.ktigerstudybe.service.userexerciseresult;
 
 import org.example.ktigerstudybe.dto.req.UserExerciseResultRequest;
+import org.example.ktigerstudybe.dto.resp.ExerciseScoreStatsResponse;
 import org.example.ktigerstudybe.dto.resp.UserExerciseResultResponse;
+import org.example.ktigerstudybe.dto.resp.UserExerciseSummaryResponse;
 import org.example.ktigerstudybe.model.UserExerciseResult;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -10,4 +14,14 @@ public interface UserExerciseResultService {
     UserExerciseResultResponse saveResult(UserExerciseResultRequest req);
     List<UserExerciseResultResponse> getResultsByUserId(Long userId);
     UserExerciseResultResponse getResultByUserIdAndExerciseId(Long userId, Long exerciseId);
+
+    // Lịch sử làm bài (mới nhất trước); exerciseId null = mọi bài tập
+    Page<UserExerciseResultResponse> getHistory(Long userId, Long exerciseId, Pageable pageable);
+
+    // Điểm cao nhất / lần cuối / số lần làm theo từng bài tập của người học
+    Page<UserExerciseSummaryResponse> getSummaries(Long userId, Pageable pageable);
+    UserExerciseSummaryResponse getSummary(Long userId, Long exerciseId);
+
+    // Trung bình, p50/p90 và tỉ lệ đạt của một bài tập
+    ExerciseScoreStatsResponse getExerciseStats(Long exerciseId);
 }
@@ -2,19 +2,27 @@ package org.example.ktigerstudybe.service.userexerciseresult;
 
 
 import org.example.ktigerstudybe.dto.req.UserExerciseResultRequest;
+import org.example.ktigerstudybe.dto.resp.ExerciseScoreStatsResponse;
 import org.example.ktigerstudybe.dto.resp.UserExerciseResultResponse;
+import org.example.ktigerstudybe.dto.resp.UserExerciseSummaryResponse;
 import org.example.ktigerstudybe.model.Exercise;
 import org.example.ktigerstudybe.model.UserExerciseResult;
+import org.example.ktigerstudybe.model.UserExerciseStats;
 import org.example.ktigerstudybe.repository.ExerciseRepository;
 import org.example.ktigerstudybe.repository.UserExerciseResultRepository;
+import org.example.ktigerstudybe.repository.UserExerciseStatsRepository;
 import org.example.ktigerstudybe.repository.UserRepository;
+import org.example.ktigerstudybe.repository.projection.ExerciseResultRow;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +34,10 @@ public class UserExerciseResultServiceImpl implements UserExerciseResultService
     private ExerciseRepository exerciseRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private UserExerciseStatsRepository userExerciseStatsRepository;
+    @Autowired
+    private ExerciseResultRollup exerciseResultRollup;
 
     private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_DATE_TIME;
 
@@ -39,8 +51,35 @@ public class UserExerciseResultServiceImpl implements UserExerciseResultService
         return resp;
     }
 
+    private UserExerciseResultResponse toResponse(ExerciseResultRow row) {
+        UserExerciseResultResponse resp = new UserExerciseResultResponse();
+        resp.setResultId(row.getResultId());
+        resp.setUserId(row.getUserId());
+        resp.setExerciseId(row.getExerciseId());
+        resp.setScore(row.getScore());
+        resp.setDateComplete(row.getDateComplete() != null ? row.getDateComplete().toString() : null);
+        return resp;
+    }
+
+    private UserExerciseSummaryResponse toSummary(UserExerciseStats stats) {
+        UserExerciseSummaryResponse resp = new UserExerciseSummaryResponse();
+        resp.setUserId(stats.getUserId());
+        resp.setExerciseId(stats.getExerciseId());
+        resp.setBestScore(stats.getBestScore());
+        resp.setLastScore(stats.getLastScore());
+        resp.setAttemptCount(stats.getAttemptCount());
+        resp.setLastAttemptAt(stats.getLastAttemptAt() != null ? stats.getLastAttemptAt().toString() : null);
+        return resp;
+    }
+
     @Override
+    @Transactional
     public UserExerciseResultResponse saveResult(UserExerciseResultRequest req) {
+        if (req.getScore() != null
+                && (req.getScore() < ExerciseResultRollup.MIN_SCORE || req.getScore() > ExerciseResultRollup.MAX_SCORE)) {
+            throw new IllegalArgumentException("score must be between "
+                    + ExerciseResultRollup.MIN_SCORE + " and " + ExerciseResultRollup.MAX_SCORE);
+        }
         UserExerciseResult entity = new UserExerciseResult();
 
         // Lấy entity User
@@ -57,23 +96,52 @@ public class UserExerciseResultServiceImpl implements UserExerciseResultService
         entity.setScore(req.getScore());
         entity.setDateComplete(LocalDateTime.parse(req.getDateComplete(), ISO));
 
-        // Lưu kết quả
+        // Lưu kết quả và cập nhật bảng tổng hợp
         entity = userExerciseResultRepository.save(entity);
+        exerciseResultRollup.record(user.getUserId(), exercise.getExerciseId(), entity.getScore(), entity.getDateComplete());
         return toResponse(entity);
     }
 
 
     @Override
     public List<UserExerciseResultResponse> getResultsByUserId(Long userId) {
-        return userExerciseResultRepository.findByUser_UserId(userId)
+        return userExerciseResultRepository.findRowsByUserId(userId)
                 .stream().map(this::toResponse).collect(Collectors.toList());
     }
 
+    // Lần làm gần nhất (người học có thể làm một bài tập nhiều lần)
     @Override
     public UserExerciseResultResponse getResultByUserIdAndExerciseId(Long userId, Long exerciseId) {
-        return Optional.ofNullable(
-                userExerciseResultRepository.findByUser_UserIdAndExercise_ExerciseId(userId, exerciseId)
-        ).map(this::toResponse).orElse(null);
+        return userExerciseResultRepository.findHistoryByUserIdAndExerciseId(userId, exerciseId, PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .map(this::toResponse)
+                .orElse(null);
+    }
+
+    @Override
+    public Page<UserExerciseResultResponse> getHistory(Long userId, Long exerciseId, Pageable pageable) {
+        Page<ExerciseResultRow> rows = exerciseId != null
+                ? userExerciseResultRepository.findHistoryByUserIdAndExerciseId(userId, exerciseId, pageable)
+                : userExerciseResultRepository.findHistoryByUserId(userId, pageable);
+        return rows.map(this::toResponse);
+    }
+
+    @Override
+    public Page<UserExerciseSummaryResponse> getSummaries(Long userId, Pageable pageable) {
+        return userExerciseStatsRepository.findByUserId(userId, pageable).map(this::toSummary);
+    }
+
+    @Override
+    public UserExerciseSummaryResponse getSummary(Long userId, Long exerciseId) {
+        return userExerciseStatsRepository.findByUserIdAndExerciseId(userId, exerciseId)
+                .map(this::toSummary)
+                .orElse(null);
+    }
+
+    @Override
+    public ExerciseScoreStatsResponse getExerciseStats(Long exerciseId) {
+        return exerciseResultRollup.stats(exerciseId);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,313 @@
+package org.example.ktigerstudybe.service.userxp;
+
+import org.example.ktigerstudybe.dto.resp.LeaderboardResponse;
+import org.example.ktigerstudybe.repository.UserXPRepository;
+import org.example.ktigerstudybe.repository.projection.LeaderboardRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bảng xếp hạng XP trong bộ nhớ: cây treap có đếm kích thước (order-statistic tree)
+ * sắp theo (totalXP giảm dần, userId tăng dần).
+ * Cập nhật XP, tìm hạng và lấy phần tử thứ k đều O(log n); top-K / quanh-tôi là O(log n + K).
+ * Dựng lại từ DB khi khởi động, sau đó {@link UserXPServiceImpl} cập nhật từng người học.
+ */
+@Component
+public class LeaderboardIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardIndex.class);
+
+    private final UserXPRepository userXPRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private Node root;
+
+    public LeaderboardIndex(UserXPRepository userXPRepository) {
+        this.userXPRepository = userXPRepository;
+    }
+
+    public record Entry(Long userId, String fullName, String currentTitle, String currentBadge, int totalXP) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.error("Leaderboard build failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Nạp lại toàn bộ bảng xếp hạng từ bảng userxp.
+     * Đọc DB trong khoá ghi: cập nhật sau commit ({@link #raise}, {@link #rename}, {@link #remove}) đến trong lúc đọc
+     * phải chờ và được áp lên ảnh chụp, thay vì bị ảnh chụp cũ hơn ghi đè.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        List<LeaderboardRow> rows;
+        lock.writeLock().lock();
+        try {
+            rows = userXPRepository.findAllLeaderboardRows();
+            entries.clear();
+            root = null;
+            for (LeaderboardRow row : rows) {
+                putLocked(new Entry(row.getUserId(), row.getFullName(), row.getCurrentTitle(),
+                        row.getCurrentBadge(), row.getTotalXP() != null ? row.getTotalXP() : 0));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Leaderboard built: {} learners in {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Thêm hoặc cập nhật XP/title/badge của một người học.
+     */
+    public void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            putLocked(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Như {@link #put} nhưng giữ TotalXP lớn hơn: dùng cho cập nhật sau commit khi XP chỉ tăng,
+     * để hai transaction commit lệch thứ tự không ghi đè XP mới bằng giá trị đọc trước đó.
+     */
+    public void raise(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.get(entry.userId());
+            if (old == null || old.totalXP() <= entry.totalXP()) putLocked(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cập nhật tên hiển thị (không đổi thứ hạng).
+     */
+    public void rename(Long userId, String fullName) {
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.get(userId);
+            if (old != null) {
+                Entry renamed = new Entry(userId, fullName, old.currentTitle(), old.currentBadge(), old.totalXP());
+                entries.put(userId, renamed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.remove(userId);
+            if (old != null) root = delete(root, old.totalXP(), userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hạng (bắt đầu từ 1) của người học; 0 nếu chưa có trong bảng xếp hạng.
+     */
+    public int rankOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Entry e = entries.get(userId);
+            return e == null ? 0 : countBefore(root, e.totalXP(), userId) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lấy {@code count} người học bắt đầu từ vị trí {@code offset} (0 = hạng 1).
+     */
+    public List<LeaderboardResponse> range(int offset, int count) {
+        lock.readLock().lock();
+        try {
+            return rangeLocked(offset, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Người học và tối đa {@code radius} người đứng ngay trên/dưới; rỗng nếu chưa có trong bảng xếp hạng.
+     */
+    public List<LeaderboardResponse> around(Long userId, int radius) {
+        lock.readLock().lock();
+        try {
+            Entry e = entries.get(userId);
+            if (e == null) return List.of();
+            int index = countBefore(root, e.totalXP(), userId);
+            int from = Math.max(0, index - radius);
+            return rangeLocked(from, index - from + radius + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== treap =====
+
+    private static final class Node {
+        final Long userId;
+        final int xp;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(Long userId, int xp) {
+            this.userId = userId;
+            this.xp = xp;
+        }
+    }
+
+    private void putLocked(Entry entry) {
+        Entry old = entries.put(entry.userId(), entry);
+        if (old != null) {
+            if (old.totalXP() == entry.totalXP()) return;
+            root = delete(root, old.totalXP(), old.userId());
+        }
+        root = insert(root, new Node(entry.userId(), entry.totalXP()));
+    }
+
+    private List<LeaderboardResponse> rangeLocked(int offset, int count) {
+        List<LeaderboardResponse> result = new ArrayList<>(Math.max(0, Math.min(count, size(root) - offset)));
+        if (offset < 0 || count <= 0) return result;
+        collect(root, offset, count, 0, result);
+        return result;
+    }
+
+    /**
+     * Duyệt theo thứ tự, bỏ qua các cây con nằm hoàn toàn trước {@code offset} nhờ kích thước cây con.
+     */
+    private void collect(Node node, int offset, int count, int base, List<LeaderboardResponse> out) {
+        if (node == null || out.size() >= count) return;
+        int leftSize = size(node.left);
+        int nodeIndex = base + leftSize;
+        if (offset < nodeIndex) {
+            collect(node.left, offset, count, base, out);
+        }
+        if (out.size() >= count) return;
+        if (nodeIndex >= offset) {
+            Entry e = entries.get(node.userId);
+            out.add(new LeaderboardResponse(nodeIndex + 1, e.userId(), e.fullName(),
+                    e.currentTitle(), e.currentBadge(), e.totalXP()));
+        }
+        collect(node.right, offset, count, nodeIndex + 1, out);
+    }
+
+    // XP cao hơn đứng trước; cùng XP thì userId nhỏ hơn đứng trước
+    private static int compare(int xpA, Long idA, int xpB, Long idB) {
+        int c = Integer.compare(xpB, xpA);
+        return c != 0 ? c : Long.compare(idA, idB);
+    }
+
+    private static int countBefore(Node node, int xp, Long userId) {
+        int count = 0;
+        while (node != null) {
+            int c = compare(xp, userId, node.xp, node.userId);
+            if (c <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    private static Node insert(Node node, Node fresh) {
+        if (node == null) return fresh;
+        if (compare(fresh.xp, fresh.userId, node.xp, node.userId) < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) node = rotateLeft(node);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node delete(Node node, int xp, Long userId) {
+        if (node == null) return null;
+        int c = compare(xp, userId, node.xp, node.userId);
+        if (c < 0) {
+            node.left = delete(node.left, xp, userId);
+        } else if (c > 0) {
+            node.right = delete(node.right, xp, userId);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node l = node.left;
+        node.left = l.right;
+        l.right = node;
+        update(node);
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node r = node.right;
+        node.right = r.left;
+        r.left = node;
+        update(node);
+        update(r);
+        return r;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
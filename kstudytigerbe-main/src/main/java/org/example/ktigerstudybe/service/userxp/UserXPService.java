@@ -4,12 +4,19 @@ import org.example.ktigerstudybe.dto.req.UserXPUpdateRequest;
 import org.example.ktigerstudybe.dto.resp.LeaderboardResponse;
 import org.example.ktigerstudybe.dto.resp.UserXPResponse;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
 
 public interface UserXPService {
     UserXPResponse getUserXP(Long userId);
     UserXPResponse addXP(UserXPUpdateRequest req);
     UserXPResponse createInitialUserXP(Long userId);
-    List<LeaderboardResponse> getLeaderboard();
+    // Top {limit} người học theo XP
+    List<LeaderboardResponse> getLeaderboard(int limit);
+    Page<LeaderboardResponse> getLeaderboardPage(Pageable pageable);
+    // Người học và {radius} người đứng ngay trên/dưới
+    List<LeaderboardResponse> getLeaderboardAround(Long userId, int radius);
 
 }
\ No newline at end of file
@@ -1,19 +1,27 @@
 package org.example.ktigerstudybe.service.userxp;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.example.ktigerstudybe.dto.req.UserXPUpdateRequest;
 import org.example.ktigerstudybe.dto.resp.LeaderboardResponse;
 import org.example.ktigerstudybe.dto.resp.UserXPResponse;
-import org.example.ktigerstudybe.model.LevelXP;
 import org.example.ktigerstudybe.model.User;
 import org.example.ktigerstudybe.model.UserXP;
-import org.example.ktigerstudybe.repository.LevelXPRepository;
 import org.example.ktigerstudybe.repository.UserRepository;
 import org.example.ktigerstudybe.repository.UserXPRepository;
+import org.example.ktigerstudybe.repository.XpLedgerRepository;
+import org.example.ktigerstudybe.service.levelxp.LevelThresholdTable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class UserXPServiceImpl implements UserXPService {
@@ -23,9 +31,15 @@ public class UserXPServiceImpl implements UserXPService {
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private LevelXPRepository levelXPRepository;
+    private LevelThresholdTable levelThresholdTable;
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+    @Autowired
+    private XpLedgerRepository xpLedgerRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    private UserXPResponse toResponse(UserXP entity) {
+    UserXPResponse toResponse(UserXP entity) {
         UserXPResponse resp = new UserXPResponse();
         resp.setUserXPId(entity.getUserXPId());
         resp.setUserId(entity.getUser().getUserId());
@@ -43,45 +57,70 @@ public class UserXPServiceImpl implements UserXPService {
         return toResponse(userXP);
     }
 
+    /**
+     * Cộng XP theo kiểu chống trùng và an toàn khi nhiều request chạy song song:
+     * ghi sổ cái xp_ledger trước (khoá duy nhất userId + source + sourceId), rồi cộng
+     * TotalXP bằng một câu UPDATE nguyên tử; level chỉ được nâng lên, không bao giờ hạ.
+     * Nếu phần thưởng đã được ghi trước đó thì trả về XP hiện tại mà không cộng thêm.
+     */
     @Override
+    @Transactional
     public UserXPResponse addXP(UserXPUpdateRequest req) {
+        if (req.getXpToAdd() == null || req.getXpToAdd() < 0) {
+            throw new IllegalArgumentException("xpToAdd must be >= 0");
+        }
         User user = userRepository.findById(req.getUserId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found!"));
+        Long userId = user.getUserId();
+
+        String source = req.getSource() != null && !req.getSource().isBlank() ? req.getSource() : XpSource.MANUAL;
+        String sourceId = req.getSourceId() != null && !req.getSourceId().isBlank()
+                ? req.getSourceId() : UUID.randomUUID().toString();
+        // source/sourceId đến từ client (/api/user-xp/add); dài quá cột thì INSERT IGNORE chỉ cắt bớt và cảnh báo
+        // ở MySQL không strict, khiến hai phần thưởng khác nhau có thể trùng khoá
+        if (source.length() > XpSource.MAX_SOURCE_LENGTH) {
+            throw new IllegalArgumentException("source must be at most " + XpSource.MAX_SOURCE_LENGTH + " characters");
+        }
+        if (sourceId.length() > XpSource.MAX_SOURCE_ID_LENGTH) {
+            throw new IllegalArgumentException("sourceId must be at most " + XpSource.MAX_SOURCE_ID_LENGTH + " characters");
+        }
 
-        // Tìm hoặc tạo UserXP
-        UserXP userXP = userXPRepository.findByUser_UserId(user.getUserId())
-                .orElseGet(() -> {
-                    UserXP ux = new UserXP();
-                    ux.setUser(user);
-                    ux.setTotalXP(0);
-                    ux.setLevelNumber(1);
-                    // Gán title/badge level 1 nếu có
-                    LevelXP level1 = levelXPRepository.findByLevelNumber(1).orElse(null);
-                    if (level1 != null) {
-                        ux.setCurrentTitle(level1.getTitle());
-                        ux.setCurrentBadge(level1.getBadgeImage());
-                    }
-                    return ux;
-                });
-
-        int newTotalXP = userXP.getTotalXP() + req.getXpToAdd();
-        userXP.setTotalXP(newTotalXP);
-
-        // Xử lý lên level nếu đạt XP mới
-        int curLevel = userXP.getLevelNumber();
-        Optional<LevelXP> nextLevelOpt = levelXPRepository.findByLevelNumber(curLevel + 1);
-
-        while (nextLevelOpt.isPresent() && newTotalXP >= nextLevelOpt.get().getRequiredXP()) {
-            LevelXP nextLevel = nextLevelOpt.get();
-            userXP.setLevelNumber(nextLevel.getLevelNumber());
-            userXP.setCurrentTitle(nextLevel.getTitle());
-            userXP.setCurrentBadge(nextLevel.getBadgeImage());
-            curLevel = nextLevel.getLevelNumber();
-            nextLevelOpt = levelXPRepository.findByLevelNumber(curLevel + 1);
+        boolean awarded = xpLedgerRepository.insertIfAbsent(userId, source, sourceId, req.getXpToAdd()) > 0;
+        if (awarded) {
+            if (userXPRepository.incrementTotalXP(userId, req.getXpToAdd()) == 0) {
+                // Lần đầu nhận XP: tạo dòng userxp rồi cộng lại
+                LevelThresholdTable.Level level1 = levelThresholdTable.first();
+                userXPRepository.insertIfAbsent(userId,
+                        level1 != null ? level1.levelNumber() : 1,
+                        level1 != null ? level1.title() : null,
+                        level1 != null ? level1.badgeImage() : null);
+                userXPRepository.incrementTotalXP(userId, req.getXpToAdd());
+            }
         }
 
-        userXP = userXPRepository.save(userXP);
-        return toResponse(userXP);
+        UserXP userXP = userXPRepository.findByUser_UserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("UserXP not found!"));
+        // Các UPDATE native không xoá persistence context (để không tách entity của caller),
+        // nên entity có thể đã nằm sẵn trong context với TotalXP cũ
+        entityManager.refresh(userXP);
+
+        // Xử lý lên level nếu đạt XP mới (tra bảng ngưỡng trong bộ nhớ, không bao giờ hạ level)
+        LevelThresholdTable.Level reached = levelThresholdTable.resolve(userXP.getTotalXP());
+        int currentLevel = userXP.getLevelNumber() != null ? userXP.getLevelNumber() : 0;
+        if (reached != null && reached.levelNumber() > currentLevel
+                && userXPRepository.raiseLevel(userId, reached.levelNumber(), reached.title(), reached.badgeImage()) > 0) {
+            // Đọc lại thay vì gán setter: entity bẩn sẽ bị flush thành UPDATE ghi đè TotalXP bằng giá trị cũ
+            entityManager.refresh(userXP);
+        }
+
+        if (awarded) {
+            LeaderboardIndex.Entry entry = toLeaderboardEntry(userXP, user);
+            // TotalXP đọc trong transaction; transaction khác có thể commit trước với giá trị lớn hơn
+            afterCommit(() -> leaderboardIndex.raise(entry));
+        }
+        UserXPResponse resp = toResponse(userXP);
+        resp.setXpAwarded(awarded ? req.getXpToAdd() : 0);
+        return resp;
     }
 
     @Override
@@ -89,32 +128,56 @@ public class UserXPServiceImpl implements UserXPService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        LevelXP level1 = levelXPRepository.findByLevelNumber(1)
-                .orElseThrow(() -> new IllegalStateException("Level 1 data missing"));
+        LevelThresholdTable.Level level1 = levelThresholdTable.first();
+        if (level1 == null) {
+            throw new IllegalStateException("Level 1 data missing");
+        }
 
         UserXP userXP = new UserXP();
         userXP.setUser(user);
         userXP.setTotalXP(0);
-        userXP.setLevelNumber(level1.getLevelNumber());
-        userXP.setCurrentTitle(level1.getTitle());
-        userXP.setCurrentBadge(level1.getBadgeImage());
+        userXP.setLevelNumber(level1.levelNumber());
+        userXP.setCurrentTitle(level1.title());
+        userXP.setCurrentBadge(level1.badgeImage());
 
         userXP = userXPRepository.save(userXP);
+        leaderboardIndex.put(toLeaderboardEntry(userXP, user));
 
         return toResponse(userXP);
     }
 
     @Override
-    public List<LeaderboardResponse> getLeaderboard() {
-        List<UserXP> userXPList = userXPRepository.findAllWithUserOrderedByXP();
-        return userXPList.stream()
-                .map(u ->
-                        new LeaderboardResponse(
-                        u.getUser().getFullName(),
-                        u.getCurrentTitle(),
-                        u.getCurrentBadge(),
-                        u.getTotalXP()
-                )).toList();
+    public List<LeaderboardResponse> getLeaderboard(int limit) {
+        return leaderboardIndex.range(0, limit);
     }
-}
 
+    @Override
+    public Page<LeaderboardResponse> getLeaderboardPage(Pageable pageable) {
+        List<LeaderboardResponse> content = leaderboardIndex.range((int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, leaderboardIndex.size());
+    }
+
+    @Override
+    public List<LeaderboardResponse> getLeaderboardAround(Long userId, int radius) {
+        return leaderboardIndex.around(userId, radius);
+    }
+
+    // Bảng xếp hạng chỉ nhận XP đã commit; ngoài transaction thì cập nhật ngay
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static LeaderboardIndex.Entry toLeaderboardEntry(UserXP userXP, User user) {
+        return new LeaderboardIndex.Entry(user.getUserId(), user.getFullName(),
+                userXP.getCurrentTitle(), userXP.getCurrentBadge(), userXP.getTotalXP());
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.ktigerstudybe.service.userxp;
+
+/**
+ * Nguồn cộng XP, dùng làm một phần khoá chống cộng trùng trong sổ cái xp_ledger.
+ */
+public final class XpSource {
+
+    public static final String LESSON = "LESSON";
+    public static final String EXERCISE = "EXERCISE";
+    public static final String MANUAL = "MANUAL";
+
+    // Khớp độ dài cột Source / SourceID của xp_ledger
+    public static final int MAX_SOURCE_LENGTH = 32;
+    public static final int MAX_SOURCE_ID_LENGTH = 64;
+
+    private XpSource() {
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.ktigerstudybe.util;
+
+import java.io.IOException;
+
+/**
+ * Ném ra khi một bản ghi CSV không hợp lệ (ngoặc kép không đóng, bản ghi quá dài).
+ * Reader đã bỏ qua bản ghi đó nên vẫn đọc tiếp được từ dòng kế tiếp.
+ */
+public class CsvRowException extends IOException {
+
+    private final long line;
+
+    public CsvRowException(long line, String message) {
+        super(message);
+        this.line = line;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
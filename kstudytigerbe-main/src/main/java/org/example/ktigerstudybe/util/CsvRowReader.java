@@ -0,0 +1,157 @@
+package org.example.ktigerstudybe.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Đọc CSV/TSV từng dòng một (bộ nhớ không phụ thuộc kích thước file).
+ * Hỗ trợ ô trong dấu ngoặc kép (kể cả xuống dòng bên trong), "" để escape,
+ * BOM UTF-8 do Excel ghi ra, và tự nhận dấu phân cách (tab, ';' hoặc ',') từ dòng đầu tiên.
+ * Một bản ghi bị giới hạn số ký tự và số dòng vật lý: ngoặc kép không đóng không kéo cả phần còn lại
+ * của file vào bộ nhớ mà làm hỏng đúng bản ghi đó ({@link CsvRowException}), rồi đọc tiếp từ dòng sau.
+ */
+public class CsvRowReader implements Closeable {
+
+    public static final int DEFAULT_MAX_ROW_LENGTH = 16 * 1024;
+    public static final int DEFAULT_MAX_ROW_LINES = 64;
+
+    private final BufferedReader reader;
+    private final int maxRowLength;
+    private final int maxRowLines;
+    // Các dòng đã đọc của bản ghi lỗi, được phân tích lại như bản ghi mới
+    private final Deque<String> pending = new ArrayDeque<>();
+    private char delimiter;
+    private boolean firstLine = true;
+    private long lineNumber;
+    private long rowStartLine;
+
+    public CsvRowReader(Reader reader) {
+        this(reader, DEFAULT_MAX_ROW_LENGTH, DEFAULT_MAX_ROW_LINES);
+    }
+
+    public CsvRowReader(Reader reader, int maxRowLength, int maxRowLines) {
+        this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        this.maxRowLength = maxRowLength;
+        this.maxRowLines = maxRowLines;
+    }
+
+    /**
+     * Dòng bắt đầu của bản ghi vừa đọc (tính từ 1), dùng khi báo lỗi theo dòng.
+     */
+    public long getRowStartLine() {
+        return rowStartLine;
+    }
+
+    /**
+     * Đọc bản ghi tiếp theo, trả về null khi hết dữ liệu. Dòng trống bị bỏ qua.
+     *
+     * @throws CsvRowException bản ghi bắt đầu ở {@link CsvRowException#getLine()} không hợp lệ;
+     *                         lần gọi sau đọc tiếp từ dòng kế tiếp dòng đó
+     */
+    public List<String> nextRow() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) return null;
+            if (firstLine) {
+                if (!line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1);
+                }
+                delimiter = detectDelimiter(line);
+                firstLine = false;
+            }
+        } while (line.isBlank());
+
+        rowStartLine = lineNumber;
+        if (line.length() > maxRowLength) {
+            throw new CsvRowException(rowStartLine, "row longer than " + maxRowLength + " characters");
+        }
+        List<String> continuation = null;
+        int rowLength = line.length();
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i >= line.length()) {
+                if (quoted) {
+                    // Ô trong ngoặc kép kéo sang dòng sau
+                    if (continuation == null) continuation = new ArrayList<>();
+                    if (continuation.size() + 1 >= maxRowLines) {
+                        throw malformed(continuation, "quoted value spans more than " + maxRowLines + " lines");
+                    }
+                    String next = readLine();
+                    if (next == null) {
+                        throw malformed(continuation, "unterminated quoted value");
+                    }
+                    continuation.add(next);
+                    rowLength += next.length() + 1;
+                    if (rowLength > maxRowLength) {
+                        throw malformed(continuation, "row longer than " + maxRowLength + " characters");
+                    }
+                    cell.append('\n');
+                    line = next;
+                    i = 0;
+                    continue;
+                }
+                break;
+            }
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cell.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"' && cell.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+            i++;
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private String readLine() throws IOException {
+        String line = pending.pollFirst();
+        if (line == null) line = reader.readLine();
+        if (line != null) lineNumber++;
+        return line;
+    }
+
+    // Trả các dòng tiếp theo của bản ghi lỗi lại hàng đợi để chỉ bản ghi này bị bỏ
+    private CsvRowException malformed(List<String> continuation, String message) {
+        for (int k = continuation.size() - 1; k >= 0; k--) {
+            pending.addFirst(continuation.get(k));
+        }
+        lineNumber = rowStartLine;
+        return new CsvRowException(rowStartLine, message);
+    }
+
+    private static char detectDelimiter(String header) {
+        if (header.indexOf('\t') >= 0) return '\t';
+        if (header.indexOf(';') >= 0 && header.indexOf(',') < 0) return ';';
+        return ',';
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
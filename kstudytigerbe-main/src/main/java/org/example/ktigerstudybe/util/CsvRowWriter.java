@@ -0,0 +1,71 @@
+package org.example.ktigerstudybe.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Ghi CSV/TSV từng dòng một ra Writer; chỉ bọc ngoặc kép những ô cần thiết.
+ * Ô bắt đầu bằng ký tự mà Excel/LibreOffice hiểu là công thức được thêm tiền tố {@code '}
+ * (chống CSV injection), xem {@link #unescapeFormula(String)} cho chiều nhập lại.
+ */
+public class CsvRowWriter {
+
+    private final Writer writer;
+    private final char delimiter;
+
+    public CsvRowWriter(Writer writer, char delimiter) {
+        this.writer = writer;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Ghi BOM UTF-8 để Excel mở đúng tiếng Hàn/tiếng Việt.
+     */
+    public void writeBom() throws IOException {
+        writer.write('\uFEFF');
+    }
+
+    public void writeRow(String... cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) writer.write(delimiter);
+            writeCell(cells[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Bỏ tiền tố {@code '} do {@link #writeRow} thêm vào, để file xuất ra nhập lại được nguyên vẹn.
+     */
+    public static String unescapeFormula(String value) {
+        if (value.length() > 1 && value.charAt(0) == '\'' && isFormulaStart(value.charAt(1))) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    private static boolean isFormulaStart(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    private void writeCell(String value) throws IOException {
+        if (value == null || value.isEmpty()) return;
+        if (isFormulaStart(value.charAt(0))) {
+            value = "'" + value;
+        }
+        boolean needsQuotes = value.indexOf(delimiter) >= 0
+                || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
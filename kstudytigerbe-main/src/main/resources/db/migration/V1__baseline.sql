@@ -0,0 +1,239 @@
+-- Schema truoc khi co migration, dung nhu schema ma spring.jpa.hibernate.ddl-auto=update da tao tren MySQL.
+-- Database da co san duoc danh dau la version 1 (spring.flyway.baseline-on-migrate), khong chay lai file nay;
+-- moi bang / khoa / index them sau do nam trong V2 tro di.
+-- InnoDB tu tao index cho moi cot khoa ngoai.
+
+create table chat_conversations (
+    conversation_id bigint not null auto_increment,
+    created_at datetime(6),
+    difficulty varchar(255) not null,
+    scenario varchar(255) not null,
+    title varchar(255) not null,
+    user_id bigint not null,
+    primary key (conversation_id)
+) engine=InnoDB;
+
+create table chat_messages (
+    message_id bigint not null auto_increment,
+    content TEXT not null,
+    message_type varchar(255) not null,
+    timestamp datetime(6),
+    conversation_id bigint not null,
+    primary key (message_id)
+) engine=InnoDB;
+
+create table class (
+    classid bigint not null auto_increment,
+    class_name varchar(255) not null,
+    created_at datetime(6) not null,
+    description varchar(255),
+    password varchar(255) not null,
+    userid bigint not null,
+    primary key (classid)
+) engine=InnoDB;
+
+create table class_document_list (
+    class_document_listid bigint not null auto_increment,
+    assigned_at datetime(6) not null,
+    classid bigint not null,
+    listid bigint not null,
+    primary key (class_document_listid)
+) engine=InnoDB;
+
+create table class_user (
+    class_userid bigint not null auto_increment,
+    joined_at datetime(6) not null,
+    classid bigint not null,
+    userid bigint not null,
+    primary key (class_userid)
+) engine=InnoDB;
+
+create table document_item (
+    wordid bigint not null auto_increment,
+    example varchar(255),
+    meaning varchar(255) not null,
+    vocab_image varchar(255),
+    word varchar(255) not null,
+    listid bigint not null,
+    primary key (wordid)
+) engine=InnoDB;
+
+create table document_list (
+    listid bigint not null auto_increment,
+    created_at datetime(6) not null,
+    description varchar(255),
+    is_public integer not null,
+    title varchar(255) not null,
+    type varchar(255),
+    userid bigint not null,
+    primary key (listid)
+) engine=InnoDB;
+
+create table document_report (
+    reportid bigint not null auto_increment,
+    reason varchar(255) not null,
+    report_date datetime(6) not null,
+    listid bigint not null,
+    userid bigint not null,
+    primary key (reportid)
+) engine=InnoDB;
+
+create table exercise (
+    exerciseid bigint not null auto_increment,
+    exercise_description varchar(255),
+    exercise_title varchar(255),
+    exercise_type varchar(255),
+    lessonid bigint,
+    primary key (exerciseid)
+) engine=InnoDB;
+
+create table favorite_document_list (
+    favoriteid bigint not null auto_increment,
+    favorite_at datetime(6) not null,
+    listid bigint not null,
+    userid bigint not null,
+    primary key (favoriteid)
+) engine=InnoDB;
+
+create table grammartheory (
+    grammarid bigint not null auto_increment,
+    grammar_content varchar(255),
+    grammar_example varchar(255),
+    grammar_title varchar(255),
+    lessonid bigint,
+    primary key (grammarid)
+) engine=InnoDB;
+
+create table lesson (
+    lessonid bigint not null auto_increment,
+    lesson_description varchar(255),
+    lesson_name varchar(255),
+    levelid bigint,
+    primary key (lessonid)
+) engine=InnoDB;
+
+create table level (
+    levelid bigint not null auto_increment,
+    description varchar(255),
+    level_name varchar(255),
+    primary key (levelid)
+) engine=InnoDB;
+
+create table levelxp (
+    level_number integer not null,
+    badge_image varchar(255),
+    requiredxp integer,
+    title varchar(255),
+    primary key (level_number)
+) engine=InnoDB;
+
+create table multiplechoicequestion (
+    questionid bigint not null auto_increment,
+    correct_answer varchar(255),
+    link_media varchar(255),
+    optiona varchar(255),
+    optionb varchar(255),
+    optionc varchar(255),
+    optiond varchar(255),
+    question_text varchar(255),
+    exerciseid bigint,
+    primary key (questionid)
+) engine=InnoDB;
+
+create table password_reset_token (
+    id bigint not null auto_increment,
+    expiry_date datetime(6),
+    token varchar(255) not null,
+    user_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table sentencerewritingquestion (
+    questionid bigint not null auto_increment,
+    link_media varchar(255),
+    original_sentence varchar(255),
+    rewritten_sentence varchar(255),
+    exerciseid bigint,
+    primary key (questionid)
+) engine=InnoDB;
+
+create table user (
+    userid bigint not null auto_increment,
+    avatar_image varchar(255),
+    date_of_birth date,
+    email varchar(255),
+    fullname varchar(255),
+    gender varchar(255),
+    join_date date,
+    password varchar(255),
+    role varchar(255),
+    user_name varchar(255),
+    user_status integer,
+    primary key (userid)
+) engine=InnoDB;
+
+create table user_progress (
+    progress_id bigint not null auto_increment,
+    is_lesson_completed bit,
+    last_accessed datetime(6),
+    lessonid bigint,
+    userid bigint,
+    primary key (progress_id)
+) engine=InnoDB;
+
+create table userexerciseresult (
+    resultid bigint not null auto_increment,
+    date_complete datetime(6),
+    score integer,
+    exerciseid bigint,
+    userid bigint,
+    primary key (resultid)
+) engine=InnoDB;
+
+create table userxp (
+    userxpid bigint not null auto_increment,
+    current_badge varchar(255),
+    current_title varchar(255),
+    level_number integer,
+    totalxp integer,
+    userid bigint,
+    primary key (userxpid)
+) engine=InnoDB;
+
+create table vocabularytheory (
+    vocabid bigint not null auto_increment,
+    example varchar(255),
+    image varchar(255),
+    meaning varchar(255),
+    word varchar(255),
+    lessonid bigint,
+    primary key (vocabid)
+) engine=InnoDB;
+
+alter table password_reset_token add constraint UK_g0guo4k8krgpwuagos61oc06j unique (token);
+
+alter table chat_conversations add constraint FKr0g61dr5clacujhjpauv3ouea foreign key (user_id) references user (userid);
+alter table chat_messages add constraint FKqgkanrr90j46564w4ww63jcna foreign key (conversation_id) references chat_conversations (conversation_id);
+alter table class add constraint FKp4k0tanermiukknswv1ei6fk2 foreign key (userid) references user (userid);
+alter table class_document_list add constraint FK5rkjiwcdwqlvsim3p1etbenej foreign key (classid) references class (classid);
+alter table class_document_list add constraint FKs9u36r7lehifr0g3t6y9sy4w0 foreign key (listid) references document_list (listid);
+alter table class_user add constraint FK9wus2uosdf5qtmjf375l7j7y4 foreign key (classid) references class (classid);
+alter table class_user add constraint FKfk2jf49f5ubk0ukc4r0igt8bs foreign key (userid) references user (userid);
+alter table document_item add constraint FK2jv69p8064fde5p391cvbi250 foreign key (listid) references document_list (listid);
+alter table document_list add constraint FK8nbvkgg5wcmk3aq4vi8fx3x8d foreign key (userid) references user (userid);
+alter table document_report add constraint FK4aj451gc6mth35wh408m87q41 foreign key (listid) references document_list (listid);
+alter table document_report add constraint FKabrocafoadyt5hdkuc270ln1n foreign key (userid) references user (userid);
+alter table exercise add constraint FKjgvs6qq6doe10q3dh6p4j9lkn foreign key (lessonid) references lesson (lessonid);
+alter table favorite_document_list add constraint FKo19ose28p0j6w7ran48uf83n0 foreign key (listid) references document_list (listid);
+alter table favorite_document_list add constraint FKmjv5kgy1npvkhfkna4a5w1bfg foreign key (userid) references user (userid);
+alter table grammartheory add constraint FKdet1depb7iv81rtu76hvlaif2 foreign key (lessonid) references lesson (lessonid);
+alter table lesson add constraint FKj82mby3xn1ki1dub18eppbask foreign key (levelid) references level (levelid);
+alter table multiplechoicequestion add constraint FKt4er9neq541iob9iptaknpb71 foreign key (exerciseid) references exercise (exerciseid);
+alter table password_reset_token add constraint FK5lwtbncug84d4ero33v3cfxvl foreign key (user_id) references user (userid);
+alter table sentencerewritingquestion add constraint FK96w6otsscefjv8kg6fsc241l0 foreign key (exerciseid) references exercise (exerciseid);
+alter table user_progress add constraint FKjksjqfbc2ujtq8al1onq6cfg7 foreign key (lessonid) references lesson (lessonid);
+alter table user_progress add constraint FKegc76uwcakdiv2vf6jituvlnv foreign key (userid) references user (userid);
+alter table userexerciseresult add constraint FKpgyxssss23dkht1kac1gbnej2 foreign key (exerciseid) references exercise (exerciseid);
+alter table userexerciseresult add constraint FKc4wqwyy63ofrr01auyi4qdh9p foreign key (userid) references user (userid);
+alter table userxp add constraint FKf441068pndormntgvsu2c9cgn foreign key (userid) references user (userid);
+alter table vocabularytheory add constraint FK9fpm9u5pl4d3hoov7cbltkwrx foreign key (lessonid) references lesson (lessonid);
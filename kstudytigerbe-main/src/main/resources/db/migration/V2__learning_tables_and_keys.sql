@@ -0,0 +1,128 @@
+-- Bang va khoa duy nhat ma code hien tai can nhung schema V1 chua co.
+
+-- Cache ban dich Han -> Viet (gemini.translation-cache.persistent=true)
+create table translation_cache (
+    entryid bigint not null auto_increment,
+    created_at datetime(6) not null,
+    source_hash varchar(64) not null,
+    source_text TEXT not null,
+    translation TEXT not null,
+    primary key (entryid)
+) engine=InnoDB;
+alter table translation_cache add constraint UK_ton03na6wbnvaybpjiwegi21r unique (source_hash);
+
+-- So cai XP: moi phan thuong (user, nguon, ma nguon) chi duoc cong mot lan
+create table xp_ledger (
+    ledgerid bigint not null auto_increment,
+    created_at datetime(6) not null,
+    source varchar(32) not null,
+    sourceid varchar(64) not null,
+    userid bigint not null,
+    xp integer not null,
+    primary key (ledgerid)
+) engine=InnoDB;
+alter table xp_ledger add constraint uk_xp_ledger_award unique (userid, source, sourceid);
+
+-- Moi user mot dong userxp (INSERT IGNORE trong UserXPRepository.insertIfAbsent dua vao khoa nay).
+-- Dong trung: cong tong XP va lay level cao nhat vao dong cu nhat roi xoa cac dong con lai
+update userxp
+set totalxp = (
+        select s.total from (
+            select userid, sum(coalesce(totalxp, 0)) as total from userxp where userid is not null group by userid
+        ) s where s.userid = userxp.userid),
+    level_number = (
+        select s.level from (
+            select userid, max(level_number) as level from userxp where userid is not null group by userid
+        ) s where s.userid = userxp.userid)
+where userxpid in (
+    select keep_id from (
+        select min(userxpid) as keep_id from userxp where userid is not null group by userid having count(*) > 1
+    ) duplicated
+);
+delete from userxp
+where userid is not null
+  and userxpid not in (
+    select keep_id from (
+        select min(userxpid) as keep_id from userxp where userid is not null group by userid
+    ) keep_rows
+);
+alter table userxp add constraint uk_userxp_user unique (userid);
+
+-- Moi (user, bai hoc) mot dong tien do (INSERT IGNORE trong UserProgressRepository.insertIfAbsent).
+-- Dong trung: giu dong cu nhat, danh dau hoan thanh neu mot dong bat ky da hoan thanh
+update user_progress
+set is_lesson_completed = true
+where progress_id in (
+    select keep_id from (
+        select min(progress_id) as keep_id from user_progress
+        where userid is not null and lessonid is not null
+        group by userid, lessonid
+        having count(*) > 1 and max(case when is_lesson_completed then 1 else 0 end) = 1
+    ) completed
+);
+delete from user_progress
+where userid is not null and lessonid is not null
+  and progress_id not in (
+    select keep_id from (
+        select min(progress_id) as keep_id from user_progress
+        where userid is not null and lessonid is not null
+        group by userid, lessonid
+    ) keep_rows
+);
+alter table user_progress add constraint uk_user_progress_user_lesson unique (userid, lessonid);
+
+-- Tong hop ket qua bai tap theo (user, bai tap) va histogram diem theo bai tap
+create table user_exercise_stats (
+    statsid bigint not null auto_increment,
+    attempt_count integer not null,
+    best_score integer not null,
+    exerciseid bigint not null,
+    last_attempt_at datetime(6),
+    last_score integer not null,
+    userid bigint not null,
+    primary key (statsid)
+) engine=InnoDB;
+alter table user_exercise_stats add constraint uk_user_exercise_stats unique (userid, exerciseid);
+
+create table exercise_score_histogram (
+    bucketid bigint not null auto_increment,
+    attempt_count bigint not null,
+    exerciseid bigint not null,
+    score integer not null,
+    primary key (bucketid)
+) engine=InnoDB;
+alter table exercise_score_histogram add constraint uk_exercise_score_bucket unique (exerciseid, score);
+
+-- Dung bang tong hop tu cac ket qua da co; ExerciseResultRollup.record cap nhat tiep cho moi lan lam bai moi
+insert into user_exercise_stats (userid, exerciseid, best_score, last_score, attempt_count, last_attempt_at)
+select r.userid, r.exerciseid, max(coalesce(r.score, 0)),
+       (select coalesce(r2.score, 0) from userexerciseresult r2
+         where r2.userid = r.userid and r2.exerciseid = r.exerciseid
+         order by r2.date_complete desc, r2.resultid desc limit 1),
+       count(*), max(r.date_complete)
+from userexerciseresult r
+where r.userid is not null and r.exerciseid is not null
+group by r.userid, r.exerciseid;
+
+insert into exercise_score_histogram (exerciseid, score, attempt_count)
+select r.exerciseid, coalesce(r.score, 0), count(*)
+from userexerciseresult r
+where r.exerciseid is not null
+group by r.exerciseid, coalesce(r.score, 0);
+
+-- The on tap SM-2, hang doi den han quet theo (UserID, DueAt)
+create table review_card (
+    cardid bigint not null auto_increment,
+    card_type varchar(16) not null,
+    due_at datetime(6) not null,
+    ease_factor float(53) not null,
+    interval_days integer not null,
+    itemid bigint not null,
+    lapses integer not null,
+    last_reviewed_at datetime(6),
+    repetitions integer not null,
+    userid bigint not null,
+    primary key (cardid)
+) engine=InnoDB;
+alter table review_card add constraint uk_review_card_item unique (userid, card_type, itemid);
+create index idx_review_card_due on review_card (userid, due_at, cardid);
@@ -0,0 +1,36 @@
+-- Index cho cac truy van repository chay thuong xuyen (kiem tra bang SchemaIndexPlanTest).
+-- Da co tu V1/V2, khong them lai:
+--   user_progress (userid, lessonid)   uk_user_progress_user_lesson (V2)
+--   review_card (userid, due_at)       idx_review_card_due (V2)
+--   password_reset_token (token)       unique
+--   document_item (listid)             index cua khoa ngoai
+
+-- Chat: danh sach hoi thoai cua user (moi nhat truoc, co the loc theo scenario), tin nhan theo thoi gian
+create index idx_chat_conversation_user_created on chat_conversations (user_id, created_at);
+create index idx_chat_conversation_user_scenario on chat_conversations (user_id, scenario, created_at);
+create index idx_chat_message_conversation_time on chat_messages (conversation_id, timestamp);
+
+-- Deck public theo type (top-N moi type, loc type + public), deck cua user moi nhat truoc
+create index idx_document_list_public_type_created on document_list (is_public, type, created_at);
+create index idx_document_list_user_created on document_list (userid, created_at);
+
+-- Dang nhap theo email, dem user moi tren dashboard admin.
+-- Role / UserStatus chi co vai gia tri: MySQL van quet bang nen khong danh index
+create index idx_user_email on user (email);
+create index idx_user_join_date on user (join_date);
+
+-- Lich su lam bai cua user (moi nhat truoc), theo tung bai tap
+create index idx_user_exercise_result_user_date on userexerciseresult (userid, date_complete);
+create index idx_user_exercise_result_user_exercise on userexerciseresult (userid, exerciseid, date_complete);
+
+-- Bang xep hang theo tong XP
+create index idx_userxp_total on userxp (totalxp);
+
+-- Moi user chi yeu thich mot deck mot lan: xoa ban ghi trung (giu ban ghi cu nhat) roi them khoa duy nhat
+delete from favorite_document_list
+where favoriteid not in (
+    select keep_id from (
+        select min(favoriteid) as keep_id from favorite_document_list group by userid, listid
+    ) keep_rows
+);
+alter table favorite_document_list add constraint uk_favorite_document_list_user_list unique (userid, listid);
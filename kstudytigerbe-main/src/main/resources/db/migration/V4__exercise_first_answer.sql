@@ -0,0 +1,13 @@
+-- Cau tra loi dau tien cua nguoi hoc cho tung cau hoi (POST /api/exercises/{id}/check).
+-- /attempts cham diem tu cac dong nay nen dap an hien ra sau /check khong the dung de nop lai.
+create table exercise_first_answer (
+    answerid bigint not null auto_increment,
+    answer varchar(1000),
+    created_at datetime(6) not null,
+    exerciseid bigint not null,
+    question_type varchar(16) not null,
+    questionid bigint not null,
+    userid bigint not null,
+    primary key (answerid)
+) engine=InnoDB;
+alter table exercise_first_answer add constraint uk_exercise_first_answer unique (userid, exerciseid, question_type, questionid);
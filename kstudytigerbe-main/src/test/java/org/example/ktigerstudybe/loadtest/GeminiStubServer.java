@@ -0,0 +1,117 @@
+package org.example.ktigerstudybe.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gemini giả chạy trong JVM (JDK HttpServer) cho load test: trả lời generateContent bằng JSON và
+ * streamGenerateContent bằng SSE, có usageMetadata như API thật. Mỗi request chờ
+ * {@code latencyMs ± jitterMs} trước khi trả lời để mô phỏng thời gian sinh câu của model.
+ */
+final class GeminiStubServer implements AutoCloseable {
+
+    private static final String KOREAN_REPLY = "오늘은 김치찌개가 정말 맛있어요! 매운 거 좋아하세요?";
+    private static final String VIETNAMESE_REPLY = "Hôm nay canh kimchi rất ngon! Bạn có thích đồ cay không?";
+    private static final String[] STREAM_CHUNKS = {"오늘은 김치찌개가 ", "정말 맛있어요! ", "매운 거 좋아하세요?"};
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final AtomicLong calls = new AtomicLong();
+
+    GeminiStubServer(long latencyMs, long jitterMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 512);
+        // Mỗi request ngủ theo độ trễ giả lập nên không dùng pool cố định
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "gemini-stub");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * URL generateContent trỏ về stub; URL stream được GeminiAIService suy ra từ URL này.
+     */
+    String generateContentUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1beta/models/stub:generateContent";
+    }
+
+    long calls() {
+        return calls.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        calls.incrementAndGet();
+        try (exchange) {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            boolean translate = request.contains("Hãy dịch");
+            if (exchange.getRequestURI().getPath().endsWith(":streamGenerateContent")) {
+                stream(exchange);
+            } else {
+                sleep(latency());
+                byte[] body = event(translate ? VIETNAMESE_REPLY : KOREAN_REPLY, true).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        }
+    }
+
+    // Chia độ trễ cho các chunk: chunk đầu đến sau ~1/3 thời gian, như time-to-first-token của model thật
+    private void stream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=UTF-8");
+        exchange.sendResponseHeaders(200, 0);
+        long perChunk = latency() / STREAM_CHUNKS.length;
+        OutputStream out = exchange.getResponseBody();
+        for (int i = 0; i < STREAM_CHUNKS.length; i++) {
+            sleep(perChunk);
+            String line = "data: " + event(STREAM_CHUNKS[i], i == STREAM_CHUNKS.length - 1) + "\r\n\r\n";
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+    }
+
+    private static String event(String text, boolean withUsage) {
+        String usage = withUsage
+                ? ",\"usageMetadata\":{\"promptTokenCount\":420,\"candidatesTokenCount\":38,\"totalTokenCount\":458}"
+                : "";
+        return "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}],\"role\":\"model\"}}]"
+                + usage + "}";
+    }
+
+    private long latency() {
+        if (jitterMs <= 0) return latencyMs;
+        return Math.max(0, latencyMs + ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1));
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
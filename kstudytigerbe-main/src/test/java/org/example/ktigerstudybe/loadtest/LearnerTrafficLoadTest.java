@@ -0,0 +1,376 @@
+package org.example.ktigerstudybe.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.ktigerstudybe.model.DocumentList;
+import org.example.ktigerstudybe.model.Lesson;
+import org.example.ktigerstudybe.model.Level;
+import org.example.ktigerstudybe.model.LevelXP;
+import org.example.ktigerstudybe.model.User;
+import org.example.ktigerstudybe.model.UserXP;
+import org.example.ktigerstudybe.service.lesson.LessonOrderIndex;
+import org.example.ktigerstudybe.service.levelxp.LevelThresholdTable;
+import org.example.ktigerstudybe.service.userxp.LeaderboardIndex;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test đầu-cuối: dựng cả ứng dụng trên H2 (chế độ MySQL), trỏ Gemini về {@link GeminiStubServer},
+ * nạp dữ liệu người học rồi cho {@code loadtest.users} người dùng ảo gọi HTTP liên tục.
+ * Mỗi kịch bản chạy riêng một pha (để đếm đúng số câu SQL mỗi request), sau đó một pha trộn theo tỉ lệ
+ * traffic thực tế. Kết quả in ra log và ghi {@code target/loadtest/report.json}.
+ * <p>
+ * Chỉ chạy khi bật profile: {@code mvn -Ploadtest test [-Dloadtest.users=64 -Dloadtest.phase-seconds=30
+ * -Dloadtest.gemini.latency-ms=800]}. Không cần mạng hay MySQL.
+ */
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "gemini.api.mock=false",
+        "gemini.api.key=loadtest"
+})
+class LearnerTrafficLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LearnerTrafficLoadTest.class);
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 32);
+    private static final int PHASE_SECONDS = Integer.getInteger("loadtest.phase-seconds", 15);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private static final int LEARNERS = Integer.getInteger("loadtest.learners", 2000);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+    private static final int LEVELS = 3;
+    private static final int LESSONS_PER_LEVEL = 10;
+    private static final List<String> DECK_TYPES = List.of("TOPIK", "Giao tiếp", "Du lịch", "Ẩm thực", "Công việc");
+
+    private static final String CHAT = "chat";
+    private static final String LESSON_COMPLETE = "lesson-complete";
+    private static final String GROUPED_DECKS = "grouped-decks";
+    private static final String LEADERBOARD = "leaderboard";
+
+    private static final int LOGGED_FAILURES_PER_PHASE = 5;
+
+    // Tỉ lệ trong pha trộn: đọc bảng xếp hạng / trang chủ bộ từ nhiều, hoàn thành bài ít hơn, chat AI ít nhất
+    private static final Map<String, Integer> MIX = new LinkedHashMap<>();
+
+    static {
+        MIX.put(LEADERBOARD, 35);
+        MIX.put(GROUPED_DECKS, 35);
+        MIX.put(LESSON_COMPLETE, 20);
+        MIX.put(CHAT, 10);
+    }
+
+    private static GeminiStubServer gemini;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private LessonOrderIndex lessonOrderIndex;
+
+    @Autowired
+    private LevelThresholdTable levelThresholdTable;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private List<Long> userIds;
+    private List<Long> lessonIds;
+
+    @DynamicPropertySource
+    static void geminiStub(DynamicPropertyRegistry registry) throws IOException {
+        gemini = new GeminiStubServer(
+                Long.getLong("loadtest.gemini.latency-ms", 300),
+                Long.getLong("loadtest.gemini.jitter-ms", 100));
+        registry.add("gemini.api.url", gemini::generateContentUrl);
+    }
+
+    @AfterAll
+    static void stopGemini() {
+        if (gemini != null) gemini.close();
+    }
+
+    @Test
+    void learnerTraffic() throws Exception {
+        seed();
+        List<Long> conversationIds = createConversations();
+
+        runPhase("warmup", MIX, WARMUP_SECONDS, conversationIds, null);
+
+        LoadReport report = new LoadReport();
+        for (String scenario : MIX.keySet()) {
+            runPhase(scenario, Map.of(scenario, 1), PHASE_SECONDS, conversationIds, report);
+        }
+        long geminiCallsBefore = gemini.calls();
+        runPhase("mix", MIX, PHASE_SECONDS, conversationIds, report);
+
+        logger.info("Load test: {} virtual users, {} s per phase, {} learners, Gemini stub calls in mix: {}{}",
+                USERS, PHASE_SECONDS, LEARNERS, gemini.calls() - geminiCallsBefore, report.table());
+        Path out = Path.of("target", "loadtest", "report.json");
+        Files.createDirectories(out.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), Map.of(
+                "users", USERS, "phaseSeconds", PHASE_SECONDS, "learners", LEARNERS, "rows", report.rows()));
+
+        for (LoadReport.Row row : report.rows()) {
+            assertTrue(row.requests() > row.errors(), row.phase() + "/" + row.scenario() + ": no successful request");
+            assertTrue(row.errors() <= row.requests() * MAX_ERROR_RATE,
+                    row.phase() + "/" + row.scenario() + ": " + row.errors() + " errors of " + row.requests());
+        }
+    }
+
+    // ===== pha tải =====
+
+    private void runPhase(String phase, Map<String, Integer> mix, int seconds, List<Long> conversationIds,
+                          LoadReport report) throws Exception {
+        String[] wheel = wheel(mix);
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long started = System.nanoTime();
+        AtomicInteger failures = new AtomicInteger();
+
+        ExecutorService workers = Executors.newFixedThreadPool(USERS);
+        List<Future<Map<String, LoadReport.Recorder>>> futures = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            Long conversationId = conversationIds.get(u);
+            futures.add(workers.submit(() -> drive(wheel, deadline, conversationId, failures)));
+        }
+        Map<String, LoadReport.Recorder> merged = new LinkedHashMap<>();
+        for (Future<Map<String, LoadReport.Recorder>> f : futures) {
+            f.get().forEach((scenario, r) -> merged.computeIfAbsent(scenario, k -> new LoadReport.Recorder()).merge(r));
+        }
+        workers.shutdown();
+        double elapsed = (System.nanoTime() - started) / 1e9;
+        long statements = stats.getPrepareStatementCount();
+
+        if (report == null) return;
+        LoadReport.Recorder all = new LoadReport.Recorder();
+        merged.values().forEach(all::merge);
+        double statementsPerRequest = all.requests() == 0 ? 0 : (double) statements / all.requests();
+        if (mix.size() == 1) {
+            String scenario = mix.keySet().iterator().next();
+            report.add(phase, scenario, merged.getOrDefault(scenario, all), elapsed, statementsPerRequest);
+            return;
+        }
+        // Số câu SQL chỉ đếm được cho cả pha: các dòng kịch bản để trống, dòng "total" mang trung bình chung
+        for (String scenario : mix.keySet()) {
+            LoadReport.Recorder r = merged.getOrDefault(scenario, new LoadReport.Recorder());
+            report.add(phase, scenario, r, elapsed, null);
+        }
+        report.add(phase, "total", all, elapsed, statementsPerRequest);
+    }
+
+    private Map<String, LoadReport.Recorder> drive(String[] wheel, long deadline, Long conversationId,
+                                                   AtomicInteger failures) {
+        Map<String, LoadReport.Recorder> recorders = new HashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String scenario = wheel[random.nextInt(wheel.length)];
+            HttpRequest request = request(scenario, conversationId, random);
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() == 200;
+                if (!ok) logFailure(failures, scenario, "HTTP " + response.statusCode());
+            } catch (IOException e) {
+                ok = false;
+                logFailure(failures, scenario, e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            recorders.computeIfAbsent(scenario, k -> new LoadReport.Recorder()).record(System.nanoTime() - start, ok);
+        }
+        return recorders;
+    }
+
+    private static void logFailure(AtomicInteger failures, String scenario, String cause) {
+        if (failures.incrementAndGet() <= LOGGED_FAILURES_PER_PHASE) {
+            logger.warn("{} request failed: {}", scenario, cause);
+        }
+    }
+
+    private HttpRequest request(String scenario, Long conversationId, ThreadLocalRandom random) {
+        return switch (scenario) {
+            case LEADERBOARD -> get("/api/user-xp/leaderboard?limit=50");
+            case GROUPED_DECKS -> get("/api/document-lists/grouped");
+            case LESSON_COMPLETE -> post("/api/lessons/complete?userId=" + pick(userIds, random)
+                    + "&lessonId=" + pick(lessonIds, random) + "&score=" + (60 + random.nextInt(41)), "");
+            case CHAT -> post("/api/chat/conversations/" + conversationId + "/messages",
+                    "{\"content\":\"오늘 뭐가 제일 맛있어요? 추천해 주세요.\"}");
+            default -> throw new IllegalStateException(scenario);
+        };
+    }
+
+    private static String[] wheel(Map<String, Integer> mix) {
+        List<String> slots = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) slots.add(scenario);
+        });
+        return slots.toArray(String[]::new);
+    }
+
+    private static Long pick(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // ===== dữ liệu =====
+
+    private void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 1; i <= 20; i++) {
+                LevelXP levelXP = new LevelXP();
+                levelXP.setLevelNumber(i);
+                levelXP.setRequiredXP(50 * (i - 1) * (i - 1));
+                levelXP.setTitle("Level " + i);
+                entityManager.persist(levelXP);
+            }
+
+            lessonIds = new ArrayList<>();
+            for (int l = 1; l <= LEVELS; l++) {
+                Level level = new Level();
+                level.setLevelName("Sơ cấp " + l);
+                entityManager.persist(level);
+                for (int i = 1; i <= LESSONS_PER_LEVEL; i++) {
+                    Lesson lesson = new Lesson();
+                    lesson.setLessonName("Bài " + i);
+                    lesson.setLevel(level);
+                    entityManager.persist(lesson);
+                    lessonIds.add(lesson.getLessonId());
+                }
+            }
+
+            userIds = new ArrayList<>(LEARNERS);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < LEARNERS; i++) {
+                User user = new User();
+                user.setFullName("Learner " + i);
+                user.setEmail("learner" + i + "@loadtest.local");
+                user.setUserName("learner" + i);
+                user.setRole("USER");
+                user.setUserStatus(1);
+                user.setJoinDate(LocalDate.now());
+                entityManager.persist(user);
+                userIds.add(user.getUserId());
+
+                UserXP xp = new UserXP();
+                xp.setUser(user);
+                xp.setTotalXP(random.nextInt(20_000));
+                xp.setLevelNumber(1);
+                entityManager.persist(xp);
+
+                // Mỗi 20 người học có một tác giả đăng 2 bộ từ công khai
+                if (i % 20 == 0) {
+                    for (int d = 0; d < 2; d++) {
+                        entityManager.persist(DocumentList.builder()
+                                .user(user)
+                                .title("Bộ từ " + i + "-" + d)
+                                .type(DECK_TYPES.get((i / 20 + d) % DECK_TYPES.size()))
+                                .isPublic(0)
+                                .build());
+                    }
+                }
+                if (i % 200 == 199) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        // Các chỉ mục trong bộ nhớ được dựng lúc khởi động (DB còn trống): dựng lại sau khi nạp dữ liệu
+        leaderboardIndex.rebuild();
+        lessonOrderIndex.refresh();
+        levelThresholdTable.refresh();
+    }
+
+    private List<Long> createConversations() throws Exception {
+        String[] scenarios = {"restaurant", "shopping", "direction", "introduction", "daily"};
+        String[] difficulties = {"beginner", "intermediate", "advanced"};
+        List<Long> ids = new ArrayList<>(USERS);
+        for (int u = 0; u < USERS; u++) {
+            String body = "{\"userId\":" + userIds.get(u)
+                    + ",\"scenario\":\"" + scenarios[u % scenarios.length]
+                    + "\",\"difficulty\":\"" + difficulties[u % difficulties.length] + "\"}";
+            HttpResponse<String> response = http.send(post("/api/chat/conversations", body),
+                    HttpResponse.BodyHandlers.ofString());
+            assertTrue(response.statusCode() == 200, "create conversation: " + response.statusCode());
+            JsonNode node = objectMapper.readTree(response.body());
+            ids.add(node.get("conversationId").asLong());
+        }
+        return ids;
+    }
+}
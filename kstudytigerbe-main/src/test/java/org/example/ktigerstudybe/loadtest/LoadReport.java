@@ -0,0 +1,91 @@
+package org.example.ktigerstudybe.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ghi độ trễ từng request theo kịch bản và tổng hợp thành thông lượng, p50/p99, số câu SQL mỗi request.
+ */
+final class LoadReport {
+
+    private final List<Row> rows = new ArrayList<>();
+
+    /**
+     * Một dòng báo cáo. {@code statementsPerRequest} là số câu SQL Hibernate chuẩn bị trong pha chia cho
+     * số request của pha; thống kê Hibernate không tách theo kịch bản nên các dòng kịch bản của pha trộn
+     * để trống (null), chỉ dòng tổng của pha có giá trị.
+     */
+    record Row(String phase, String scenario, long requests, long errors, double seconds,
+               double throughput, double p50Ms, double p99Ms, double maxMs, Double statementsPerRequest) {
+    }
+
+    /**
+     * Bộ ghi của một worker (không đồng bộ); các worker được gộp bằng {@link #merge(Recorder)} sau pha.
+     */
+    static final class Recorder {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void record(long elapsedNanos, boolean ok) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (size == nanos.length) nanos = Arrays.copyOf(nanos, size * 2);
+            nanos[size++] = elapsedNanos;
+        }
+
+        void merge(Recorder other) {
+            if (size + other.size > nanos.length) nanos = Arrays.copyOf(nanos, size + other.size);
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        long requests() {
+            return size + errors;
+        }
+
+        long errors() {
+            return errors;
+        }
+    }
+
+    Row add(String phase, String scenario, Recorder recorder, double seconds, Double statementsPerRequest) {
+        long[] sorted = Arrays.copyOf(recorder.nanos, recorder.size);
+        Arrays.sort(sorted);
+        Row row = new Row(phase, scenario, recorder.requests(), recorder.errors(), seconds,
+                recorder.requests() / seconds, percentileMs(sorted, 50), percentileMs(sorted, 99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6, statementsPerRequest);
+        rows.add(row);
+        return row;
+    }
+
+    List<Row> rows() {
+        return List.copyOf(rows);
+    }
+
+    String table() {
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT,
+                "%n%-16s %-16s %9s %7s %10s %9s %9s %9s %9s%n",
+                "phase", "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms", "sql/req"));
+        for (Row r : rows) {
+            String sql = r.statementsPerRequest() == null ? "-"
+                    : String.format(Locale.ROOT, "%.2f", r.statementsPerRequest());
+            out.append(String.format(Locale.ROOT, "%-16s %-16s %9d %7d %10.1f %9.2f %9.2f %9.2f %9s%n",
+                    r.phase(), r.scenario(), r.requests(), r.errors(), r.throughput(),
+                    r.p50Ms(), r.p99Ms(), r.maxMs(), sql));
+        }
+        return out.toString();
+    }
+
+    // Nearest-rank
+    private static double percentileMs(long[] sorted, int percentile) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
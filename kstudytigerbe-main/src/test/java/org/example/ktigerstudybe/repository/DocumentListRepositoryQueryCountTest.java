@@ -0,0 +1,153 @@
+package org.example.ktigerstudybe.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.ktigerstudybe.dto.resp.DocumentListResponse;
+import org.example.ktigerstudybe.mapper.DocumentListMapper;
+import org.example.ktigerstudybe.model.DocumentList;
+import org.example.ktigerstudybe.model.FavoriteDocumentList;
+import org.example.ktigerstudybe.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Mỗi truy vấn danh sách tài liệu (kể cả đọc tác giả trong mapper) chỉ được chạy một câu SQL.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:doclists;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DocumentListRepositoryQueryCountTest {
+
+    private static final int LISTS_PER_USER = 3;
+
+    @Autowired
+    private DocumentListRepository documentListRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final DocumentListMapper mapper = new DocumentListMapper();
+
+    private Long authorId;
+    private Long readerId;
+    private Long firstListId;
+
+    @BeforeEach
+    void setUp() {
+        User author = persistUser("Author");
+        User reader = persistUser("Reader");
+        for (User u : List.of(author, reader)) {
+            for (int i = 0; i < LISTS_PER_USER; i++) {
+                DocumentList list = DocumentList.builder()
+                        .user(u)
+                        .title(u.getFullName() + " deck " + i)
+                        .type(i % 2 == 0 ? "TOPIK" : "Giao tiếp")
+                        .isPublic(0)
+                        .build();
+                entityManager.persist(list);
+                if (firstListId == null) firstListId = list.getListId();
+                FavoriteDocumentList favorite = FavoriteDocumentList.builder()
+                        .user(reader)
+                        .documentList(list)
+                        .build();
+                entityManager.persist(favorite);
+            }
+        }
+        authorId = author.getUserId();
+        readerId = reader.getUserId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void publicListsPage() {
+        assertSingleStatement(() -> documentListRepository.findByIsPublic(0, PageRequest.of(0, 20)).getContent());
+    }
+
+    @Test
+    void listsByUser() {
+        assertSingleStatement(() -> documentListRepository.findByUser_UserIdOrderByCreatedAtDesc(authorId));
+    }
+
+    @Test
+    void listsByUserPaged() {
+        assertSingleStatement(() -> documentListRepository.findByUser_UserId(authorId, PageRequest.of(0, 20)).getContent());
+    }
+
+    @Test
+    void favoritedLists() {
+        assertSingleStatement(() -> documentListRepository.findFavoritedByUserId(readerId));
+    }
+
+    @Test
+    void unassignedLists() {
+        assertSingleStatement(() -> documentListRepository.findUnassignedByUserId(authorId));
+    }
+
+    @Test
+    void listsByTypeAndPublic() {
+        assertSingleStatement(() -> documentListRepository.findByTypeAndIsPublic("TOPIK", 0));
+    }
+
+    @Test
+    void listById() {
+        assertSingleStatement(() -> documentListRepository.findById(firstListId).map(List::of).orElseThrow());
+    }
+
+    @Test
+    void groupedByType() {
+        Statistics stats = statistics();
+        List<DocumentListResponse> rows = documentListRepository.findTopPublicPerType(2)
+                .stream()
+                .map(mapper::toResponse)
+                .toList();
+        assertEquals(4, rows.size());
+        rows.forEach(r -> assertFalse(r.getFullName().isEmpty()));
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    private void assertSingleStatement(Supplier<List<DocumentList>> query) {
+        Statistics stats = statistics();
+        List<DocumentListResponse> responses = query.get().stream().map(mapper::toResponse).toList();
+        assertFalse(responses.isEmpty());
+        responses.forEach(r -> assertFalse(r.getFullName().isEmpty()));
+        assertEquals(1, stats.getPrepareStatementCount(), "SQL statements executed");
+    }
+
+    private Statistics statistics() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        return stats;
+    }
+
+    private User persistUser(String name) {
+        User user = new User();
+        user.setFullName(name);
+        user.setEmail(name.toLowerCase() + "@example.com");
+        user.setUserName(name.toLowerCase());
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.ktigerstudybe.repository;
+
+import jakarta.persistence.EntityManager;
+import org.example.ktigerstudybe.model.ExerciseFirstAnswer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Câu trả lời đầu tiên (/check) không bị lần kiểm tra sau ghi đè, trừ khi dòng cũ đã quá hạn (lượt bỏ dở).
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:firstanswers;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ExerciseFirstAnswerRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Autowired
+    private ExerciseFirstAnswerRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void laterChecksDoNotReplaceFirstAnswer() {
+        repository.recordFirstAnswer(1L, 10L, "MULTIPLE_CHOICE", 100L, "B", START, START.minusHours(24));
+        repository.recordFirstAnswer(1L, 10L, "MULTIPLE_CHOICE", 100L, "C", START.plusMinutes(1), START.minusHours(24));
+        repository.recordFirstAnswer(1L, 10L, "REWRITING", 100L, "저는 학생이에요", START, START.minusHours(24));
+
+        List<ExerciseFirstAnswer> answers = answers(1L, 10L);
+        assertEquals(2, answers.size());
+        ExerciseFirstAnswer mc = answers.stream().filter(a -> a.getQuestionType().equals("MULTIPLE_CHOICE")).findFirst().orElseThrow();
+        assertEquals("B", mc.getAnswer());
+        assertEquals(START, mc.getCreatedAt());
+    }
+
+    @Test
+    void staleAnswerFromAbandonedAttemptIsReplaced() {
+        repository.recordFirstAnswer(1L, 10L, "MULTIPLE_CHOICE", 100L, "B", START, START.minusHours(24));
+        LocalDateTime nextDay = START.plusDays(2);
+        repository.recordFirstAnswer(1L, 10L, "MULTIPLE_CHOICE", 100L, "D", nextDay, nextDay.minusHours(24));
+
+        ExerciseFirstAnswer answer = answers(1L, 10L).get(0);
+        assertEquals("D", answer.getAnswer());
+        assertEquals(nextDay, answer.getCreatedAt());
+    }
+
+    @Test
+    void deleteClearsOnlyThatAttempt() {
+        repository.recordFirstAnswer(1L, 10L, "MULTIPLE_CHOICE", 100L, "B", START, START.minusHours(24));
+        repository.recordFirstAnswer(1L, 11L, "MULTIPLE_CHOICE", 200L, "A", START, START.minusHours(24));
+        repository.recordFirstAnswer(2L, 10L, "MULTIPLE_CHOICE", 100L, "C", START, START.minusHours(24));
+
+        assertEquals(1, repository.deleteByUserIdAndExerciseId(1L, 10L));
+        assertTrue(answers(1L, 10L).isEmpty());
+        assertEquals(1, answers(1L, 11L).size());
+        assertEquals(1, answers(2L, 10L).size());
+    }
+
+    private List<ExerciseFirstAnswer> answers(Long userId, Long exerciseId) {
+        entityManager.clear();
+        return repository.findByUserIdAndExerciseId(userId, exerciseId);
+    }
+}
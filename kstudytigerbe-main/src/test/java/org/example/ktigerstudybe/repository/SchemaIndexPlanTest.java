@@ -0,0 +1,193 @@
+package org.example.ktigerstudybe.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Schema tạo bởi migration Flyway phải khớp entity (ddl-auto=validate) và mọi truy vấn có điều kiện lọc
+ * của repository phải đi qua index: chạy từng method, lấy SQL Hibernate sinh ra rồi EXPLAIN trên H2
+ * (chế độ MySQL); kế hoạch có {@code tableScan} là lỗi.
+ * Không kiểm tra các truy vấn đọc cả bảng theo thiết kế (findAll*, nạp index khi khởi động)
+ * tìm kiếm chuỗi con {@code LIKE '%kw%'} (không index B-tree nào dùng được) và lọc theo cột chỉ có vài giá trị
+ * (Role, UserStatus: MySQL vẫn chọn quét bảng nên không đánh index).
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schemaplan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchemaIndexPlanTest.CaptureSql.class)
+class SchemaIndexPlanTest {
+
+    private static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class CaptureSql {
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    (StatementInspector) sql -> {
+                        CAPTURED.add(sql);
+                        return sql;
+                    });
+        }
+    }
+
+    @Autowired private ChatConversationRepository chatConversations;
+    @Autowired private ChatMessageRepository chatMessages;
+    @Autowired private ClassDocumentListRepository classDocumentLists;
+    @Autowired private ClassRepository classes;
+    @Autowired private ClassUserRepository classUsers;
+    @Autowired private DocumentItemRepository documentItems;
+    @Autowired private DocumentListRepository documentLists;
+    @Autowired private DocumentReportRepository documentReports;
+    @Autowired private ExerciseFirstAnswerRepository firstAnswers;
+    @Autowired private ExerciseRepository exercises;
+    @Autowired private ExerciseScoreBucketRepository scoreBuckets;
+    @Autowired private FavoriteDocumentListRepository favorites;
+    @Autowired private GrammarTheoryRepository grammar;
+    @Autowired private LessonRepository lessons;
+    @Autowired private LevelXPRepository levelXPs;
+    @Autowired private MultipleChoiceQuestionRepository multipleChoice;
+    @Autowired private PasswordResetTokenRepository resetTokens;
+    @Autowired private ReviewCardRepository reviewCards;
+    @Autowired private SentenceRewritingQuestionRepository rewriting;
+    @Autowired private TranslationCacheRepository translations;
+    @Autowired private UserExerciseResultRepository results;
+    @Autowired private UserExerciseStatsRepository exerciseStats;
+    @Autowired private UserProgressRepository progress;
+    @Autowired private UserRepository users;
+    @Autowired private UserXPRepository userXPs;
+    @Autowired private VocabularyTheoryRepository vocabulary;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void filteredRepositoryQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 20);
+        List<Long> ids = List.of(1L, 2L, 3L);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("ChatConversation.findByUser_UserIdOrderByCreatedAtDesc", () -> chatConversations.findByUser_UserIdOrderByCreatedAtDesc(1L));
+        queries.put("ChatConversation.findByUserIdAndScenario", () -> chatConversations.findByUserIdAndScenario(1L, "restaurant"));
+        queries.put("ChatConversation.countMessagesByConversationId", () -> chatConversations.countMessagesByConversationId(1L));
+        queries.put("ChatMessage.findByConversation_ConversationIdOrderByTimestamp", () -> chatMessages.findByConversation_ConversationIdOrderByTimestamp(1L));
+        queries.put("ChatMessage.findByConversation_ConversationIdOrderByMessageIdDesc", () -> chatMessages.findByConversation_ConversationIdOrderByMessageIdDesc(1L, page));
+        queries.put("ChatMessage.findMessagesInConversation", () -> chatMessages.findMessagesInConversation(1L));
+        queries.put("ChatMessage.countByConversationIdAndMessageType", () -> chatMessages.countByConversationIdAndMessageType(1L, "ai"));
+        queries.put("ClassDocumentList.findByClassEntity_ClassId", () -> classDocumentLists.findByClassEntity_ClassId(1L));
+        queries.put("ClassDocumentList.findByDocumentList_ListId", () -> classDocumentLists.findByDocumentList_ListId(1L));
+        queries.put("Class.findByUser_UserId", () -> classes.findByUser_UserId(1L));
+        queries.put("Class.findByClassIdAndPassword", () -> classes.findByClassIdAndPassword(1L, "secret"));
+        queries.put("ClassUser.findByUser_UserId", () -> classUsers.findByUser_UserId(1L));
+        queries.put("ClassUser.findByClassEntity_ClassId", () -> classUsers.findByClassEntity_ClassId(1L));
+        queries.put("ClassUser.deleteAllByUser_UserId", () -> classUsers.deleteAllByUser_UserId(1L));
+        queries.put("DocumentItem.findByDocumentList_ListId", () -> documentItems.findByDocumentList_ListId(1L));
+        queries.put("DocumentItem.findByDocumentList_ListId(page)", () -> documentItems.findByDocumentList_ListId(1L, page));
+        queries.put("DocumentItem.deleteByDocumentList_ListId", () -> documentItems.deleteByDocumentList_ListId(1L));
+        queries.put("DocumentItem.findCardContent", () -> documentItems.findCardContent(ids));
+        queries.put("DocumentList.findById", () -> documentLists.findById(1L));
+        queries.put("DocumentList.findByListIdIn", () -> documentLists.findByListIdIn(ids));
+        queries.put("DocumentList.findByUser_UserId", () -> documentLists.findByUser_UserId(1L));
+        queries.put("DocumentList.findByUser_UserId(page)", () -> documentLists.findByUser_UserId(1L, page));
+        queries.put("DocumentList.findByUser_UserIdOrderByCreatedAtDesc", () -> documentLists.findByUser_UserIdOrderByCreatedAtDesc(1L));
+        queries.put("DocumentList.findByIsPublic", () -> documentLists.findByIsPublic(0, page));
+        queries.put("DocumentList.findAllByIsPublic", () -> documentLists.findAllByIsPublic(0));
+        queries.put("DocumentList.findByTypeAndIsPublic", () -> documentLists.findByTypeAndIsPublic("TOPIK", 0));
+        queries.put("DocumentList.findTopPublicPerType", () -> documentLists.findTopPublicPerType(5));
+        queries.put("DocumentList.findWithUserById", () -> documentLists.findWithUserById(1L));
+        queries.put("DocumentList.findFavoritedByUserId", () -> documentLists.findFavoritedByUserId(1L));
+        queries.put("DocumentList.toggleIsPublic", () -> documentLists.toggleIsPublic(1L));
+        queries.put("DocumentReport.findByUser_UserId", () -> documentReports.findByUser_UserId(1L, page));
+        queries.put("DocumentReport.findByDocumentList_ListId", () -> documentReports.findByDocumentList_ListId(1L, page));
+        queries.put("ExerciseFirstAnswer.findByUserIdAndExerciseId", () -> firstAnswers.findByUserIdAndExerciseId(1L, 1L));
+        queries.put("ExerciseFirstAnswer.deleteByUserIdAndExerciseId", () -> firstAnswers.deleteByUserIdAndExerciseId(1L, 1L));
+        queries.put("Exercise.findByLesson_LessonId", () -> exercises.findByLesson_LessonId(1L));
+        queries.put("ExerciseScoreBucket.findByExerciseIdOrderByScoreAsc", () -> scoreBuckets.findByExerciseIdOrderByScoreAsc(1L));
+        queries.put("FavoriteDocumentList.findByUser_UserId", () -> favorites.findByUser_UserId(1L));
+        queries.put("FavoriteDocumentList.findByDocumentList_ListId", () -> favorites.findByDocumentList_ListId(1L));
+        queries.put("FavoriteDocumentList.findByUser_UserIdAndDocumentList_ListId", () -> favorites.findByUser_UserIdAndDocumentList_ListId(1L, 1L));
+        queries.put("FavoriteDocumentList.deleteByDocumentList_ListId", () -> favorites.deleteByDocumentList_ListId(1L));
+        queries.put("GrammarTheory.findByLevelId", () -> grammar.findByLevelId(1L));
+        queries.put("GrammarTheory.findByLesson_LessonId", () -> grammar.findByLesson_LessonId(1L));
+        queries.put("Lesson.findByLevel_LevelId", () -> lessons.findByLevel_LevelId(1L));
+        queries.put("Lesson.findByLevel_LevelId(page)", () -> lessons.findByLevel_LevelId(1L, page));
+        queries.put("Lesson.findLessonProgressByLevel", () -> lessons.findLessonProgressByLevel(1L, 1L));
+        queries.put("LevelXP.findByLevelNumber", () -> levelXPs.findByLevelNumber(1));
+        queries.put("MultipleChoiceQuestion.findByExercise_ExerciseId", () -> multipleChoice.findByExercise_ExerciseId(1L));
+        queries.put("PasswordResetToken.findByToken", () -> resetTokens.findByToken("token"));
+        queries.put("ReviewCard.findDue", () -> reviewCards.findDue(1L, now, page));
+        queries.put("ReviewCard.countDue", () -> reviewCards.countDue(1L, now));
+        queries.put("ReviewCard.findByUserIdAndCardIdIn", () -> reviewCards.findByUserIdAndCardIdIn(1L, ids));
+        queries.put("SentenceRewritingQuestion.findByExercise_ExerciseId", () -> rewriting.findByExercise_ExerciseId(1L));
+        queries.put("TranslationCache.findBySourceHash", () -> translations.findBySourceHash("hash"));
+        queries.put("UserExerciseResult.findByUser_UserId", () -> results.findByUser_UserId(1L));
+        queries.put("UserExerciseResult.findRowsByUserId", () -> results.findRowsByUserId(1L));
+        queries.put("UserExerciseResult.findHistoryByUserId", () -> results.findHistoryByUserId(1L, page));
+        queries.put("UserExerciseResult.findHistoryByUserIdAndExerciseId", () -> results.findHistoryByUserIdAndExerciseId(1L, 1L, page));
+        queries.put("UserExerciseStats.findByUserIdAndExerciseId", () -> exerciseStats.findByUserIdAndExerciseId(1L, 1L));
+        queries.put("UserExerciseStats.findByUserId", () -> exerciseStats.findByUserId(1L, page));
+        queries.put("UserProgress.findByUser_UserIdAndLesson_LessonId", () -> progress.findByUser_UserIdAndLesson_LessonId(1L, 1L));
+        queries.put("UserProgress.existsByUser_UserIdAndLesson_LessonId", () -> progress.existsByUser_UserIdAndLesson_LessonId(1L, 1L));
+        queries.put("UserProgress.findByUser_UserId", () -> progress.findByUser_UserId(1L));
+        queries.put("UserProgress.markCompleted", () -> progress.markCompleted(1L, 1L));
+        queries.put("UserProgress.touch", () -> progress.touch(1L, 1L));
+        queries.put("User.findByEmail", () -> users.findByEmail("learner@example.com"));
+        queries.put("User.existsByEmail", () -> users.existsByEmail("learner@example.com"));
+        queries.put("User.countByJoinDateAfter", () -> users.countByJoinDateAfter(LocalDate.now().minusDays(7)));
+        queries.put("UserXP.findByUser_UserId", () -> userXPs.findByUser_UserId(1L));
+        queries.put("UserXP.incrementTotalXP", () -> userXPs.incrementTotalXP(1L, 10));
+        queries.put("UserXP.raiseLevel", () -> userXPs.raiseLevel(1L, 2, "title", "badge"));
+        queries.put("VocabularyTheory.findByLevelId", () -> vocabulary.findByLevelId(1L));
+        queries.put("VocabularyTheory.findByLesson_LessonId", () -> vocabulary.findByLesson_LessonId(1L));
+        queries.put("VocabularyTheory.findCardContent", () -> vocabulary.findCardContent(ids));
+
+        List<String> scans = new ArrayList<>();
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            CAPTURED.clear();
+            query.getValue().run();
+            assertFalse(CAPTURED.isEmpty(), query.getKey() + " did not run any SQL");
+            for (String sql : CAPTURED) {
+                String plan = explain(sql);
+                if (plan.contains("tableScan")) {
+                    scans.add(query.getKey() + ":\n" + plan);
+                }
+            }
+        }
+        assertTrue(scans.isEmpty(), () -> "Full table scans:\n\n" + String.join("\n\n", scans));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query(con -> con.prepareStatement("EXPLAIN " + sql), rs -> {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) plan.append(rs.getString(1)).append('\n');
+            return plan.toString();
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.ktigerstudybe.service.documentList;
+
+import org.example.ktigerstudybe.model.DocumentItem;
+import org.example.ktigerstudybe.repository.DocumentItemRepository;
+import org.example.ktigerstudybe.repository.DocumentListRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Export CSV đọc từng trang theo WordID (keyset): mọi dòng được ghi đúng một lần theo thứ tự,
+ * kể cả khi số dòng là bội số của kích thước trang.
+ */
+class DeckTransferServiceImplTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private final DocumentItemRepository items = mock(DocumentItemRepository.class);
+    private final DeckTransferServiceImpl service = new DeckTransferServiceImpl(
+            mock(DocumentListRepository.class), items, mock(ApplicationEventPublisher.class), 500, PAGE_SIZE);
+
+    @Test
+    void exportsEveryRowAcrossPages() throws IOException {
+        List<Long> pageStarts = givenWords(5);
+        assertEquals(List.of("word,meaning,example,vocabImage", "w10,m10,,", "w20,m20,,", "w30,m30,,", "w40,m40,,", "w50,m50,,"),
+                export());
+        assertEquals(List.of(0L, 20L, 40L), pageStarts);
+    }
+
+    @Test
+    void fullLastPageEndsWithEmptyPage() throws IOException {
+        List<Long> pageStarts = givenWords(4);
+        assertEquals(5, export().size());
+        assertEquals(List.of(0L, 20L, 40L), pageStarts);
+    }
+
+    // WordID 10, 20, 30...; trả về danh sách afterWordId của các lần đọc trang
+    private List<Long> givenWords(int count) {
+        List<DocumentItem> rows = new ArrayList<>();
+        for (long i = 1; i <= count; i++) {
+            rows.add(DocumentItem.builder().wordId(i * 10).word("w" + i * 10).meaning("m" + i * 10).build());
+        }
+        List<Long> pageStarts = new ArrayList<>();
+        when(items.findPageByListId(eq(1L), anyLong(), anyInt())).thenAnswer(inv -> {
+            long after = inv.getArgument(1);
+            int limit = inv.getArgument(2);
+            pageStarts.add(after);
+            return rows.stream().filter(r -> r.getWordId() > after).limit(limit).toList();
+        });
+        return pageStarts;
+    }
+
+    private List<String> export() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportItems(1L, ',', out);
+        String csv = out.toString(StandardCharsets.UTF_8);
+        return List.of(csv.replace("\uFEFF", "").split("\r?\n"));
+    }
+}
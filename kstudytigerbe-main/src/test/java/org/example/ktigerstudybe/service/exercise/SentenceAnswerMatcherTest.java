@@ -0,0 +1,87 @@
+package org.example.ktigerstudybe.service.exercise;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Chấm câu viết lại: khớp sau chuẩn hoá, chấp nhận sai khác jamo đến đúng ngưỡng và không hơn.
+ * Đáp án "저는 학교에 갑니다" có 19 jamo, tỉ lệ 0.2 cho ngưỡng 3.
+ */
+class SentenceAnswerMatcherTest {
+
+    private final SentenceAnswerMatcher matcher = new SentenceAnswerMatcher(0.2);
+    private final SentenceAnswerMatcher.Reference reference = matcher.prepare("저는 학교에 갑니다.");
+
+    @Test
+    void referenceThresholdFollowsJamoLength() {
+        assertEquals(19, reference.jamo().length);
+        assertEquals(3, reference.maxDistance());
+    }
+
+    @Test
+    void exactAnswerMatches() {
+        assertTrue(matcher.matches(reference, "저는 학교에 갑니다."));
+    }
+
+    @Test
+    void spacingPunctuationAndCaseAreIgnored() {
+        assertTrue(matcher.matches(reference, "  저는학교에,   갑니다!! "));
+        SentenceAnswerMatcher.Reference latin = matcher.prepare("I go to school.");
+        assertTrue(matcher.matches(latin, "i GO to-school"));
+    }
+
+    @Test
+    void decomposedInputIsNormalized() {
+        String nfd = Normalizer.normalize("저는 학교에 갑니다", Normalizer.Form.NFD);
+        assertTrue(matcher.matches(reference, nfd));
+    }
+
+    @Test
+    void typoWithinThresholdMatches() {
+        // 저 -> 자: một jamo
+        assertTrue(matcher.matches(reference, "자는 학교에 갑니다"));
+    }
+
+    @Test
+    void differentSentenceDoesNotMatch() {
+        assertFalse(matcher.matches(reference, "저는 집에 있어요"));
+        assertFalse(matcher.matches(reference, ""));
+        assertFalse(matcher.matches(reference, null));
+    }
+
+    @Test
+    void substitutionsAtBandEdge() {
+        // 저->자, 는->난, 다->더: đúng 3 jamo
+        assertTrue(matcher.matches(reference, "자난 학교에 갑니더"));
+        // thêm 니->나: 4 jamo
+        assertFalse(matcher.matches(reference, "자난 학교에 갑나더"));
+    }
+
+    @Test
+    void deletionsAtBandEdge() {
+        // bỏ ㄴ của 는 và cả âm tiết 다: thiếu 3 jamo
+        assertTrue(matcher.matches(reference, "저느 학교에 갑니"));
+        // thêm bỏ ㄱ của 학: thiếu 4 jamo, bị loại theo độ lệch độ dài
+        assertFalse(matcher.matches(reference, "저느 하교에 갑니"));
+    }
+
+    @Test
+    void zeroRatioRequiresExactMatch() {
+        SentenceAnswerMatcher strict = new SentenceAnswerMatcher(0);
+        SentenceAnswerMatcher.Reference ref = strict.prepare("저는 학교에 갑니다");
+        assertTrue(strict.matches(ref, "저는 학교에 갑니다!"));
+        assertFalse(strict.matches(ref, "자는 학교에 갑니다"));
+    }
+
+    @Test
+    void overlongAnswerIsRejected() {
+        String padded = "저는 학교에 갑니다" + " ".repeat(SentenceAnswerMatcher.MAX_ANSWER_LENGTH);
+        assertFalse(matcher.matches(reference, padded));
+        assertFalse(matcher.matches(reference, "가".repeat(100_000)));
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.ktigerstudybe.service.lesson;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.ktigerstudybe.dto.req.UserXPUpdateRequest;
+import org.example.ktigerstudybe.dto.resp.UserXPResponse;
+import org.example.ktigerstudybe.model.Lesson;
+import org.example.ktigerstudybe.model.Level;
+import org.example.ktigerstudybe.model.User;
+import org.example.ktigerstudybe.repository.UserProgressRepository;
+import org.example.ktigerstudybe.service.userxp.UserXPService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Hoàn thành bài học phải nằm trong ngân sách câu SQL cố định (chưa tính cộng XP)
+ * và chỉ cộng XP ở lần đầu.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:completion;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LessonCompletionServiceImpl.class, LessonOrderIndex.class, LessonProgressCache.class})
+class LessonCompletionServiceQueryCountTest {
+
+    private static final int FIRST_COMPLETION_BUDGET = 3;
+    private static final int REPEAT_COMPLETION_BUDGET = 3;
+
+    @Autowired
+    private LessonCompletionService lessonCompletionService;
+
+    @Autowired
+    private LessonOrderIndex lessonOrderIndex;
+
+    @Autowired
+    private UserProgressRepository userProgressRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserXPService userXPService;
+
+    private Long userId;
+    private Long firstLessonId;
+    private Long secondLessonId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setFullName("Learner");
+        user.setEmail("learner@example.com");
+        user.setUserName("learner");
+        entityManager.persist(user);
+
+        Level level = new Level();
+        entityManager.persist(level);
+        Lesson first = new Lesson();
+        first.setLessonName("Bài 1");
+        first.setLevel(level);
+        entityManager.persist(first);
+        Lesson second = new Lesson();
+        second.setLessonName("Bài 2");
+        second.setLevel(level);
+        entityManager.persist(second);
+
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getUserId();
+        firstLessonId = first.getLessonId();
+        secondLessonId = second.getLessonId();
+        lessonOrderIndex.refresh();
+
+        when(userXPService.addXP(any(UserXPUpdateRequest.class))).thenReturn(new UserXPResponse());
+    }
+
+    @Test
+    void firstCompletionUnlocksNextLessonAndAwardsXp() {
+        Statistics stats = statistics();
+        LessonCompletionService.Result result = lessonCompletionService.complete(userId, firstLessonId, 10);
+
+        assertTrue(result.firstTime());
+        assertNotNull(result.xp());
+        assertTrue(stats.getPrepareStatementCount() <= FIRST_COMPLETION_BUDGET,
+                "SQL statements executed: " + stats.getPrepareStatementCount());
+        assertTrue(userProgressRepository.existsByUser_UserIdAndLesson_LessonId(userId, secondLessonId));
+        verify(userXPService, times(1)).addXP(any(UserXPUpdateRequest.class));
+    }
+
+    @Test
+    void repeatCompletionDoesNotAwardXpAgain() {
+        lessonCompletionService.complete(userId, firstLessonId, 10);
+
+        Statistics stats = statistics();
+        LessonCompletionService.Result result = lessonCompletionService.complete(userId, firstLessonId, 10);
+
+        assertFalse(result.firstTime());
+        assertNull(result.xp());
+        assertEquals(REPEAT_COMPLETION_BUDGET, stats.getPrepareStatementCount(), "SQL statements executed");
+        verify(userXPService, times(1)).addXP(any(UserXPUpdateRequest.class));
+    }
+
+    @Test
+    void completingUnlockedLessonMarksExistingRow() {
+        lessonCompletionService.complete(userId, firstLessonId, null);
+
+        Statistics stats = statistics();
+        LessonCompletionService.Result result = lessonCompletionService.complete(userId, secondLessonId, null);
+
+        assertTrue(result.firstTime());
+        assertEquals(1, stats.getPrepareStatementCount(), "SQL statements executed");
+    }
+
+    @Test
+    void lessonMissingFromIndexIsLoadedFromDatabase() {
+        // Bài học thêm sau lần nạp chỉ mục (ví dụ từ instance khác)
+        Lesson third = new Lesson();
+        third.setLessonName("Bài 3");
+        third.setLevel(entityManager.find(Lesson.class, secondLessonId).getLevel());
+        entityManager.persist(third);
+        entityManager.flush();
+        assertFalse(lessonOrderIndex.contains(third.getLessonId()));
+
+        LessonCompletionService.Result result = lessonCompletionService.complete(userId, third.getLessonId(), null);
+
+        assertTrue(result.firstTime());
+        assertTrue(lessonOrderIndex.contains(third.getLessonId()));
+        assertThrows(IllegalArgumentException.class,
+                () -> lessonCompletionService.complete(userId, third.getLessonId() + 100, null));
+    }
+
+    private Statistics statistics() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        return stats;
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.ktigerstudybe.service.review;
+
+import org.example.ktigerstudybe.dto.req.ReviewSubmitRequest;
+import org.example.ktigerstudybe.dto.resp.ReviewCardResponse;
+import org.example.ktigerstudybe.model.ReviewCard;
+import org.example.ktigerstudybe.repository.DocumentItemRepository;
+import org.example.ktigerstudybe.repository.ReviewCardRepository;
+import org.example.ktigerstudybe.repository.VocabularyTheoryRepository;
+import org.example.ktigerstudybe.repository.projection.CardContentRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Nộp kết quả ôn: cùng một thẻ lặp lại trong một lô được áp dụng theo thứ tự
+ * và khoảng cách dừng ở mức tối đa thay vì tràn số / vượt giới hạn DATETIME.
+ */
+class ReviewServiceImplTest {
+
+    private static final int MAX_INTERVAL_DAYS = 36500;
+
+    private final ReviewCardRepository reviewCardRepository = mock(ReviewCardRepository.class);
+    private final DocumentItemRepository documentItemRepository = mock(DocumentItemRepository.class);
+    private final ReviewServiceImpl service = new ReviewServiceImpl(reviewCardRepository, documentItemRepository,
+            mock(VocabularyTheoryRepository.class), 200, 500, MAX_INTERVAL_DAYS);
+
+    @Test
+    void cardRepeatedInBatchStopsAtMaxInterval() {
+        ReviewCard card = new ReviewCard();
+        card.setCardId(1L);
+        card.setUserId(7L);
+        card.setCardType(ReviewCard.DOCUMENT_ITEM);
+        card.setItemId(100L);
+        card.setEaseFactor(Sm2Scheduler.INITIAL_EASE);
+        card.setIntervalDays(0);
+        card.setRepetitions(0);
+        card.setLapses(0);
+        card.setDueAt(LocalDateTime.now());
+        when(reviewCardRepository.findByUserIdAndCardIdIn(anyLong(), anyCollection())).thenReturn(List.of(card));
+        CardContentRow content = mock(CardContentRow.class);
+        when(content.getItemId()).thenReturn(100L);
+        when(documentItemRepository.findCardContent(anyCollection())).thenReturn(List.of(content));
+
+        List<ReviewSubmitRequest.Review> reviews = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ReviewSubmitRequest.Review review = new ReviewSubmitRequest.Review();
+            review.setCardId(1L);
+            review.setGrade(5);
+            reviews.add(review);
+        }
+        ReviewSubmitRequest request = new ReviewSubmitRequest();
+        request.setUserId(7L);
+        request.setReviews(reviews);
+
+        LocalDateTime before = LocalDateTime.now();
+        List<ReviewCardResponse> result = service.submit(request);
+
+        assertEquals(1, result.size());
+        assertEquals(MAX_INTERVAL_DAYS, result.get(0).getIntervalDays());
+        assertEquals(500, card.getRepetitions());
+        assertTrue(card.getDueAt().isAfter(before.plusDays(MAX_INTERVAL_DAYS - 1)));
+        assertTrue(card.getDueAt().getYear() < 9999, "due date must fit in MySQL DATETIME");
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.ktigerstudybe.service.review;
+
+import org.example.ktigerstudybe.model.ReviewCard;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lịch SM-2: chuỗi khoảng cách 1, 6, rồi nhân ease; quên thì về đầu chuỗi; ease không xuống dưới 1.3;
+ * khoảng cách không vượt mức tối đa.
+ */
+class Sm2SchedulerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Test
+    void intervalsFollowSm2Sequence() {
+        ReviewCard card = newCard();
+        LocalDateTime at = START;
+        int[] expected = {1, 6, 15, 38};
+        for (int i = 0; i < expected.length; i++) {
+            Sm2Scheduler.apply(card, 4, at);
+            assertEquals(expected[i], card.getIntervalDays(), "review #" + (i + 1));
+            assertEquals(i + 1, card.getRepetitions());
+            assertEquals(2.5, card.getEaseFactor(), 1e-9);
+            assertEquals(at.plusDays(expected[i]), card.getDueAt());
+            assertEquals(at, card.getLastReviewedAt());
+            at = card.getDueAt();
+        }
+    }
+
+    @Test
+    void perfectGradeRaisesEase() {
+        ReviewCard card = newCard();
+        Sm2Scheduler.apply(card, 5, START);
+        Sm2Scheduler.apply(card, 5, START.plusDays(1));
+        Sm2Scheduler.apply(card, 5, START.plusDays(7));
+        assertEquals(2.8, card.getEaseFactor(), 1e-9);
+        assertEquals(16, card.getIntervalDays());
+    }
+
+    @Test
+    void lapseRestartsSequenceAndLowersEase() {
+        ReviewCard card = newCard();
+        Sm2Scheduler.apply(card, 4, START);
+        Sm2Scheduler.apply(card, 4, START.plusDays(1));
+        Sm2Scheduler.apply(card, 4, START.plusDays(7));
+        assertEquals(15, card.getIntervalDays());
+
+        LocalDateTime forgotAt = START.plusDays(22);
+        Sm2Scheduler.apply(card, 1, forgotAt);
+        assertEquals(0, card.getRepetitions());
+        assertEquals(1, card.getIntervalDays());
+        assertEquals(1, card.getLapses());
+        assertEquals(forgotAt.plusDays(1), card.getDueAt());
+        assertEquals(1.96, card.getEaseFactor(), 1e-9);
+
+        Sm2Scheduler.apply(card, 4, forgotAt.plusDays(1));
+        assertEquals(1, card.getRepetitions());
+        assertEquals(1, card.getIntervalDays());
+        Sm2Scheduler.apply(card, 4, forgotAt.plusDays(2));
+        assertEquals(6, card.getIntervalDays());
+    }
+
+    @Test
+    void easeNeverDropsBelowFloor() {
+        ReviewCard card = newCard();
+        for (int i = 0; i < 5; i++) {
+            Sm2Scheduler.apply(card, 0, START.plusDays(i));
+        }
+        assertEquals(Sm2Scheduler.MIN_EASE, card.getEaseFactor(), 1e-9);
+        assertEquals(5, card.getLapses());
+
+        Sm2Scheduler.apply(card, 3, START.plusDays(5));
+        assertEquals(Sm2Scheduler.MIN_EASE, card.getEaseFactor(), 1e-9);
+        assertEquals(1, card.getRepetitions());
+    }
+
+    @Test
+    void intervalIsCappedAtMaximum() {
+        ReviewCard card = newCard();
+        for (int i = 0; i < 100; i++) {
+            Sm2Scheduler.apply(card, 5, START);
+            assertTrue(card.getIntervalDays() >= 1 && card.getIntervalDays() <= Sm2Scheduler.DEFAULT_MAX_INTERVAL_DAYS,
+                    "review #" + (i + 1));
+        }
+        assertEquals(Sm2Scheduler.DEFAULT_MAX_INTERVAL_DAYS, card.getIntervalDays());
+        assertEquals(START.plusDays(Sm2Scheduler.DEFAULT_MAX_INTERVAL_DAYS), card.getDueAt());
+
+        Sm2Scheduler.apply(card, 5, START, 30);
+        assertEquals(30, card.getIntervalDays());
+        assertThrows(IllegalArgumentException.class, () -> Sm2Scheduler.apply(card, 5, START, 0));
+    }
+
+    @Test
+    void rejectsGradeOutOfRange() {
+        ReviewCard card = newCard();
+        assertThrows(IllegalArgumentException.class, () -> Sm2Scheduler.apply(card, -1, START));
+        assertThrows(IllegalArgumentException.class, () -> Sm2Scheduler.apply(card, 6, START));
+    }
+
+    private static ReviewCard newCard() {
+        ReviewCard card = new ReviewCard();
+        card.setEaseFactor(Sm2Scheduler.INITIAL_EASE);
+        card.setIntervalDays(0);
+        card.setRepetitions(0);
+        card.setLapses(0);
+        card.setDueAt(START);
+        return card;
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.ktigerstudybe.service.search;
+
+import org.example.ktigerstudybe.model.DocumentItem;
+import org.example.ktigerstudybe.model.DocumentList;
+import org.example.ktigerstudybe.model.User;
+import org.example.ktigerstudybe.repository.DocumentItemRepository;
+import org.example.ktigerstudybe.repository.DocumentListRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Chỉ mục tìm kiếm: khớp đúng xếp trên khớp tiền tố, gõ không dấu / phụ âm đầu vẫn tìm được,
+ * và bản đọc DB cũ hơn (reindex chậm, ảnh chụp của rebuild) không ghi đè bản mới hơn.
+ */
+class DocumentListSearchIndexTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private final DocumentListRepository lists = mock(DocumentListRepository.class);
+    private final DocumentItemRepository items = mock(DocumentItemRepository.class);
+    private final DocumentListSearchIndex index = new DocumentListSearchIndex(lists, items);
+
+    // "DB": đọc trả về bản sao tại thời điểm đọc
+    private final Map<Long, DocumentList> db = new TreeMap<>();
+    private final Map<Long, List<String>> words = new TreeMap<>();
+    private Runnable duringRead;
+
+    @BeforeEach
+    void setUp() {
+        when(lists.findAllWithUser()).thenAnswer(inv -> {
+            List<DocumentList> snapshot = db.values().stream().map(DocumentListSearchIndexTest::copy).toList();
+            runDuringRead();
+            return snapshot;
+        });
+        when(lists.findWithUserById(anyLong())).thenAnswer(inv -> {
+            Optional<DocumentList> snapshot = Optional.ofNullable(db.get(inv.<Long>getArgument(0))).map(DocumentListSearchIndexTest::copy);
+            runDuringRead();
+            return snapshot;
+        });
+        doAnswer(inv -> {
+            BiConsumer<Long, DocumentItem> consumer = inv.getArgument(0);
+            words.forEach((listId, ws) -> ws.forEach(w -> consumer.accept(listId, DocumentItem.builder().word(w).build())));
+            return null;
+        }).when(items).streamAllOrderByListId(any());
+    }
+
+    @Test
+    void exactMatchRanksAbovePrefixMatch() {
+        save(1L, "사과나무 이야기");
+        save(2L, "사과 과일");
+        index.rebuild();
+
+        assertEquals(List.of(2L, 1L), search("사과"));
+        assertEquals(List.of(1L), search("사과나"));
+    }
+
+    @Test
+    void unaccentedQueryFindsAccentedTitles() {
+        save(1L, "Trái táo");
+        save(2L, "Tao lao");
+        index.rebuild();
+
+        // "tao" khớp đúng bộ 2, khớp dạng bỏ dấu của "táo" ở bộ 1
+        assertEquals(List.of(2L, 1L), search("tao"));
+        assertEquals(List.of(1L), search("táo"));
+        assertEquals(List.of(1L), search("trai tao"));
+    }
+
+    @Test
+    void choseongQueryMatchesHangulInitials() {
+        save(1L, "사과 단어");
+        save(2L, "수고 했어요");
+        save(3L, "학교");
+        index.rebuild();
+
+        assertEquals(List.of(1L, 2L), search("ㅅㄱ").stream().sorted().toList());
+        assertEquals(List.of(3L), search("ㅎㄱ"));
+    }
+
+    @Test
+    void titleOutranksItemWordsAndEveryTokenMustMatch() {
+        save(1L, "Động vật");
+        save(2L, "Từ vựng hằng ngày");
+        words.put(2L, List.of("고양이"));
+        save(3L, "고양이 그림");
+        index.rebuild();
+
+        assertEquals(List.of(3L, 2L), search("고양이"));
+        assertEquals(List.of(2L), search("고양이 ngay"));
+        assertEquals(List.of(), search("고양이 dong"));
+    }
+
+    @Test
+    void slowerReindexDoesNotInstallOlderRead() {
+        save(1L, "Old title");
+        index.rebuild();
+
+        // Reindex thứ nhất đọc bản cũ; trong lúc đó bộ được sửa và reindex thứ hai cài bản mới
+        duringRead = () -> {
+            save(1L, "New title");
+            index.reindex(1L);
+        };
+        index.reindex(1L);
+
+        assertEquals(List.of(1L), search("new"));
+        assertEquals(List.of(), search("old"));
+    }
+
+    @Test
+    void reindexDuringRebuildIsNotOverwrittenBySnapshot() {
+        save(1L, "Old title");
+        save(2L, "Other deck");
+        index.rebuild();
+
+        duringRead = () -> {
+            save(1L, "New title");
+            db.remove(2L);
+            index.reindex(1L);
+            index.reindex(2L);
+        };
+        index.rebuild();
+
+        assertEquals(List.of(1L), search("new"));
+        assertEquals(List.of(), search("old"));
+        assertEquals(List.of(), search("other"));
+
+        // Reindex sau rebuild vẫn được cài bình thường
+        save(1L, "Newer title");
+        index.reindex(1L);
+        assertEquals(List.of(1L), search("newer"));
+    }
+
+    private List<Long> search(String query) {
+        return index.search(query, false, 0, 10).listIds();
+    }
+
+    private void runDuringRead() {
+        Runnable hook = duringRead;
+        duringRead = null;
+        if (hook != null) hook.run();
+    }
+
+    private void save(Long listId, String title) {
+        User author = new User();
+        author.setUserId(100L);
+        author.setFullName("Tác giả");
+        db.put(listId, DocumentList.builder().listId(listId).user(author).title(title)
+                .type("TOPIK").createdAt(CREATED).isPublic(0).build());
+        words.putIfAbsent(listId, new ArrayList<>());
+    }
+
+    private static DocumentList copy(DocumentList list) {
+        return DocumentList.builder().listId(list.getListId()).user(list.getUser()).title(list.getTitle())
+                .description(list.getDescription()).type(list.getType()).createdAt(list.getCreatedAt())
+                .isPublic(list.getIsPublic()).build();
+    }
+}
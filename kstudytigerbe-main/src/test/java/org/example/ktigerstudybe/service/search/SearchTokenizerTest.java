@@ -0,0 +1,58 @@
+package org.example.ktigerstudybe.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tách từ: chuẩn hoá NFC + chữ thường, bỏ dấu tiếng Việt, chuỗi phụ âm đầu Hangul.
+ */
+class SearchTokenizerTest {
+
+    @Test
+    void tokenizeSplitsOnNonLetterDigitsAndLowercases() {
+        assertEquals(List.of("hello", "thế", "giới", "123", "사과"), SearchTokenizer.tokenize("Hello, Thế-giới! 123 (사과)"));
+        assertTrue(SearchTokenizer.tokenize("  ... ").isEmpty());
+        assertTrue(SearchTokenizer.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void tokenizeComposesDecomposedInput() {
+        String nfd = Normalizer.normalize("Tiếng Việt 사과", Normalizer.Form.NFD);
+        assertEquals(List.of("tiếng", "việt", "사과"), SearchTokenizer.tokenize(nfd));
+    }
+
+    @Test
+    void stripDiacriticsRemovesVietnameseMarks() {
+        assertEquals("tao", SearchTokenizer.stripDiacritics("táo"));
+        assertEquals("duong", SearchTokenizer.stripDiacritics("đường"));
+        assertEquals("nguyen", SearchTokenizer.stripDiacritics("nguyễn"));
+        assertEquals("apple", SearchTokenizer.stripDiacritics("apple"));
+        // Hangul không bị tách thành jamo
+        assertEquals("사과", SearchTokenizer.stripDiacritics("사과"));
+    }
+
+    @Test
+    void choseongTakesInitialConsonantOfEachSyllable() {
+        assertEquals("ㅅㄱ", SearchTokenizer.choseong("사과"));
+        assertEquals("ㄲㅊ", SearchTokenizer.choseong("까치"));
+        assertEquals("ㅎㄱㅇ", SearchTokenizer.choseong("한국어"));
+        assertEquals("ㅍ", SearchTokenizer.choseong("k팝"));
+        assertNull(SearchTokenizer.choseong("apple"));
+    }
+
+    @Test
+    void choseongQueryIsOnlyConsonantJamo() {
+        assertTrue(SearchTokenizer.isChoseongQuery("ㅅㄱ"));
+        assertTrue(SearchTokenizer.isChoseongQuery("ㄲ"));
+        assertFalse(SearchTokenizer.isChoseongQuery("사과"));
+        assertFalse(SearchTokenizer.isChoseongQuery("ㅅㅏ"));
+        assertFalse(SearchTokenizer.isChoseongQuery(""));
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.ktigerstudybe.service.userxp;
+
+import org.example.ktigerstudybe.dto.resp.LeaderboardResponse;
+import org.example.ktigerstudybe.repository.UserXPRepository;
+import org.example.ktigerstudybe.repository.projection.LeaderboardRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bảng xếp hạng treap: thứ tự (XP giảm dần, userId tăng dần) sau khi cập nhật,
+ * hạng khi bằng XP, {@code around} ở hai đầu bảng, và cập nhật trong lúc dựng lại không bị mất.
+ */
+class LeaderboardIndexTest {
+
+    private final LeaderboardIndex index = new LeaderboardIndex(null);
+
+    @Test
+    void rankFollowsXpAfterUpdates() {
+        put(1L, 100);
+        put(2L, 200);
+        put(3L, 300);
+        assertEquals(List.of(3L, 2L, 1L), userIds(index.range(0, 10)));
+
+        put(1L, 400);
+        assertEquals(List.of(1L, 3L, 2L), userIds(index.range(0, 10)));
+        assertEquals(1, index.rankOf(1L));
+        assertEquals(3, index.rankOf(2L));
+        assertEquals(3, index.size());
+
+        index.remove(3L);
+        assertEquals(List.of(1L, 2L), userIds(index.range(0, 10)));
+        assertEquals(2, index.rankOf(2L));
+        assertEquals(0, index.rankOf(3L));
+    }
+
+    @Test
+    void tiesAreOrderedByUserId() {
+        put(7L, 50);
+        put(3L, 50);
+        put(5L, 50);
+        put(9L, 80);
+
+        List<LeaderboardResponse> rows = index.range(0, 10);
+        assertEquals(List.of(9L, 3L, 5L, 7L), userIds(rows));
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(i + 1, rows.get(i).getRank());
+            assertEquals(i + 1, index.rankOf(rows.get(i).getUserId()));
+        }
+    }
+
+    @Test
+    void aroundIsClippedAtBothEnds() {
+        for (long id = 1; id <= 10; id++) {
+            put(id, (int) (1000 - id * 10));
+        }
+
+        assertEquals(List.of(1L, 2L, 3L), userIds(index.around(1L, 2)));
+        assertEquals(List.of(8L, 9L, 10L), userIds(index.around(10L, 2)));
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), userIds(index.around(5L, 2)));
+        assertEquals(List.of(10L), userIds(index.around(10L, 0)));
+        assertTrue(index.around(42L, 2).isEmpty());
+    }
+
+    @Test
+    void rangeSkipsToOffset() {
+        for (long id = 1; id <= 10; id++) {
+            put(id, (int) id);
+        }
+        List<LeaderboardResponse> page = index.range(4, 3);
+        assertEquals(List.of(6L, 5L, 4L), userIds(page));
+        assertEquals(5, page.get(0).getRank());
+        assertTrue(index.range(10, 3).isEmpty());
+    }
+
+    @Test
+    void raiseKeepsHigherXp() {
+        put(1L, 300);
+        index.raise(new LeaderboardIndex.Entry(1L, "u1", null, null, 200));
+        assertEquals(300, index.range(0, 1).get(0).getTotalXP());
+
+        index.raise(new LeaderboardIndex.Entry(1L, "u1", null, null, 500));
+        assertEquals(500, index.range(0, 1).get(0).getTotalXP());
+
+        index.raise(new LeaderboardIndex.Entry(2L, "u2", null, null, 10));
+        assertEquals(2, index.rankOf(2L));
+    }
+
+    @Test
+    void raiseDuringRebuildIsNotOverwrittenBySnapshot() throws InterruptedException {
+        UserXPRepository repository = mock(UserXPRepository.class);
+        LeaderboardIndex rebuilding = new LeaderboardIndex(repository);
+        LeaderboardRow row = mock(LeaderboardRow.class);
+        when(row.getUserId()).thenReturn(1L);
+        when(row.getTotalXP()).thenReturn(100);
+        Thread writer = new Thread(() -> rebuilding.raise(new LeaderboardIndex.Entry(1L, "u1", null, null, 500)));
+        when(repository.findAllLeaderboardRows()).thenAnswer(inv -> {
+            // XP mới commit sau khi ảnh chụp đã đọc xong
+            writer.start();
+            writer.join(200);
+            return List.of(row);
+        });
+
+        rebuilding.rebuild();
+        writer.join();
+        assertEquals(500, rebuilding.range(0, 1).get(0).getTotalXP());
+    }
+
+    @Test
+    void matchesSortedOrderAfterRandomUpdates() {
+        Random random = new Random(42);
+        int[] xp = new int[200];
+        for (int step = 0; step < 2000; step++) {
+            int id = random.nextInt(xp.length);
+            xp[id] = random.nextInt(50);
+            put((long) id, xp[id]);
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (long id = 0; id < xp.length; id++) expected.add(id);
+        expected.sort(Comparator.<Long>comparingInt(id -> -xp[id.intValue()]).thenComparing(id -> id));
+
+        assertEquals(expected, userIds(index.range(0, xp.length)));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, index.rankOf(expected.get(i)));
+        }
+    }
+
+    private void put(Long userId, int totalXP) {
+        index.put(new LeaderboardIndex.Entry(userId, "u" + userId, null, null, totalXP));
+    }
+
+    private static List<Long> userIds(List<LeaderboardResponse> rows) {
+        return rows.stream().map(LeaderboardResponse::getUserId).toList();
+    }
+}
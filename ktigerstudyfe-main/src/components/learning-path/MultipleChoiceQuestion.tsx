@@ -1,6 +1,7 @@
 // src/components/learning-path/MultipleChoiceQuestion.tsx
 import { useState } from "react";
 import { motion, AnimatePresence } from "framer-motion";
+import type { QuestionGrade } from "../../services/ExerciseApi";
 
 interface MultipleChoiceQuestionProps {
   question: {
@@ -10,31 +11,46 @@ interface MultipleChoiceQuestionProps {
     optionB: string;
     optionC: string;
     optionD: string;
-    correctAnswer: string;
     linkMedia?: string | null;
   };
-  onNext?: (isCorrect: boolean) => void;
+  // Đáp án không có sẵn ở client, server chấm từng câu
+  onCheck: (answer: string) => Promise<QuestionGrade>;
+  onNext?: (isCorrect: boolean, answer: string) => void;
 }
 
 export default function MultipleChoiceQuestion({
   question,
+  onCheck,
   onNext,
 }: MultipleChoiceQuestionProps) {
   const [selectedAnswer, setSelectedAnswer] = useState<string | null>(null);
   const [isChecked, setIsChecked] = useState(false);
+  const [isChecking, setIsChecking] = useState(false);
   const [isCorrect, setIsCorrect] = useState<boolean | null>(null);
+  const [correctAnswer, setCorrectAnswer] = useState<string | null>(null);
 
-  const handleCheck = () => {
-    const correct = selectedAnswer === question.correctAnswer;
-    setIsCorrect(correct);
-    setIsChecked(true);
+  const handleCheck = async () => {
+    if (!selectedAnswer) return;
+    setIsChecking(true);
+    try {
+      const result = await onCheck(selectedAnswer);
+      setIsCorrect(result.correct);
+      setCorrectAnswer(result.correctAnswer);
+      setIsChecked(true);
+    } catch (err) {
+      console.error("Lỗi khi kiểm tra đáp án:", err);
+    } finally {
+      setIsChecking(false);
+    }
   };
 
   const handleNext = () => {
+    const answer = selectedAnswer ?? "";
     setIsChecked(false);
     setIsCorrect(null);
+    setCorrectAnswer(null);
     setSelectedAnswer(null);
-    if (onNext) onNext(Boolean(isCorrect));
+    if (onNext) onNext(Boolean(isCorrect), answer);
   };
 
   return (
@@ -115,7 +131,7 @@ export default function MultipleChoiceQuestion({
         <motion.button
           className="bg-green-500 hover:bg-green-600 text-white font-bold py-2 px-4 rounded"
           onClick={handleCheck}
-          disabled={!selectedAnswer || isChecked}
+          disabled={!selectedAnswer || isChecked || isChecking}
           whileTap={{ scale: 0.98 }}
         >
           Kiểm tra
@@ -158,11 +174,11 @@ export default function MultipleChoiceQuestion({
                 <p className="font-bold">
                   {isCorrect ? "Tuyệt vời!" : "Đáp án đúng:"}
                 </p>
-                {!isCorrect && (
+                {!isCorrect && correctAnswer && (
                   <p className="text-sm italic">
                     {
                       question[
-                        `option${question.correctAnswer}` as keyof typeof question
+                        `option${correctAnswer.trim().toUpperCase()}` as keyof typeof question
                       ]
                     }
                   </p>
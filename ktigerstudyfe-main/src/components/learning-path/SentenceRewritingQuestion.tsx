@@ -2,24 +2,29 @@
 import { useState, useEffect } from "react";
 import { Microphone } from "phosphor-react";
 import SpeechRecognition, { useSpeechRecognition } from "react-speech-recognition";
+import type { QuestionGrade } from "../../services/ExerciseApi";
 
 interface SentenceRewritingQuestionProps {
   question: {
     questionId: number;
     originalSentence: string;
-    rewrittenSentence: string;
     linkMedia?: string;
   };
-  onNext?: (isCorrect: boolean) => void;
+  // Đáp án không có sẵn ở client, server chấm từng câu
+  onCheck: (answer: string) => Promise<QuestionGrade>;
+  onNext?: (isCorrect: boolean, answer: string) => void;
 }
 
 export default function SentenceRewritingQuestion({
   question,
+  onCheck,
   onNext,
 }: SentenceRewritingQuestionProps) {
   const [userInput, setUserInput] = useState("");
   const [isChecked, setIsChecked] = useState(false);
+  const [isChecking, setIsChecking] = useState(false);
   const [isCorrect, setIsCorrect] = useState<boolean | null>(null);
+  const [correctAnswer, setCorrectAnswer] = useState<string | null>(null);
   const [isListening, setIsListening] = useState(false);
 
   const {
@@ -37,19 +42,28 @@ export default function SentenceRewritingQuestion({
     }
   }, [listening]);
 
-  const checkAnswer = () => {
-    const isOk =
-      userInput.trim().toLowerCase() === question.rewrittenSentence.trim().toLowerCase();
-    setIsCorrect(isOk);
-    setIsChecked(true);
+  const checkAnswer = async () => {
+    setIsChecking(true);
+    try {
+      const result = await onCheck(userInput);
+      setIsCorrect(result.correct);
+      setCorrectAnswer(result.correctAnswer);
+      setIsChecked(true);
+    } catch (err) {
+      console.error("Lỗi khi kiểm tra đáp án:", err);
+    } finally {
+      setIsChecking(false);
+    }
   };
 
   const handleNext = () => {
+    const answer = userInput;
     setIsChecked(false);
     setIsCorrect(null);
+    setCorrectAnswer(null);
     setUserInput("");
     resetTranscript();
-    if (onNext) onNext(Boolean(isCorrect));
+    if (onNext) onNext(Boolean(isCorrect), answer);
   };
 
   const handleMicClick = () => {
@@ -121,7 +135,7 @@ export default function SentenceRewritingQuestion({
           <button
             className="bg-green-500 hover:bg-green-600 text-white font-bold py-2 px-5 rounded"
             onClick={checkAnswer}
-            disabled={userInput.trim() === ""}
+            disabled={userInput.trim() === "" || isChecking}
           >
             Kiểm tra
           </button>
@@ -155,7 +169,7 @@ export default function SentenceRewritingQuestion({
               {isCorrect ? "Chính xác!" : "Đáp án mẫu:"}
             </p>
             {!isCorrect && (
-              <p className="text-sm italic">{question.rewrittenSentence}</p>
+              <p className="text-sm italic">{correctAnswer}</p>
             )}
           </div>
         </div>
@@ -5,29 +5,29 @@ import SentenceRewritingQuestion from "../../components/learning-path/SentenceRe
 import MultipleChoiceQuestion from "../../components/learning-path/MultipleChoiceQuestion";
 import {
   getExercisesByLessonId,
-  getMultipleChoiceByExerciseId,
-  getSentenceRewritingByExerciseId,
+  getExerciseQuiz,
+  checkExerciseAnswer,
+  submitExerciseAttempt,
+  type ExerciseAnswer,
 } from "../../services/ExerciseApi";
-import { saveUserExerciseResult } from "../../services/UserExerciseResultApi";
 import { completeLesson } from "../../services/LessonApi";
 import LevelUpPopup from "../../components/learning-path/LevelUpPopup";
 
+// Đề lấy từ /api/exercises/{id}/quiz không kèm đáp án, server chấm từng câu
 interface MultipleChoiceQuestion {
   questionId: number;
-  exerciseId: number;
   questionText: string;
   optionA: string;
   optionB: string;
   optionC: string;
   optionD: string;
-  correctAnswer: string;
+  linkMedia?: string | null;
 }
 
 interface SentenceRewritingQuestion {
   questionId: number;
-  exerciseId: number;
   originalSentence: string;
-  rewrittenSentence: string;
+  linkMedia?: string;
 }
 
 type QuestionItem =
@@ -61,6 +61,7 @@ export default function Exercise({
 
   // Refs để lưu trữ không bị reset khi re-render
   const correctCountFirst = useRef<Map<number, number>>(new Map());   // Đếm câu đúng lần đầu
+  const firstAnswers = useRef<Map<number, ExerciseAnswer[]>>(new Map()); // Câu trả lời lượt đầu, nộp cho server chấm
   const finishedFirstRound = useRef(false);                           // Đã làm xong lượt đầu
   const pendingSavedExercises = useRef<Set<number>>(new Set());       // Bài đã lưu
   const prevLevelRef = useRef<number | null>(null);                   // Level cũ để check level up
@@ -71,18 +72,15 @@ export default function Exercise({
         const exercises = await getExercisesByLessonId(lessonId);
         const allQuestions: QuestionItem[] = [];
         for (const ex of exercises) {
-          const [mcq, rewrite] = await Promise.all([
-            getMultipleChoiceByExerciseId(ex.exerciseId),
-            getSentenceRewritingByExerciseId(ex.exerciseId),
-          ]);
-          mcq.forEach((q: any) => {
+          const quiz = await getExerciseQuiz(ex.exerciseId);
+          quiz.multipleChoice.forEach((q: any) => {
             allQuestions.push({
               type: "multiple",
               data: { ...q },
               exerciseId: ex.exerciseId,
             });
           });
-          rewrite.forEach((q: any) => {
+          quiz.rewriting.forEach((q: any) => {
             allQuestions.push({
               type: "rewrite",
               data: { ...q },
@@ -106,7 +104,7 @@ export default function Exercise({
     if (phase === "done" && questions.length > 0 && userId && !isNaN(userId)) {
       const processCompletion = async () => {
         try {
-          // 1. Lưu kết quả từng exercise vào UserExerciseResult
+          // 1. Nộp câu trả lời lượt đầu của từng exercise, server chấm điểm và lưu UserExerciseResult
           const groups: { [exerciseId: number]: QuestionItem[] } = {};
           questions.forEach((q) => {
             const eid = q.exerciseId;
@@ -117,23 +115,14 @@ export default function Exercise({
           const exerciseScores: number[] = [];
           
           // Lưu kết quả từng exercise
-          for (const [eidStr, qArr] of Object.entries(groups)) {
+          for (const eidStr of Object.keys(groups)) {
             const eid = Number(eidStr);
             if (pendingSavedExercises.current.has(eid)) continue;
             
-            const correct = correctCountFirst.current.get(eid) || 0;
-            const total = qArr.length;
-            const exerciseScore = Math.round((correct / total) * 100);
-            
-            exerciseScores.push(exerciseScore);
-            
-            // Lưu vào UserExerciseResult
-            await saveUserExerciseResult({
-              userId,
-              exerciseId: eid,
-              score: exerciseScore,
-              dateComplete: new Date().toISOString(),
-            });
+            const answers = firstAnswers.current.get(eid) || [];
+            const graded = await submitExerciseAttempt(eid, userId, answers);
+            exerciseScores.push(graded.score);
+            correctCountFirst.current.set(eid, graded.correctCount);
             
             pendingSavedExercises.current.add(eid);
           }
@@ -181,11 +170,25 @@ export default function Exercise({
     }
   }, [phase, questions.length, userId, lessonId]);
 
-  const handleAnswer = (isCorrect: boolean) => {
+  const checkAnswer = (item: QuestionItem) => (answer: string) =>
+    checkExerciseAnswer(item.exerciseId, userId, {
+      questionId: item.data.questionId,
+      type: item.type === "multiple" ? "MULTIPLE_CHOICE" : "REWRITING",
+      answer,
+    });
+
+  const handleAnswer = (isCorrect: boolean, answer: string) => {
     const curQuestion = currentList[currentIdx];
     const eid = curQuestion.exerciseId;
 
     if (phase === "main" && !finishedFirstRound.current) {
+      const list = firstAnswers.current.get(eid) || [];
+      list.push({
+        questionId: curQuestion.data.questionId,
+        type: curQuestion.type === "multiple" ? "MULTIPLE_CHOICE" : "REWRITING",
+        answer,
+      });
+      firstAnswers.current.set(eid, list);
       if (isCorrect) {
         correctCountFirst.current.set(
           eid,
@@ -291,6 +294,7 @@ export default function Exercise({
             {current.type === "multiple" && (
               <MultipleChoiceQuestion
                 question={current.data}
+                onCheck={checkAnswer(current)}
                 onNext={handleAnswer}
                 key={questionKey}
               />
@@ -305,6 +309,7 @@ export default function Exercise({
               >
                 <SentenceRewritingQuestion
                   question={current.data}
+                  onCheck={checkAnswer(current)}
                   onNext={handleAnswer}
                 />
               </motion.div>
@@ -1,7 +1,9 @@
 import React, { useEffect, useState } from "react";
-import { getLeaderboard } from "../../services/LeadBoardApi";
+import { getLeaderboard, getLeaderboardAround } from "../../services/LeadBoardApi";
 
 interface LeaderboardItem {
+  rank: number;
+  userId: number;
   fullName: string;
   currentTitle: string;
   currentBadge: string;
@@ -15,14 +17,25 @@ function LeaderBoard() {
   const [loading, setLoading] = useState(true);
   const [animateItems, setAnimateItems] = useState(false);
   const [currentUserName, setCurrentUserName] = useState<string | null>(null);
+  const [totalLearners, setTotalLearners] = useState(0);
+  const [myEntry, setMyEntry] = useState<LeaderboardItem | null>(null);
 
   const userId = Number(localStorage.getItem("userId"));
   
   useEffect(() => {
     const fetchData = async () => {
       try {
-        const data = await getLeaderboard();
-        setLeaderboard(data);
+        const page = await getLeaderboard(5);
+        setLeaderboard(page.content);
+        setTotalLearners(page.totalElements);
+        if (userId) {
+          try {
+            const around: LeaderboardItem[] = await getLeaderboardAround(userId, 0);
+            setMyEntry(around.find((item) => item.userId === userId) ?? null);
+          } catch {
+            setMyEntry(null); // user chưa có XP
+          }
+        }
         const storedUserName = localStorage.getItem("fullName");
         setCurrentUserName(storedUserName);
         setTimeout(() => setAnimateItems(true), 500);
@@ -121,11 +134,9 @@ function LeaderBoard() {
   // Lấy 4,5
   const top4And5 = arrangedList.slice(3, 5);
   
-  // Tìm vị trí user
-  const currentUserIndex = currentUserName 
-    ? arrangedList.findIndex(item => item.fullName === currentUserName) 
-    : -1;
-  const currentUser = currentUserIndex !== -1 ? arrangedList[currentUserIndex] : null;
+  // Vị trí user lấy từ API around-me (hạng bắt đầu từ 1)
+  const currentUserIndex = myEntry ? myEntry.rank - 1 : -1;
+  const currentUser = myEntry ? { ...myEntry, originalIndex: currentUserIndex } : null;
   
   // Kiểm tra xem user có nằm trong top 5 không
   const isUserInTop5 = currentUserIndex >= 0 && currentUserIndex < 5;
@@ -167,7 +178,7 @@ function LeaderBoard() {
               </h1>
               <p className="text-2xl text-gray-700 mb-8">🌟 Những Chiến Binh Học Tập Xuất Sắc 🌟</p>
               <div className="flex justify-center space-x-8 text-lg text-gray-600">
-                <span>🔥 {leaderboard.length} Học viên</span>
+                <span>🔥 {totalLearners} Học viên</span>
                 <span>💎 {leaderboard[0]?.totalXP?.toLocaleString() || 0} XP cao nhất</span>
                 <span>🚀 Cạnh tranh khốc liệt</span>
               </div>
@@ -179,7 +190,7 @@ function LeaderBoard() {
                 {top3.map((user, displayIndex) => {
                   const rank = user.originalIndex;
                   const delays = [0, 200, 400];
-                  const isCurrentUser = user.fullName === currentUserName;
+                  const isCurrentUser = user.userId === userId;
                   
                   return (
                     <div
@@ -258,7 +269,7 @@ function LeaderBoard() {
                 <div className="p-8">
                   <div className="space-y-4">
                     {top4And5.map((user, index) => {
-                      const isCurrentUser = user.fullName === currentUserName;
+                      const isCurrentUser = user.userId === userId;
                       return (
                         <div
                           key={user.originalIndex}
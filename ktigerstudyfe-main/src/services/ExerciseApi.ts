@@ -1,17 +1,50 @@
 // src/services/ExerciseApi.ts
 import axios from "axios";
 
+export type ExerciseQuestionType = "MULTIPLE_CHOICE" | "REWRITING";
+
+export interface ExerciseAnswer {
+  questionId: number;
+  type: ExerciseQuestionType;
+  answer: string;
+}
+
+export interface QuestionGrade {
+  questionId: number;
+  type: ExerciseQuestionType;
+  correct: boolean;
+  correctAnswer: string | null;
+}
+
 export const getExercisesByLessonId = async (lessonId: string | number) => {
   const res = await axios.get(`/api/exercises/lesson/${lessonId}`);
   return res.data;
 };
 
-export const getMultipleChoiceByExerciseId = async (exerciseId: string | number) => {
-  const res = await axios.get(`/api/mcq/exercise/${exerciseId}`);
+// Đề bài tập không kèm đáp án: { exerciseId, multipleChoice: [...], rewriting: [...] }
+export const getExerciseQuiz = async (exerciseId: string | number) => {
+  const res = await axios.get(`/api/exercises/${exerciseId}/quiz`);
   return res.data;
 };
 
-export const getSentenceRewritingByExerciseId = async (exerciseId: string | number) => {
-  const res = await axios.get(`/api/sentence-rewriting/exercise/${exerciseId}`);
+// Server chấm một câu, trả về đúng/sai và đáp án đúng (không cộng XP).
+// Câu trả lời đầu tiên của mỗi câu được server ghi lại và dùng khi nộp lượt
+export const checkExerciseAnswer = async (
+  exerciseId: string | number,
+  userId: number,
+  answer: ExerciseAnswer
+): Promise<QuestionGrade> => {
+  const res = await axios.post(`/api/exercises/${exerciseId}/check`, { userId, ...answer });
   return res.data;
 };
+
+// Nộp cả lượt làm bài: server chấm điểm (câu đã /check tính theo câu trả lời đầu tiên),
+// lưu kết quả và cộng XP (một lần cho mỗi bài tập)
+export const submitExerciseAttempt = async (
+  exerciseId: string | number,
+  userId: number,
+  answers: ExerciseAnswer[]
+) => {
+  const res = await axios.post(`/api/exercises/${exerciseId}/attempts`, { userId, answers });
+  return res.data; // { resultId, score, correctCount, totalQuestions, xpAwarded, xpData, results }
+};
@@ -1,7 +1,18 @@
 //src/services/LeadBoardApi.ts
 import axios from "axios";
 
-export const getLeaderboard = async () => {
-  const res = await axios.get("/api/user-xp/leaderboard");
+// Top người học theo XP (server giới hạn tối đa 500)
+export const getLeaderboard = async (limit = 5) => {
+  const res = await axios.get("/api/user-xp/leaderboard/paged", {
+    params: { page: 0, size: limit },
+  });
+  return res.data; // { content, totalElements, ... }
+};
+
+// Hạng của user và radius người đứng trên/dưới (404 nếu user chưa có XP)
+export const getLeaderboardAround = async (userId: number, radius = 0) => {
+  const res = await axios.get(`/api/user-xp/leaderboard/around/${userId}`, {
+    params: { radius },
+  });
   return res.data;
 };